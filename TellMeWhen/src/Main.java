@@ -1,16 +1,52 @@
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import elora.FileColumnResolver;
+import elora.InvalidPatternException;
+import elora.StreamResolver;
 import elora.TellMeWhen;
+import timePhrase.IsoFormat;
 
 
 public class Main {
+	private static final String USAGE = "Usage: Main [phrase]\n"
+			+ "       Main --stream [--from <time>] [--zone <zone>] [--errors] [file]\n"
+			+ "       Main --rewrite <in> <out> --column <n> [--tsv] [--header] [--binary] [--from <time>] [--zone <zone>]\n"
+			+ "  --stream  Read phrases one per line from the file, or stdin, and write ISO-8601 times.\n"
+			+ "  --rewrite Replace a column of phrases in a CSV file with ISO-8601 times.\n"
+			+ "  --from    Time to resolve against, as epoch milliseconds or ISO-8601. Default is now.\n"
+			+ "  --zone    Time zone to work in and write times in. Default is the system zone.\n"
+			+ "  --errors  Write an error column for lines that do not match instead of stopping.\n"
+			+ "  --column  Column of phrases, starting at 1.\n"
+			+ "  --tsv     Columns are separated by tabs instead of commas.\n"
+			+ "  --header  Copy the first row as it is.\n"
+			+ "  --binary  Write a little endian long of epoch milliseconds for each row instead of text.";
+
 	public static void main(String[] args){
-		
+		if(args.length > 0 && (args[0].equals("--stream") || args[0].equals("--rewrite"))){
+			System.exit(stream(args));
+		}
+
 		final String input;
 		if(args.length == 0){
 			input = "NOW";
 		} else {
-			input = args[0].toUpperCase();
+			input = args[0];
 		}
-		
+
 		System.out.println("Getting time for " + input);
 		try {
 			System.out.println("Time is " + TellMeWhen.listen(input));
@@ -18,4 +54,89 @@ public class Main {
 			System.out.println("Problem interpreting input. " + e.getMessage());
 		}
 	}
+
+	/**
+	 * Resolves phrases from a file or stdin to stdout, or rewrites a column of a file.
+	 *
+	 * @return the exit status.
+	 */
+	private static int stream(String[] args){
+		final boolean rewrite = args[0].equals("--rewrite");
+		String from = null;
+		ZoneId zone = ZoneId.systemDefault();
+		boolean errors = false;
+		int column = 0;
+		char delimiter = ',';
+		boolean header = false;
+		boolean binary = false;
+		final List<String> files = new ArrayList<>();
+		try {
+			for(int i = 1; i < args.length; i++){
+				if(args[i].equals("--from") && i + 1 < args.length){
+					from = args[++i];
+				} else if(args[i].equals("--zone") && i + 1 < args.length){
+					zone = ZoneId.of(args[++i]);
+				} else if(args[i].equals("--errors") && !rewrite){
+					errors = true;
+				} else if(args[i].equals("--column") && i + 1 < args.length && rewrite){
+					column = Integer.parseInt(args[++i]);
+				} else if(args[i].equals("--tsv") && rewrite){
+					delimiter = '\t';
+				} else if(args[i].equals("--header") && rewrite){
+					header = true;
+				} else if(args[i].equals("--binary") && rewrite){
+					binary = true;
+				} else if(!args[i].startsWith("--")){
+					files.add(args[i]);
+				} else {
+					System.err.println(USAGE);
+					return 2;
+				}
+			}
+		} catch (DateTimeException | NumberFormatException e) {
+			System.err.println("Problem interpreting options. " + e.getMessage());
+			return 2;
+		}
+		if(rewrite ? files.size() != 2 || column < 1 : files.size() > 1){
+			System.err.println(USAGE);
+			return 2;
+		}
+
+		final long fromEpochMillis;
+		try {
+			fromEpochMillis = from == null ? System.currentTimeMillis() : IsoFormat.parse(from, zone);
+		} catch (DateTimeException | NumberFormatException e) {
+			System.err.println("Problem interpreting --from. " + e.getMessage());
+			return 2;
+		}
+
+		if(rewrite){
+			final FileColumnResolver resolver = new FileColumnResolver(fromEpochMillis, zone, delimiter, column - 1, header, binary);
+			try (FileChannel in = FileChannel.open(Paths.get(files.get(0)), StandardOpenOption.READ);
+					FileChannel out = FileChannel.open(Paths.get(files.get(1)), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)){
+				final long unmatched = resolver.resolve(in, out);
+				if(unmatched > 0){
+					System.err.println(unmatched + " rows not a recognized pattern");
+				}
+				return 0;
+			} catch (IOException e) {
+				System.err.println(e.getMessage());
+				return 1;
+			}
+		}
+
+		final StreamResolver resolver = new StreamResolver(fromEpochMillis, zone, errors);
+		final Writer out = new OutputStreamWriter(System.out);
+		try (InputStream stream = files.isEmpty() ? System.in : new FileInputStream(files.get(0));
+				Reader in = new BufferedReader(new InputStreamReader(stream), 1 << 16)){
+			resolver.resolve(in, out);
+			return 0;
+		} catch (InvalidPatternException e) {
+			System.err.println("Problem interpreting input. " + e.getMessage());
+			return 1;
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			return 1;
+		}
+	}
 }
@@ -0,0 +1,207 @@
+package elora;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import timePhrase.TimePhraseMatch;
+
+/**
+ * Caches the results of phrases resolved against the current time.
+ * <br/>
+ * A {@link TimePhraseMatch#isDateLevel() date level} phrase such as "Tomorrow" or "Next Thursday" lands on the same
+ * date for every time during a day, and keeps the time of day. The cache works out the start of that date once per
+ * day, and each call adds the time that has passed since midnight. All entries belong to the current day and are
+ * dropped when the first call after midnight starts a new day, or when the default time zone or locale changes.
+ * <br/>
+ * Phrases that change the time of day, such as "Next Hour", are always resolved in full. So are days that do not
+ * have 24 hours because of a daylight saving change, since the time since midnight does not carry over to them.
+ * <br/>
+ * At most {@link #MAX_TARGETS} phrases are kept for a day, since quantities such as "In 3 Days" make the number of
+ * distinct phrases unbounded.
+ *
+ * @author akauffman
+ *
+ */
+public final class DailyResultCache {
+	/** Milliseconds in a day without a daylight saving change. */
+	private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+	/** Target stored for a phrase whose target date does not have 24 hours. */
+	private static final long IRREGULAR = Long.MIN_VALUE;
+	/** Most targets kept for a day. Phrases beyond it are resolved from midnight on each call. */
+	static final int MAX_TARGETS = 4096;
+
+	/** Parses phrases before they are looked up. */
+	private final ParseCache parseCache;
+	/** Targets for the current day. Replaced when the day rolls over. */
+	private volatile Day day = new Day(LocalDate.MIN, 0, 0, ZoneOffset.UTC, Locale.ROOT, false);
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param parseCache cache used to parse phrases.
+	 */
+	public DailyResultCache(ParseCache parseCache){
+		if(null == parseCache){
+			throw new NullPointerException("parseCache is null");
+		}
+		this.parseCache = parseCache;
+	}
+
+	/**
+	 * Gets a date relative to the given time that matches a plain English description, using the default time zone
+	 * and locale.
+	 *
+	 * @param relativeTime A plain English representation of a relative time. Ex: Last Month
+	 * @param now The current time in milliseconds since the epoch.
+	 * @return the requested {@link Date}
+	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
+	 */
+	public Date listen(CharSequence relativeTime, long now) throws InvalidPatternException{
+		if(null == relativeTime){
+			throw new NullPointerException("RelativeTime is null");
+		}
+
+		final TimePhraseMatch match = parseCache.parse(relativeTime);
+		if(match == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+
+		return new Date(getTimeMillis(match, now));
+	}
+
+	/**
+	 * Resolves a parsed phrase against the given time, using the default time zone and locale.
+	 *
+	 * @param match the parsed phrase.
+	 * @param now The current time in milliseconds since the epoch.
+	 * @return the requested time in milliseconds since the epoch.
+	 */
+	long getTimeMillis(TimePhraseMatch match, long now){
+		if(match.isDateLevel()){
+			final ZoneId zone = ZoneId.systemDefault();
+			final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+			Day current = day;
+			if(!current.contains(now, zone, locale)){
+				current = Day.of(now, zone, locale);
+				day = current;
+			}
+
+			if(current.regular){
+				Long target = current.targets.get(match);
+				if(target == null){
+					misses.increment();
+					target = current.resolve(match);
+				} else {
+					hits.increment();
+				}
+
+				if(target.longValue() != IRREGULAR){
+					return target + (now - current.start);
+				}
+			}
+		}
+
+		final ZonedDateTime fromWhen = ZonedDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+		return match.getTime(fromWhen, WeekFields.of(Locale.getDefault(Locale.Category.FORMAT))).toInstant().toEpochMilli();
+	}
+
+	/**
+	 * @return the number of phrases whose result was worked out from a cached target date.
+	 */
+	public long getHitCount(){
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of date level phrases whose target date had to be worked out.
+	 */
+	public long getMissCount(){
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of targets kept for the current day.
+	 */
+	int getTargetCount(){
+		return day.targets.size();
+	}
+
+	/**
+	 * A local day, and the start of the target date of each phrase resolved during it.
+	 */
+	private static final class Day {
+		/** The day. */
+		private final LocalDate date;
+		/** First millisecond of the day. */
+		private final long start;
+		/** First millisecond of the next day. */
+		private final long end;
+		/** Time zone the day was worked out in. */
+		private final ZoneId zone;
+		/** Locale the day was worked out in. */
+		private final Locale locale;
+		/** True if the day has 24 hours. */
+		private final boolean regular;
+		/** Start of the target date of each phrase, or IRREGULAR. */
+		private final ConcurrentHashMap<TimePhraseMatch, Long> targets = new ConcurrentHashMap<>();
+
+		private Day(LocalDate date, long start, long end, ZoneId zone, Locale locale, boolean regular){
+			this.date = date;
+			this.start = start;
+			this.end = end;
+			this.zone = zone;
+			this.locale = locale;
+			this.regular = regular;
+		}
+
+		/**
+		 * @param now time in milliseconds since the epoch.
+		 * @param zone default time zone.
+		 * @param locale default locale.
+		 * @return the day that contains the given time.
+		 */
+		private static Day of(long now, ZoneId zone, Locale locale){
+			final LocalDate date = Instant.ofEpochMilli(now).atZone(zone).toLocalDate();
+			final long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+			final long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+			return new Day(date, start, end, zone, locale, end - start == DAY_MILLIS);
+		}
+
+		/**
+		 * @return true if the day was worked out in the given zone and locale, and contains the given time.
+		 */
+		private boolean contains(long now, ZoneId zone, Locale locale){
+			return now >= start && now < end && zone.equals(this.zone) && locale.equals(this.locale);
+		}
+
+		/**
+		 * Resolves the phrase from midnight of this day and stores the start of its target date.
+		 *
+		 * @param match a date level phrase.
+		 * @return the start of the target date, or IRREGULAR if that date does not have 24 hours.
+		 */
+		private Long resolve(TimePhraseMatch match){
+			final ZonedDateTime target = match.getTime(date.atStartOfDay(zone), WeekFields.of(locale));
+			final long targetStart = target.toInstant().toEpochMilli();
+			final long targetEnd = target.toLocalDate().plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+			final boolean regular = target.toLocalTime().equals(LocalTime.MIDNIGHT) && targetEnd - targetStart == DAY_MILLIS;
+			final Long resolved = regular ? targetStart : IRREGULAR;
+			if(targets.size() < MAX_TARGETS){
+				targets.put(match, resolved);
+			}
+			return resolved;
+		}
+	}
+}
@@ -0,0 +1,297 @@
+package elora;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
+
+import timePhrase.IsoFormat;
+import timePhrase.TimePhraseMatch;
+import timePhrase.ZoneTable;
+
+/**
+ * Rewrites one column of a CSV or TSV file from phrases to times. Every phrase is resolved against the same time, in
+ * the same time zone.
+ * <br/>
+ * The input is memory mapped in large windows and read a byte at a time. Fields are found by their delimiters, and
+ * quoted fields may hold delimiters, line breaks and doubled quotes. The phrase is matched in place on the mapped
+ * bytes, without decoding it to a String, and output goes through a large direct buffer.
+ * <br/>
+ * As text, each row is copied with the phrase replaced by an ISO-8601 time, or by an empty field if it does not
+ * match. As binary, each row is written as the time in milliseconds since the epoch, a little endian long, or
+ * {@link Long#MIN_VALUE} if the phrase does not match. A header row is copied as text, and skipped as binary.
+ *
+ * @author akauffman
+ *
+ */
+public final class FileColumnResolver {
+	/** Written in binary for a row whose phrase does not match. */
+	public static final long NO_MATCH = Long.MIN_VALUE;
+	/** Most bytes mapped at once. */
+	private static final int WINDOW_SIZE = 1 << 28;
+	/** Size of the output buffer. */
+	private static final int OUTPUT_SIZE = 1 << 22;
+
+	private final long fromEpochMillis;
+	private final ZoneTable zone;
+	private final byte delimiter;
+	private final int column;
+	private final boolean header;
+	private final boolean binary;
+	private final int windowSize;
+
+	/**
+	 * @param fromEpochMillis The time in milliseconds since the epoch that every phrase is resolved against.
+	 * @param zone The time zone the phrases are worked out and written in.
+	 * @param delimiter Separates fields, such as ',' or '\t'.
+	 * @param column Index of the phrase column, starting at 0.
+	 * @param header True if the first row is a header.
+	 * @param binary True to write a little endian long for each row instead of text.
+	 */
+	public FileColumnResolver(long fromEpochMillis, ZoneId zone, char delimiter, int column, boolean header, boolean binary){
+		this(fromEpochMillis, zone, delimiter, column, header, binary, WINDOW_SIZE);
+	}
+
+	/**
+	 * @param windowSize Most bytes mapped at once. No row may be longer.
+	 */
+	FileColumnResolver(long fromEpochMillis, ZoneId zone, char delimiter, int column, boolean header, boolean binary, int windowSize){
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		if(delimiter > 127 || delimiter == '"' || delimiter == '\n' || delimiter == '\r'){
+			throw new IllegalArgumentException("Delimiter must be an ASCII character other than a quote or line break");
+		}
+		if(column < 0){
+			throw new IllegalArgumentException("Column must not be negative: " + column);
+		}
+		this.fromEpochMillis = fromEpochMillis;
+		this.zone = ZoneTable.of(zone);
+		this.delimiter = (byte)delimiter;
+		this.column = column;
+		this.header = header;
+		this.binary = binary;
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Rewrites every row of the input. Neither channel is closed.
+	 *
+	 * @param in The file to read.
+	 * @param out Receives the rewritten rows.
+	 * @return the number of rows, not counting a header, whose phrase did not match.
+	 * @throws IOException if reading or writing fails, or a row is longer than the mapped window.
+	 */
+	public long resolve(FileChannel in, WritableByteChannel out) throws IOException{
+		final Run run = new Run(out);
+		final long size = in.size();
+		long position = 0;
+		while(position < size){
+			final long length = Math.min(windowSize, size - position);
+			final boolean last = position + length == size;
+			final int consumed = run.resolve(in.map(FileChannel.MapMode.READ_ONLY, position, length), last);
+			if(consumed == 0 && !last){
+				throw new IOException("Row at byte " + position + " is longer than " + windowSize + " bytes");
+			}
+			position += consumed;
+		}
+		run.flush();
+		return run.unmatched;
+	}
+
+	/**
+	 * The state of one call to resolve.
+	 */
+	private final class Run {
+		private final WritableByteChannel out;
+		private final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		private final char[] text = new char[IsoFormat.MAX_LENGTH];
+		private final WeekFields weekFields = TellMeWhen.getWeekFields();
+		private final ParseCache parseCache = TellMeWhen.getParseCache();
+		private final Field field = new Field();
+		private boolean headerDone = !header;
+		private long unmatched;
+
+		private Run(WritableByteChannel out){
+			this.out = out;
+		}
+
+		/**
+		 * Rewrites the complete rows of a window.
+		 *
+		 * @param window Mapped part of the input that starts at a row.
+		 * @param last True if the window ends at the end of the input.
+		 * @return the number of bytes of complete rows, which is all of them for the last window.
+		 */
+		private int resolve(MappedByteBuffer window, boolean last) throws IOException{
+			final ByteBuffer copy = window.duplicate();
+			final int limit = window.limit();
+			int rowStart = 0;
+			while(rowStart < limit){
+				//Find the end of the row and the bounds of the phrase.
+				int fieldIndex = 0;
+				int fieldStart = rowStart;
+				int phraseStart = -1;
+				int phraseEnd = -1;
+				int rowEnd = -1;
+				boolean quoted = false;
+				for(int i = rowStart; i < limit; i++){
+					final byte b = window.get(i);
+					if(quoted){
+						if(b == '"'){
+							if(i + 1 < limit && window.get(i + 1) == '"'){
+								i++;
+							} else {
+								quoted = false;
+							}
+						}
+					} else if(b == '"'){
+						quoted = true;
+					} else if(b == delimiter){
+						if(fieldIndex == column){
+							phraseStart = fieldStart;
+							phraseEnd = i;
+						}
+						fieldIndex++;
+						fieldStart = i + 1;
+					} else if(b == '\n'){
+						rowEnd = i;
+						break;
+					}
+				}
+				if(rowEnd < 0){
+					if(!last){
+						return rowStart;
+					}
+					rowEnd = limit;
+				}
+
+				//A carriage return before the line feed belongs to the line break.
+				final int contentEnd = rowEnd > rowStart && window.get(rowEnd - 1) == '\r' ? rowEnd - 1 : rowEnd;
+				if(fieldIndex == column && phraseStart < 0){
+					phraseStart = fieldStart;
+					phraseEnd = Math.max(fieldStart, contentEnd);
+				}
+				final int next = rowEnd < limit ? rowEnd + 1 : limit;
+
+				if(!headerDone){
+					headerDone = true;
+					if(!binary){
+						copy(copy, rowStart, next);
+					}
+				} else {
+					final TimePhraseMatch match = phraseStart < 0 ? null : parseCache.parse(field.set(window, phraseStart, phraseEnd));
+					if(match == null){
+						unmatched++;
+					}
+					final long time = match == null ? NO_MATCH : match.getTimeMillis(fromEpochMillis, zone, weekFields);
+					if(binary){
+						ensure(8);
+						output.putLong(time);
+					} else if(phraseStart < 0){
+						copy(copy, rowStart, next);
+					} else {
+						copy(copy, rowStart, phraseStart);
+						if(match != null){
+							ensure(IsoFormat.MAX_LENGTH);
+							final int length = IsoFormat.format(time, zone, text, 0);
+							for(int i = 0; i < length; i++){
+								output.put((byte)text[i]);
+							}
+						}
+						copy(copy, phraseEnd, next);
+					}
+				}
+				rowStart = next;
+			}
+			return limit;
+		}
+
+		/**
+		 * Copies bytes of the window to the output.
+		 */
+		private void copy(ByteBuffer window, int from, int to) throws IOException{
+			while(from < to){
+				if(!output.hasRemaining()){
+					flush();
+				}
+				final int length = Math.min(output.remaining(), to - from);
+				window.limit(from + length).position(from);
+				output.put(window);
+				from += length;
+			}
+		}
+
+		/**
+		 * Makes room in the output.
+		 */
+		private void ensure(int length) throws IOException{
+			if(output.remaining() < length){
+				flush();
+			}
+		}
+
+		/**
+		 * Writes the output buffer.
+		 */
+		private void flush() throws IOException{
+			output.flip();
+			while(output.hasRemaining()){
+				out.write(output);
+			}
+			output.clear();
+		}
+	}
+
+	/**
+	 * A field of the mapped input, seen as a {@link CharSequence} of ASCII characters without copying it. Quotes
+	 * around the field are left out.
+	 */
+	private static final class Field implements CharSequence {
+		private ByteBuffer bytes;
+		private int start;
+		private int end;
+
+		private Field set(ByteBuffer bytes, int start, int end){
+			if(end - start >= 2 && bytes.get(start) == '"' && bytes.get(end - 1) == '"'){
+				start++;
+				end--;
+			}
+			this.bytes = bytes;
+			this.start = start;
+			this.end = end;
+			return this;
+		}
+
+		@Override
+		public int length(){
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index){
+			if(index < 0 || index >= end - start){
+				throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+			}
+			return (char)(bytes.get(start + index) & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to){
+			return toString().substring(from, to);
+		}
+
+		@Override
+		public String toString(){
+			final char[] chars = new char[end - start];
+			for(int i = 0; i < chars.length; i++){
+				chars[i] = charAt(i);
+			}
+			return new String(chars);
+		}
+	}
+}
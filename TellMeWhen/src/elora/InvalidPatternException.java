@@ -8,6 +8,12 @@ package elora;
  */
 public class InvalidPatternException extends Exception {
 	private static final long serialVersionUID = 3810223634374783786L;
+	
+	/**
+	 * Thrown for every phrase that does not match. It has no stack trace, so throwing it costs no more than
+	 * returning. Use {@link TellMeWhen#tryListen(CharSequence, java.util.Date)} to avoid the throw as well.
+	 */
+	static final InvalidPatternException NO_MATCH = new InvalidPatternException("Input string not a recognized pattern", false);
 
 	public InvalidPatternException(){
 		super("Input string not a recognized pattern");
@@ -16,4 +22,8 @@ public class InvalidPatternException extends Exception {
 	public InvalidPatternException(String message){
 		super(message);
 	}
+	
+	private InvalidPatternException(String message, boolean writableStackTrace){
+		super(message, null, false, writableStackTrace);
+	}
 }
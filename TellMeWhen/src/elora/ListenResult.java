@@ -0,0 +1,71 @@
+package elora;
+
+import java.util.Date;
+import java.util.NoSuchElementException;
+
+/**
+ * The result of {@link TellMeWhen#tryListen(CharSequence, Date)}. Either the phrase matched and there is a time, or
+ * it did not and there is none. A phrase that does not match always gets the same shared result.
+ * 
+ * @author akauffman
+ *
+ */
+public final class ListenResult {
+	/** Result of every phrase that does not match. */
+	static final ListenResult NO_MATCH = new ListenResult(false, 0);
+	
+	private final boolean matched;
+	private final long timeMillis;
+	
+	private ListenResult(boolean matched, long timeMillis){
+		this.matched = matched;
+		this.timeMillis = timeMillis;
+	}
+	
+	/**
+	 * @param timeMillis the resolved time in milliseconds since the epoch.
+	 * @return the result of a phrase that matched.
+	 */
+	static ListenResult of(long timeMillis){
+		return new ListenResult(true, timeMillis);
+	}
+	
+	/**
+	 * @return true if the phrase matched a known time pattern.
+	 */
+	public boolean isMatched(){
+		return matched;
+	}
+	
+	/**
+	 * @return the requested time in milliseconds since the epoch.
+	 * @throws NoSuchElementException if the phrase did not match.
+	 */
+	public long getTimeMillis(){
+		if(!matched){
+			throw new NoSuchElementException("Input string not a recognized pattern");
+		}
+		return timeMillis;
+	}
+	
+	/**
+	 * @return the requested {@link Date}
+	 * @throws NoSuchElementException if the phrase did not match.
+	 */
+	public Date getDate(){
+		return new Date(getTimeMillis());
+	}
+	
+	/**
+	 * @param other date to return if the phrase did not match. May be null.
+	 * @return the requested {@link Date}, or the other date if the phrase did not match.
+	 */
+	public Date getDateOrElse(Date other){
+		return matched ? new Date(timeMillis) : other;
+	}
+	
+	@Override
+	public String toString(){
+		return matched ? "ListenResult[" + new Date(timeMillis) + "]" : "ListenResult[no match]";
+	}
+}
@@ -0,0 +1,274 @@
+package elora;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import timePhrase.TimePhraseFactory;
+import timePhrase.TimePhraseMatch;
+
+/**
+ * A bounded cache of parsed phrases, keyed by the normalized phrase. Phrases are normalized by upper casing
+ * letters, dropping leading and trailing whitespace, and collapsing any other run of whitespace to a single space.
+ * <br/>
+ * The cache is a set associative table with four entries per set. Lookups and inserts do not lock. When a set is
+ * full, an entry that has not been used since the last eviction in that set is replaced. Phrases that do not match
+ * any {@link timePhrase.TimePhrase} are not cached.
+ *
+ * @author akauffman
+ *
+ */
+public final class ParseCache {
+	/** Number of entries in each set. */
+	private static final int WAYS = 4;
+
+	/** Cached entries. Each set is WAYS consecutive slots. */
+	private final AtomicReferenceArray<Entry> table;
+	/** Mask that selects a set from a hash. */
+	private final int setMask;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param capacity The most phrases the cache will hold. Rounded up to a power of two, and at least four.
+	 */
+	public ParseCache(int capacity){
+		if(capacity <= 0){
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+
+		final int sets = Integer.highestOneBit((capacity + WAYS - 1) / WAYS * 2 - 1);
+		this.table = new AtomicReferenceArray<>(sets * WAYS);
+		this.setMask = sets - 1;
+	}
+
+	/**
+	 * Gets the parsed phrase from the cache, or parses it with the {@link TimePhraseFactory#getAutomaton() automaton}
+	 * and caches the result.
+	 *
+	 * @param time phrase in plain speech that represents a relative time.
+	 * @return the parsed phrase, or null if the phrase does not match any pattern.
+	 */
+	public TimePhraseMatch parse(CharSequence time){
+		final int hash = hash(time);
+		final int set = (spread(hash) & setMask) * WAYS;
+
+		for(int i = set; i < set + WAYS; i++){
+			final Entry entry = table.get(i);
+			if(entry != null && entry.hash == hash && entry.matches(time)){
+				if(!entry.used){
+					entry.used = true;
+				}
+				hits.increment();
+				return entry.match;
+			}
+		}
+
+		misses.increment();
+		final TimePhraseMatch match = TimePhraseFactory.getAutomaton().parse(time);
+		if(match != null){
+			insert(set, new Entry(normalize(time), hash, match));
+		}
+
+		return match;
+	}
+
+	/**
+	 * Removes all phrases from the cache. Counters are not reset.
+	 */
+	public void clear(){
+		for(int i = 0; i < table.length(); i++){
+			table.set(i, null);
+		}
+	}
+
+	/**
+	 * @return the number of phrases that were found in the cache.
+	 */
+	public long getHitCount(){
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of phrases that were not found in the cache and had to be parsed.
+	 */
+	public long getMissCount(){
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of phrases that were removed to make room for another.
+	 */
+	public long getEvictionCount(){
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the most phrases the cache can hold.
+	 */
+	public int getCapacity(){
+		return table.length();
+	}
+
+	/**
+	 * Adds the entry to a free slot in its set, or replaces the first entry that has not been used recently.
+	 * Each entry that is passed over loses its used flag, so it will be replaced next time unless it is used again.
+	 *
+	 * @param set index of the first slot of the set.
+	 * @param entry entry to add.
+	 */
+	private void insert(int set, Entry entry){
+		for(int i = set; i < set + WAYS; i++){
+			if(table.get(i) == null && table.compareAndSet(i, null, entry)){
+				return;
+			}
+		}
+
+		for(int pass = 0; pass < 2; pass++){
+			for(int i = set; i < set + WAYS; i++){
+				final Entry victim = table.get(i);
+				if(victim == null || victim.used){
+					if(victim != null){
+						victim.used = false;
+					}
+					continue;
+				}
+				if(table.compareAndSet(i, victim, entry)){
+					evictions.increment();
+				} //else another thread replaced it first, so the entry is dropped.
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @param time phrase to hash.
+	 * @return hash of the normalized phrase.
+	 */
+	private static int hash(CharSequence time){
+		final int end = trimEnd(time);
+		int hash = 0;
+		boolean afterWhitespace = false;
+
+		for(int i = trimStart(time, end); i < end; i++){
+			final char c = time.charAt(i);
+			if(isWhitespace(c)){
+				afterWhitespace = true;
+				continue;
+			}
+			if(afterWhitespace){
+				hash = 31 * hash + ' ';
+				afterWhitespace = false;
+			}
+			hash = 31 * hash + toUpperCase(c);
+		}
+
+		return hash;
+	}
+
+	/**
+	 * @param time phrase to normalize.
+	 * @return the normalized phrase.
+	 */
+	private static String normalize(CharSequence time){
+		final int end = trimEnd(time);
+		final StringBuilder normalized = new StringBuilder(end);
+		boolean afterWhitespace = false;
+
+		for(int i = trimStart(time, end); i < end; i++){
+			final char c = time.charAt(i);
+			if(isWhitespace(c)){
+				afterWhitespace = true;
+				continue;
+			}
+			if(afterWhitespace){
+				normalized.append(' ');
+				afterWhitespace = false;
+			}
+			normalized.append(toUpperCase(c));
+		}
+
+		return normalized.toString();
+	}
+
+	private static int trimStart(CharSequence time, int end){
+		int start = 0;
+		while(start < end && isWhitespace(time.charAt(start))){
+			start++;
+		}
+		return start;
+	}
+
+	private static int trimEnd(CharSequence time){
+		int end = time.length();
+		while(end > 0 && isWhitespace(time.charAt(end - 1))){
+			end--;
+		}
+		return end;
+	}
+
+	private static boolean isWhitespace(char c){
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+	}
+
+	private static char toUpperCase(char c){
+		return c >= 'a' && c <= 'z' ? (char)(c - ('a' - 'A')) : c;
+	}
+
+	/**
+	 * Mixes the high bits of the hash into the low bits that select the set.
+	 */
+	private static int spread(int hash){
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * A cached phrase.
+	 */
+	private static final class Entry {
+		/** Normalized phrase. */
+		private final String key;
+		/** Hash of the normalized phrase. */
+		private final int hash;
+		/** Parsed phrase. */
+		private final TimePhraseMatch match;
+		/** True if the entry was used since it was last passed over for eviction. */
+		private volatile boolean used;
+
+		private Entry(String key, int hash, TimePhraseMatch match){
+			this.key = key;
+			this.hash = hash;
+			this.match = match;
+		}
+
+		/**
+		 * @param time phrase to compare.
+		 * @return true if the phrase normalizes to this entry's key. Does not allocate.
+		 */
+		private boolean matches(CharSequence time){
+			final int end = trimEnd(time);
+			int position = 0;
+			boolean afterWhitespace = false;
+
+			for(int i = trimStart(time, end); i < end; i++){
+				final char c = time.charAt(i);
+				if(isWhitespace(c)){
+					afterWhitespace = true;
+					continue;
+				}
+				if(afterWhitespace){
+					if(position == key.length() || key.charAt(position++) != ' '){
+						return false;
+					}
+					afterWhitespace = false;
+				}
+				if(position == key.length() || key.charAt(position++) != toUpperCase(c)){
+					return false;
+				}
+			}
+
+			return position == key.length();
+		}
+	}
+}
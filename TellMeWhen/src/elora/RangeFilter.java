@@ -0,0 +1,76 @@
+package elora;
+
+import java.time.temporal.WeekFields;
+import java.util.function.LongPredicate;
+
+import timePhrase.Range;
+import timePhrase.TimeInterval;
+import timePhrase.ZoneTable;
+
+/**
+ * Tests whether times are within the stretch of time a phrase names, such as "Yesterday" or "Last Month". Create one
+ * with {@link TellMeWhen#within(CharSequence, long, java.time.ZoneId)}.
+ * <br/>
+ * The phrase is parsed and resolved when the filter is created, and again only when it is {@link #refresh(long)
+ * refreshed}, so testing a time is two comparisons against bounds worked out up front. Refresh the filter when the
+ * reference time moves, such as once a day for "Yesterday". The bounds are swapped in as one immutable
+ * {@link TimeInterval}, so the filter may be tested from many threads while another refreshes it.
+ *
+ * @author akauffman
+ *
+ */
+public final class RangeFilter implements LongPredicate {
+	/** Interval of a between phrase that does not end after it starts. Holds no times. */
+	private static final TimeInterval EMPTY = new TimeInterval(0, 0);
+
+	private final Range range;
+	private final ZoneTable zone;
+	private final WeekFields weekFields;
+	/** Bounds for the last reference time. Replaced when refreshed. */
+	private volatile TimeInterval interval;
+
+	/**
+	 * @param range The parsed phrase.
+	 * @param interval The bounds of the phrase for the first reference time.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @param weekFields Rules for the first day of the week.
+	 */
+	RangeFilter(Range range, TimeInterval interval, ZoneTable zone, WeekFields weekFields){
+		this.range = range;
+		this.interval = interval;
+		this.zone = zone;
+		this.weekFields = weekFields;
+	}
+
+	/**
+	 * @param timeMillis The time in milliseconds since the epoch.
+	 * @return true if the time is within the stretch of time the phrase names.
+	 */
+	@Override
+	public boolean test(long timeMillis){
+		return interval.contains(timeMillis);
+	}
+
+	/**
+	 * Works the phrase out again from a new reference time. A between phrase that does not end after it starts for
+	 * the new time holds no times until it is refreshed again.
+	 *
+	 * @param fromEpochMillis The time in milliseconds since the epoch the phrase is worked out from.
+	 */
+	public void refresh(long fromEpochMillis){
+		final TimeInterval next = range.getInterval(fromEpochMillis, zone, weekFields);
+		interval = next == null ? EMPTY : next;
+	}
+
+	/**
+	 * @return the bounds times are tested against.
+	 */
+	public TimeInterval getInterval(){
+		return interval;
+	}
+
+	@Override
+	public String toString(){
+		return "RangeFilter[" + interval + "]";
+	}
+}
@@ -0,0 +1,48 @@
+package elora;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Resolves a range of indexes on a {@link java.util.concurrent.ForkJoinPool}. The range is split in half until each
+ * part is no larger than the threshold, and each part is resolved into its own indexes of the output, so the order
+ * of the input is kept. The counts returned by the parts, such as the number of phrases that matched, are added up.
+ * 
+ * @author akauffman
+ *
+ */
+final class RangeTask extends RecursiveTask<Integer> {
+	private static final long serialVersionUID = -2718316064815234977L;
+	
+	/** Resolves the indexes from the first argument up to the second, and returns a count. */
+	private final IntBinaryOperator resolver;
+	private final int from;
+	private final int to;
+	private final int threshold;
+	
+	/**
+	 * @param resolver Resolves the indexes from the first argument up to the second, and returns a count.
+	 * @param from First index.
+	 * @param to Index after the last one.
+	 * @param threshold Largest range resolved without splitting it.
+	 */
+	RangeTask(IntBinaryOperator resolver, int from, int to, int threshold){
+		this.resolver = resolver;
+		this.from = from;
+		this.to = to;
+		this.threshold = threshold;
+	}
+	
+	@Override
+	protected Integer compute(){
+		if(to - from <= threshold){
+			return resolver.applyAsInt(from, to);
+		}
+		
+		final int middle = (from + to) >>> 1;
+		final RangeTask left = new RangeTask(resolver, from, middle, threshold);
+		left.fork();
+		final int right = new RangeTask(resolver, middle, to, threshold).compute();
+		return left.join() + right;
+	}
+}
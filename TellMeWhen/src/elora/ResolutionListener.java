@@ -0,0 +1,32 @@
+package elora;
+
+/**
+ * Told about each phrase that {@link TellMeWhen} resolves, so it can be counted and timed. Set one with
+ * {@link TellMeWhen#setResolutionListener(ResolutionListener)}. {@link ResolutionMetrics} is a listener that
+ * publishes to JMX. Others can bridge to any metrics library.
+ * <br/>
+ * Listeners are called on the thread that resolves the phrase, from many threads at once, so they must be thread
+ * safe, quick, and must not throw.
+ * 
+ * @author akauffman
+ *
+ */
+public interface ResolutionListener {
+	/** Passed as the time of a call that was not timed. */
+	public static final long NOT_TIMED = -1;
+	
+	/**
+	 * Called after a phrase is resolved.
+	 * 
+	 * @param family The kind of phrase that matched, such as "DayOfWeek" for "Next Thursday".
+	 * @param nanos Time taken to parse and resolve the phrase, in nanoseconds, or {@link #NOT_TIMED}.
+	 */
+	public void resolved(String family, long nanos);
+	
+	/**
+	 * Called after a phrase does not match any pattern.
+	 * 
+	 * @param nanos Time taken to try the phrase, in nanoseconds, or {@link #NOT_TIMED}.
+	 */
+	public void missed(long nanos);
+}
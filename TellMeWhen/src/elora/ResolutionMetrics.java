@@ -0,0 +1,178 @@
+package elora;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A {@link ResolutionListener} that counts phrases of each family and misses, and keeps a histogram of latencies, and
+ * publishes them as a JMX MBean.
+ * <br/>
+ * Every count is a {@link LongAdder}, so threads that resolve phrases at the same time do not contend. The histogram
+ * has a bucket for each power of two nanoseconds, found with a single instruction. It holds the calls that were timed,
+ * which {@link TellMeWhen} samples, so its percentiles are estimates while the counts are exact.
+ * <br/>
+ * Ex: TellMeWhen.setResolutionListener(new ResolutionMetrics().register());
+ * 
+ * @author akauffman
+ *
+ */
+public final class ResolutionMetrics implements ResolutionListener, ResolutionMetricsMXBean {
+	/** Name the MBean is registered under. */
+	public static final String OBJECT_NAME = "elora:type=TellMeWhen,name=ResolutionMetrics";
+	/** Number of latency buckets, one for each bit of a long. */
+	private static final int BUCKETS = 64;
+	
+	private final ConcurrentHashMap<String, LongAdder> families = new ConcurrentHashMap<>();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder[] latencies = new LongAdder[BUCKETS];
+	
+	public ResolutionMetrics(){
+		for(int i = 0; i < BUCKETS; i++){
+			latencies[i] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * Registers the MBean with the platform MBean server as {@link #OBJECT_NAME}, replacing one that is already there.
+	 * 
+	 * @return this.
+	 */
+	public ResolutionMetrics register(){
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if(server.isRegistered(name)){
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+		}
+		return this;
+	}
+	
+	/**
+	 * Removes the MBean from the platform MBean server, if this one is registered.
+	 */
+	public void unregister(){
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if(server.isRegistered(name)){
+				server.unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not unregister " + OBJECT_NAME, e);
+		}
+	}
+	
+	@Override
+	public void resolved(String family, long nanos){
+		LongAdder count = families.get(family);
+		if(count == null){
+			count = families.computeIfAbsent(family, f -> new LongAdder());
+		}
+		count.increment();
+		record(nanos);
+	}
+	
+	@Override
+	public void missed(long nanos){
+		misses.increment();
+		record(nanos);
+	}
+	
+	@Override
+	public long getResolvedCount(){
+		long total = 0;
+		for(LongAdder count : families.values()){
+			total += count.sum();
+		}
+		return total;
+	}
+	
+	@Override
+	public long getMissCount(){
+		return misses.sum();
+	}
+	
+	@Override
+	public Map<String, Long> getFamilyCounts(){
+		final Map<String, Long> counts = new TreeMap<>();
+		for(Map.Entry<String, LongAdder> entry : families.entrySet()){
+			counts.put(entry.getKey(), entry.getValue().sum());
+		}
+		return counts;
+	}
+	
+	@Override
+	public long[] getLatencyHistogram(){
+		final long[] histogram = new long[BUCKETS];
+		for(int i = 0; i < BUCKETS; i++){
+			histogram[i] = latencies[i].sum();
+		}
+		return histogram;
+	}
+	
+	@Override
+	public long getLatencyP50Nanos(){
+		return getLatencyNanos(0.50);
+	}
+	
+	@Override
+	public long getLatencyP99Nanos(){
+		return getLatencyNanos(0.99);
+	}
+	
+	@Override
+	public void reset(){
+		for(LongAdder count : families.values()){
+			count.reset();
+		}
+		misses.reset();
+		for(LongAdder latency : latencies){
+			latency.reset();
+		}
+	}
+	
+	/**
+	 * @param fraction fraction of calls, from 0 to 1.
+	 * @return the top of the histogram bucket that the given fraction of calls fall within, or 0 if there are no calls.
+	 */
+	private long getLatencyNanos(double fraction){
+		final long[] histogram = getLatencyHistogram();
+		long total = 0;
+		for(long count : histogram){
+			total += count;
+		}
+		if(total == 0){
+			return 0;
+		}
+		
+		final long rank = (long)Math.ceil(total * fraction);
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++){
+			seen += histogram[i];
+			if(seen >= rank){
+				return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Adds a call to its latency bucket, if it was timed.
+	 */
+	private void record(long nanos){
+		if(nanos != NOT_TIMED){
+			latencies[nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos)].increment();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package elora;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link ResolutionMetrics}.
+ * 
+ * @author akauffman
+ *
+ */
+public interface ResolutionMetricsMXBean {
+	
+	/**
+	 * @return the number of phrases resolved, of every family.
+	 */
+	public long getResolvedCount();
+	
+	/**
+	 * @return the number of phrases that did not match any pattern.
+	 */
+	public long getMissCount();
+	
+	/**
+	 * @return the number of phrases resolved of each family, such as "DayOfWeek".
+	 */
+	public Map<String, Long> getFamilyCounts();
+	
+	/**
+	 * @return the number of timed calls, matched or not, in each latency bucket. Bucket i counts calls that took from
+	 * 2^i up to 2^(i+1) nanoseconds, and bucket 0 also counts calls that took less than a nanosecond.
+	 */
+	public long[] getLatencyHistogram();
+	
+	/**
+	 * @return the median latency in nanoseconds, rounded up to the top of its histogram bucket.
+	 */
+	public long getLatencyP50Nanos();
+	
+	/**
+	 * @return the 99th percentile latency in nanoseconds, rounded up to the top of its histogram bucket.
+	 */
+	public long getLatencyP99Nanos();
+	
+	/**
+	 * Sets every count back to zero.
+	 */
+	public void reset();
+}
@@ -0,0 +1,178 @@
+package elora;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
+
+import timePhrase.IsoFormat;
+import timePhrase.TimePhraseMatch;
+import timePhrase.ZoneTable;
+
+/**
+ * Reads phrases one per line and writes the time of each one as an ISO-8601 line, such as
+ * 2015-04-09T01:01:01.000-04:00. Every phrase is resolved against the same time, in the same time zone.
+ * <br/>
+ * Lines are matched in place in the read buffer, without making a String of each one, and output is written in large
+ * blocks. A line that does not match either stops the stream with an {@link InvalidPatternException}, or, with an
+ * error column, is written as an empty time followed by a tab and the error. Matched lines are then followed by a tab
+ * and an empty error, so every line has two columns.
+ *
+ * @author akauffman
+ *
+ */
+public final class StreamResolver {
+	/** Size of the read and write buffers. */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Written in the error column for a line that does not match. */
+	private static final String NO_MATCH = "Input string not a recognized pattern";
+
+	private final long fromEpochMillis;
+	private final ZoneTable zone;
+	private final boolean errorColumn;
+
+	/**
+	 * @param fromEpochMillis The time in milliseconds since the epoch that every phrase is resolved against.
+	 * @param zone The time zone the phrases are worked out and written in.
+	 * @param errorColumn True to write an error column for lines that do not match, false to stop at the first one.
+	 */
+	public StreamResolver(long fromEpochMillis, ZoneId zone, boolean errorColumn){
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		this.fromEpochMillis = fromEpochMillis;
+		this.zone = ZoneTable.of(zone);
+		this.errorColumn = errorColumn;
+	}
+
+	/**
+	 * Resolves every line of the input. The output is flushed but neither stream is closed.
+	 *
+	 * @param in Phrases, one per line.
+	 * @param out Receives one line per phrase.
+	 * @return the number of lines that matched.
+	 * @throws IOException if reading or writing fails.
+	 * @throws InvalidPatternException if a line does not match and there is no error column. Lines before it have
+	 * been written.
+	 */
+	public long resolve(Reader in, Writer out) throws IOException, InvalidPatternException{
+		final WeekFields weekFields = TellMeWhen.getWeekFields();
+		final ParseCache parseCache = TellMeWhen.getParseCache();
+		final Line line = new Line();
+		char[] input = new char[BUFFER_SIZE];
+		final char[] output = new char[BUFFER_SIZE];
+		int outputLength = 0;
+		int start = 0;
+		int end = 0;
+		long lineNumber = 0;
+		long matched = 0;
+		boolean eof = false;
+
+		while(true){
+			//Find the end of the next line, reading more input if it is not in the buffer yet.
+			int newline = -1;
+			int scanned = start;
+			while(true){
+				for(int i = scanned; i < end; i++){
+					if(input[i] == '\n'){
+						newline = i;
+						break;
+					}
+				}
+				if(newline >= 0 || eof){
+					break;
+				}
+
+				scanned = end - start;
+				if(start > 0){
+					System.arraycopy(input, start, input, 0, end - start);
+					end -= start;
+					start = 0;
+				} else if(end == input.length){
+					input = Arrays.copyOf(input, input.length * 2);
+				}
+				final int read = in.read(input, end, input.length - end);
+				if(read < 0){
+					eof = true;
+				} else {
+					end += read;
+				}
+			}
+			if(newline < 0 && start == end){
+				break;
+			}
+
+			final int lineEnd = newline < 0 ? end : newline;
+			line.set(input, start, lineEnd);
+			start = newline < 0 ? end : newline + 1;
+			lineNumber++;
+
+			if(outputLength > output.length - IsoFormat.MAX_LENGTH - NO_MATCH.length() - 3){
+				out.write(output, 0, outputLength);
+				outputLength = 0;
+			}
+
+			final TimePhraseMatch match = parseCache.parse(line);
+			if(match != null){
+				outputLength = IsoFormat.format(match.getTimeMillis(fromEpochMillis, zone, weekFields), zone, output, outputLength);
+				if(errorColumn){
+					output[outputLength++] = '\t';
+				}
+				matched++;
+			} else if(errorColumn){
+				output[outputLength++] = '\t';
+				NO_MATCH.getChars(0, NO_MATCH.length(), output, outputLength);
+				outputLength += NO_MATCH.length();
+			} else {
+				out.write(output, 0, outputLength);
+				out.flush();
+				throw new InvalidPatternException("Line " + lineNumber + " not a recognized pattern");
+			}
+			output[outputLength++] = '\n';
+		}
+
+		out.write(output, 0, outputLength);
+		out.flush();
+		return matched;
+	}
+
+	/**
+	 * A line of the read buffer, seen as a {@link CharSequence} without copying it.
+	 */
+	private static final class Line implements CharSequence {
+		private char[] buffer;
+		private int start;
+		private int end;
+
+		private void set(char[] buffer, int start, int end){
+			this.buffer = buffer;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length(){
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index){
+			if(index < 0 || index >= end - start){
+				throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+			}
+			return buffer[start + index];
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to){
+			return new String(buffer, start + from, to - from);
+		}
+
+		@Override
+		public String toString(){
+			return new String(buffer, start, end - start);
+		}
+	}
+}
@@ -1,11 +1,28 @@
 package elora;
 
-import java.util.Calendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
 
-import timePhrase.TimePhrase;
-import timePhrase.TimePhraseFactory;
+import timePhrase.ColumnResolver;
+import timePhrase.Range;
+import timePhrase.Recurrence;
+import timePhrase.TimeInterval;
+import timePhrase.TimePhraseMatch;
+import timePhrase.ZoneTable;
 
 /**
  * Encapsulates the logic for converting a plain English representation of a time relative to now into a {@link Date} object.
@@ -14,18 +31,68 @@ import timePhrase.TimePhraseFactory;
  *
  */
 public final class TellMeWhen {
+	/** Most phrases kept in the {@link #getParseCache() parse cache}. */
+	private static final int PARSE_CACHE_SIZE = 1024;
+	/** Parsed phrases shared by all calls. */
+	private static final ParseCache PARSE_CACHE = new ParseCache(PARSE_CACHE_SIZE);
+	/** Results of phrases resolved against the current time. */
+	private static final DailyResultCache RESULT_CACHE = new DailyResultCache(PARSE_CACHE);
+	/** Most phrases resolved by one task of a parallel batch. */
+	private static final int PARALLEL_PHRASES = 1024;
+	/** Most times resolved by one task of a parallel column. */
+	private static final int PARALLEL_TIMES = 16384;
+	/** Week rules of the default locale, kept until the default locale changes. */
+	private static volatile WeekRules weekRules = new WeekRules(Locale.ROOT);
+	/** One in this many calls is timed while there is a listener. A power of two. */
+	private static final int TIMING_SAMPLE = 16;
+	/** Start time of a call that is not timed. */
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+	/** Told about each phrase resolved, or null. */
+	private static volatile ResolutionListener resolutionListener;
+	/** Family name of each kind of match, such as "DayOfWeek". A time of day is counted under its date. */
+	private static final ClassValue<String> FAMILIES = new ClassValue<String>(){
+		@Override
+		protected String computeValue(Class<?> type){
+			final Class<?> phrase = type.getEnclosingClass() == null ? type : type.getEnclosingClass();
+			final String name = phrase.getSimpleName();
+			return name.endsWith("TimePhrase") && name.length() > "TimePhrase".length() ? name.substring(0, name.length() - "TimePhrase".length()) : name;
+		}
+	};
 
 	/**
 	 * Gets a date relative to the current date that matches a plain English description.
 	 * <br/>
 	 * Ex: "Next Thursday" would return a date for the next Thursday.
+	 * <br/>
+	 * Results are cached for the rest of the day, see {@link DailyResultCache}.
+	 * <br/>
+	 * Every listen method takes any {@link CharSequence}, such as a {@link java.nio.CharBuffer} over part of a larger
+	 * buffer. Words are matched in place without regard to case, and any whitespace is allowed between and around them.
 	 * 
 	 * @param relativeTime A plain English representation of a time relative to now. Ex: Last Month
 	 * @return the requested {@link Date}
 	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
 	 */
-	public static final Date listen(String relativeTime) throws InvalidPatternException{
-		return listen(relativeTime, Calendar.getInstance().getTime());
+	public static final Date listen(CharSequence relativeTime) throws InvalidPatternException{
+		if(null == relativeTime){
+			throw new NullPointerException("RelativeTime is null");
+		}
+		
+		final ResolutionListener listener = resolutionListener;
+		final long start = listener == null ? 0 : startTiming();
+		final TimePhraseMatch match = PARSE_CACHE.parse(relativeTime);
+		if(match == null){
+			if(listener != null){
+				report(listener, null, start);
+			}
+			throw InvalidPatternException.NO_MATCH;
+		}
+		
+		final long time = RESULT_CACHE.getTimeMillis(match, System.currentTimeMillis());
+		if(listener != null){
+			report(listener, match, start);
+		}
+		return new Date(time);
 	}
 	
 	/**
@@ -38,7 +105,7 @@ public final class TellMeWhen {
 	 * @return the requested {@link Date}
 	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
 	 */
-	public static final Date listen(String relativeTime, Date fromDate) throws InvalidPatternException{
+	public static final Date listen(CharSequence relativeTime, Date fromDate) throws InvalidPatternException{
 		if(null == relativeTime){
 			throw new NullPointerException("RelativeTime is null");
 		}
@@ -46,18 +113,668 @@ public final class TellMeWhen {
 			throw new NullPointerException("fromDate is null");
 		}
 		
-		relativeTime = relativeTime.toUpperCase().trim();
-		final Calendar fromWhen = Calendar.getInstance();
-		fromWhen.setTime(fromDate);
-
-		final List<TimePhrase> timePhrases = TimePhraseFactory.getTimePhrases();
-		for(TimePhrase timePhrase : timePhrases){
-			if(timePhrase.matches(relativeTime)){
-				return timePhrase.getTime(fromWhen);
+		return Date.from(listen(relativeTime, fromDate.toInstant()));
+	}
+	
+	/**
+	 * Gets an instant relative to the given instant that matches a plain English description. Dates are worked out
+	 * in the default time zone.
+	 * 
+	 * @param relativeTime A plain English representation of a relative time. Ex: Last Month
+	 * @param fromInstant The instant that will be modified based on the relativeTime phrase.
+	 * @return the requested {@link Instant}
+	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
+	 */
+	public static final Instant listen(CharSequence relativeTime, Instant fromInstant) throws InvalidPatternException{
+		if(null == fromInstant){
+			throw new NullPointerException("fromInstant is null");
+		}
+		
+		return listen(relativeTime, ZonedDateTime.ofInstant(fromInstant, ZoneId.systemDefault())).toInstant();
+	}
+	
+	/**
+	 * Gets a date and time relative to the given one that matches a plain English description. The result is in the
+	 * same time zone. Weeks follow the rules of the default locale.
+	 * 
+	 * @param relativeTime A plain English representation of a relative time. Ex: Last Month
+	 * @param fromWhen The date and time that will be modified based on the relativeTime phrase.
+	 * @return the requested {@link ZonedDateTime}
+	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
+	 */
+	public static final ZonedDateTime listen(CharSequence relativeTime, ZonedDateTime fromWhen) throws InvalidPatternException{
+		if(null == relativeTime){
+			throw new NullPointerException("RelativeTime is null");
+		}
+		if(null == fromWhen){
+			throw new NullPointerException("fromWhen is null");
+		}
+		
+		final ResolutionListener listener = resolutionListener;
+		final long start = listener == null ? 0 : startTiming();
+		final TimePhraseMatch match = PARSE_CACHE.parse(relativeTime);
+		if(match == null){
+			if(listener != null){
+				report(listener, null, start);
 			}
+			throw InvalidPatternException.NO_MATCH;
 		}
 
-		throw new InvalidPatternException();
+		final ZonedDateTime time = match.getTime(fromWhen, getWeekFields());
+		if(listener != null){
+			report(listener, match, start);
+		}
+		return time;
+	}
+	
+	/**
+	 * Gets a time relative to the given time that matches a plain English description. Weeks follow the rules of the
+	 * default locale.
+	 * <br/>
+	 * Once the phrase and the time zone have been seen, this does not allocate.
+	 * 
+	 * @param phrase A plain English representation of a relative time. Ex: Last Month
+	 * @param fromEpochMillis The time in milliseconds since the epoch that will be modified based on the phrase.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @return the requested time in milliseconds since the epoch.
+	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
+	 * @throws ArithmeticException if fromEpochMillis is outside of {@link ZoneTable#MIN_EPOCH_MILLIS} and
+	 * {@link ZoneTable#MAX_EPOCH_MILLIS}, where the result may not fit in a long.
+	 */
+	public static final long resolveMillis(CharSequence phrase, long fromEpochMillis, ZoneId zone) throws InvalidPatternException{
+		if(null == phrase){
+			throw new NullPointerException("phrase is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		
+		final ResolutionListener listener = resolutionListener;
+		final long start = listener == null ? 0 : startTiming();
+		final TimePhraseMatch match = PARSE_CACHE.parse(phrase);
+		if(match == null){
+			if(listener != null){
+				report(listener, null, start);
+			}
+			throw InvalidPatternException.NO_MATCH;
+		}
+		
+		final long time = match.getTimeMillis(fromEpochMillis, ZoneTable.of(zone), getWeekFields());
+		if(listener != null){
+			report(listener, match, start);
+		}
+		return time;
+	}
+	
+	/**
+	 * Same as {@link #listen(CharSequence)}, but reports a phrase that does not match in the result instead of
+	 * throwing. A phrase that does not match costs about as much as trying to match it.
+	 * 
+	 * @param relativeTime A plain English representation of a time relative to now. Ex: Last Month
+	 * @return the requested time, or a result that is not {@link ListenResult#isMatched() matched}.
+	 */
+	public static final ListenResult tryListen(CharSequence relativeTime){
+		if(null == relativeTime){
+			throw new NullPointerException("RelativeTime is null");
+		}
+		
+		final ResolutionListener listener = resolutionListener;
+		final long start = listener == null ? 0 : startTiming();
+		final TimePhraseMatch match = PARSE_CACHE.parse(relativeTime);
+		if(match == null){
+			if(listener != null){
+				report(listener, null, start);
+			}
+			return ListenResult.NO_MATCH;
+		}
+		
+		final long time = RESULT_CACHE.getTimeMillis(match, System.currentTimeMillis());
+		if(listener != null){
+			report(listener, match, start);
+		}
+		return ListenResult.of(time);
+	}
+	
+	/**
+	 * Same as {@link #listen(CharSequence, Date)}, but reports a phrase that does not match in the result instead of
+	 * throwing. A phrase that does not match costs about as much as trying to match it.
+	 * 
+	 * @param relativeTime A plain English representation of a relative time. Ex: Last Month
+	 * @param fromDate The date that will be modified based on the relativeTime phrase.
+	 * @return the requested time, or a result that is not {@link ListenResult#isMatched() matched}.
+	 */
+	public static final ListenResult tryListen(CharSequence relativeTime, Date fromDate){
+		if(null == relativeTime){
+			throw new NullPointerException("RelativeTime is null");
+		}
+		if(null == fromDate){
+			throw new NullPointerException("fromDate is null");
+		}
+		
+		return tryListen(relativeTime, fromDate.getTime(), ZoneTable.of(ZoneId.systemDefault()), getWeekFields());
+	}
+	
+	/**
+	 * Same as {@link #resolveMillis(CharSequence, long, ZoneId)}, but returns an empty {@link OptionalLong} for a
+	 * phrase that does not match instead of throwing.
+	 * 
+	 * @param phrase A plain English representation of a relative time. Ex: Last Month
+	 * @param fromEpochMillis The time in milliseconds since the epoch that will be modified based on the phrase.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @return the requested time in milliseconds since the epoch, or empty if the phrase does not match.
+	 * @throws ArithmeticException if fromEpochMillis is outside of {@link ZoneTable#MIN_EPOCH_MILLIS} and
+	 * {@link ZoneTable#MAX_EPOCH_MILLIS}, where the result may not fit in a long.
+	 */
+	public static final OptionalLong tryResolveMillis(CharSequence phrase, long fromEpochMillis, ZoneId zone){
+		if(null == phrase){
+			throw new NullPointerException("phrase is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		
+		final ResolutionListener listener = resolutionListener;
+		final long start = listener == null ? 0 : startTiming();
+		final TimePhraseMatch match = PARSE_CACHE.parse(phrase);
+		if(match == null){
+			if(listener != null){
+				report(listener, null, start);
+			}
+			return OptionalLong.empty();
+		}
+		
+		final long time = match.getTimeMillis(fromEpochMillis, ZoneTable.of(zone), getWeekFields());
+		if(listener != null){
+			report(listener, match, start);
+		}
+		return OptionalLong.of(time);
+	}
+	
+	/**
+	 * Resolves many phrases against the same date. The time zone and week rules are looked up once for the whole
+	 * batch. A phrase that does not match, or is null, gets a result that is not {@link ListenResult#isMatched()
+	 * matched} and the rest of the batch carries on.
+	 * 
+	 * @param relativeTimes Plain English representations of relative times. Ex: Last Month
+	 * @param fromDate The date that will be modified based on each phrase.
+	 * @return a result for each phrase, in the same order.
+	 */
+	public static final List<ListenResult> listenAll(List<? extends CharSequence> relativeTimes, Date fromDate){
+		if(null == relativeTimes){
+			throw new NullPointerException("relativeTimes is null");
+		}
+		if(null == fromDate){
+			throw new NullPointerException("fromDate is null");
+		}
+		
+		final long fromEpochMillis = fromDate.getTime();
+		final ZoneTable zone = ZoneTable.of(ZoneId.systemDefault());
+		final WeekFields weekFields = getWeekFields();
+		final List<ListenResult> results = new ArrayList<>(relativeTimes.size());
+		for(CharSequence relativeTime : relativeTimes){
+			results.add(tryListen(relativeTime, fromEpochMillis, zone, weekFields));
+		}
+		return results;
+	}
+	
+	/**
+	 * Same as {@link #listenAll(List, Date)}, split across the threads of a {@link ForkJoinPool}. The results are in the
+	 * same order as the phrases.
+	 * 
+	 * @param relativeTimes Plain English representations of relative times. Ex: Last Month
+	 * @param fromDate The date that will be modified based on each phrase.
+	 * @param pool The pool to run on, such as {@link ForkJoinPool#commonPool()}.
+	 * @return a result for each phrase, in the same order.
+	 */
+	public static final List<ListenResult> listenAll(List<? extends CharSequence> relativeTimes, Date fromDate, ForkJoinPool pool){
+		if(null == relativeTimes){
+			throw new NullPointerException("relativeTimes is null");
+		}
+		if(null == fromDate){
+			throw new NullPointerException("fromDate is null");
+		}
+		if(null == pool){
+			throw new NullPointerException("pool is null");
+		}
+		
+		final CharSequence[] phrases = relativeTimes.toArray(new CharSequence[0]);
+		final ListenResult[] results = new ListenResult[phrases.length];
+		final long fromEpochMillis = fromDate.getTime();
+		final ZoneTable zone = ZoneTable.of(ZoneId.systemDefault());
+		final WeekFields weekFields = getWeekFields();
+		pool.invoke(new RangeTask((from, to) -> {
+			for(int i = from; i < to; i++){
+				results[i] = tryListen(phrases[i], fromEpochMillis, zone, weekFields);
+			}
+			return 0;
+		}, 0, phrases.length, PARALLEL_PHRASES));
+		return Arrays.asList(results);
+	}
+	
+	/**
+	 * Resolves many phrases against the same time, writing into arrays supplied by the caller. The time zone and week
+	 * rules are looked up once for the whole batch. A phrase that does not match, or is null, is marked in the
+	 * matched array and the rest of the batch carries on.
+	 * <br/>
+	 * Once the phrases and the time zone have been seen, this does not allocate.
+	 * 
+	 * @param phrases Plain English representations of relative times. Ex: Last Month
+	 * @param fromEpochMillis The time in milliseconds since the epoch that will be modified based on each phrase.
+	 * @param zone The time zone the phrases are worked out in.
+	 * @param results Receives the time of each phrase in milliseconds since the epoch, or 0 if it did not match.
+	 * Must be at least as long as phrases.
+	 * @param matched Receives true for each phrase that matched. Must be at least as long as phrases.
+	 * @return the number of phrases that matched.
+	 */
+	public static final int resolveAllMillis(CharSequence[] phrases, long fromEpochMillis, ZoneId zone, long[] results, boolean[] matched){
+		if(null == phrases){
+			throw new NullPointerException("phrases is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		if(null == results){
+			throw new NullPointerException("results is null");
+		}
+		if(null == matched){
+			throw new NullPointerException("matched is null");
+		}
+		if(results.length < phrases.length || matched.length < phrases.length){
+			throw new IllegalArgumentException("Output arrays are shorter than phrases");
+		}
+		
+		return resolveAllMillis(phrases, 0, phrases.length, fromEpochMillis, ZoneTable.of(zone), getWeekFields(), results, matched);
+	}
+	
+	/**
+	 * Same as {@link #resolveAllMillis(CharSequence[], long, ZoneId, long[], boolean[])}, split across the threads of
+	 * a {@link ForkJoinPool}. Each thread writes its own part of the arrays, and the number of matches of each part
+	 * is added up.
+	 * 
+	 * @param phrases Plain English representations of relative times. Ex: Last Month
+	 * @param fromEpochMillis The time in milliseconds since the epoch that will be modified based on each phrase.
+	 * @param zone The time zone the phrases are worked out in.
+	 * @param results Receives the time of each phrase in milliseconds since the epoch, or 0 if it did not match.
+	 * Must be at least as long as phrases.
+	 * @param matched Receives true for each phrase that matched. Must be at least as long as phrases.
+	 * @param pool The pool to run on, such as {@link ForkJoinPool#commonPool()}.
+	 * @return the number of phrases that matched.
+	 */
+	public static final int resolveAllMillis(CharSequence[] phrases, long fromEpochMillis, ZoneId zone, long[] results, boolean[] matched, ForkJoinPool pool){
+		if(null == phrases){
+			throw new NullPointerException("phrases is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		if(null == results){
+			throw new NullPointerException("results is null");
+		}
+		if(null == matched){
+			throw new NullPointerException("matched is null");
+		}
+		if(null == pool){
+			throw new NullPointerException("pool is null");
+		}
+		if(results.length < phrases.length || matched.length < phrases.length){
+			throw new IllegalArgumentException("Output arrays are shorter than phrases");
+		}
+		
+		final ZoneTable table = ZoneTable.of(zone);
+		final WeekFields weekFields = getWeekFields();
+		return pool.invoke(new RangeTask((from, to) -> resolveAllMillis(phrases, from, to, fromEpochMillis, table, weekFields, results, matched),
+				0, phrases.length, PARALLEL_PHRASES));
+	}
+	
+	/**
+	 * Resolves one phrase against a column of times. The phrase is parsed once, and a date level phrase such as
+	 * "Next Monday" is worked out once per day, see {@link ColumnResolver}. Weeks follow the rules of the default locale.
+	 * <br/>
+	 * The results may be written over the times by passing the same array twice.
+	 * 
+	 * @param phrase A plain English representation of a relative time. Ex: First Day of the Month
+	 * @param fromEpochMillis Times in milliseconds since the epoch that will be modified based on the phrase.
+	 * @param results Receives the result for each time, in milliseconds since the epoch. Must be at least as long as fromEpochMillis.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
+	 */
+	public static final void resolveColumn(CharSequence phrase, long[] fromEpochMillis, long[] results, ZoneId zone) throws InvalidPatternException{
+		if(null == phrase){
+			throw new NullPointerException("phrase is null");
+		}
+		if(null == fromEpochMillis){
+			throw new NullPointerException("fromEpochMillis is null");
+		}
+		if(null == results){
+			throw new NullPointerException("results is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		if(results.length < fromEpochMillis.length){
+			throw new IllegalArgumentException("results is shorter than fromEpochMillis");
+		}
+		
+		final TimePhraseMatch match = PARSE_CACHE.parse(phrase);
+		if(match == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+		
+		ColumnResolver.resolve(match, fromEpochMillis, 0, results, 0, fromEpochMillis.length, ZoneTable.of(zone), getWeekFields());
+	}
+	
+	/**
+	 * Same as {@link #resolveColumn(CharSequence, long[], long[], ZoneId)}, split across the threads of a
+	 * {@link ForkJoinPool}. Each thread writes its own part of the results.
+	 * 
+	 * @param phrase A plain English representation of a relative time. Ex: First Day of the Month
+	 * @param fromEpochMillis Times in milliseconds since the epoch that will be modified based on the phrase.
+	 * @param results Receives the result for each time, in milliseconds since the epoch. Must be at least as long as fromEpochMillis.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @param pool The pool to run on, such as {@link ForkJoinPool#commonPool()}.
+	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
+	 */
+	public static final void resolveColumn(CharSequence phrase, long[] fromEpochMillis, long[] results, ZoneId zone, ForkJoinPool pool) throws InvalidPatternException{
+		if(null == phrase){
+			throw new NullPointerException("phrase is null");
+		}
+		if(null == fromEpochMillis){
+			throw new NullPointerException("fromEpochMillis is null");
+		}
+		if(null == results){
+			throw new NullPointerException("results is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		if(null == pool){
+			throw new NullPointerException("pool is null");
+		}
+		if(results.length < fromEpochMillis.length){
+			throw new IllegalArgumentException("results is shorter than fromEpochMillis");
+		}
+		
+		final TimePhraseMatch match = PARSE_CACHE.parse(phrase);
+		if(match == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+		
+		final ZoneTable table = ZoneTable.of(zone);
+		final WeekFields weekFields = getWeekFields();
+		pool.invoke(new RangeTask((from, to) -> {
+			ColumnResolver.resolve(match, fromEpochMillis, from, results, from, to - from, table, weekFields);
+			return 0;
+		}, 0, fromEpochMillis.length, PARALLEL_TIMES));
+	}
+	
+	/**
+	 * Gets the times of a repeating phrase after the given time, in order. Each time is worked out as it is taken from
+	 * the stream, in the same time for every step, see {@link Recurrence}. The stream does not end, so use
+	 * {@link LongStream#limit(long)} to take a number of times. Weeks follow the rules of the default locale.
+	 * 
+	 * @param recurrence A plain English representation of a repeating time. Ex: Every Monday or Every First Day of the Month
+	 * @param fromEpochMillis The time in milliseconds since the epoch to start after.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @return a lazy stream of times in milliseconds since the epoch.
+	 * @throws InvalidPatternException if the given time string does not match any known repeating patterns.
+	 */
+	public static final LongStream listenEvery(CharSequence recurrence, long fromEpochMillis, ZoneId zone) throws InvalidPatternException{
+		return listenEvery(recurrence, fromEpochMillis, Long.MAX_VALUE, zone);
+	}
+	
+	/**
+	 * Same as {@link #listenEvery(CharSequence, long, ZoneId)}, but stops before the given time.
+	 * 
+	 * @param recurrence A plain English representation of a repeating time. Ex: Every Monday or Every First Day of the Month
+	 * @param fromEpochMillis The time in milliseconds since the epoch to start after.
+	 * @param toEpochMillis The time in milliseconds since the epoch to stop at. Not included.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @return a lazy stream of times in milliseconds since the epoch.
+	 * @throws InvalidPatternException if the given time string does not match any known repeating patterns.
+	 */
+	public static final LongStream listenEvery(CharSequence recurrence, long fromEpochMillis, long toEpochMillis, ZoneId zone) throws InvalidPatternException{
+		if(null == recurrence){
+			throw new NullPointerException("recurrence is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		
+		final Recurrence parsed = Recurrence.parse(recurrence);
+		if(parsed == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+		
+		return parsed.stream(fromEpochMillis, toEpochMillis, ZoneTable.of(zone), getWeekFields());
+	}
+	
+	/**
+	 * Gets the stretch of time a phrase names, such as the whole of last week, from one evaluation of the phrase. See
+	 * {@link Range}. Weeks follow the rules of the default locale.
+	 * 
+	 * @param range A plain English representation of a stretch of time. Ex: Last Week, This Month or Between Monday and Friday
+	 * @param fromEpochMillis The time in milliseconds since the epoch the phrase is worked out from.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @return the interval, which includes its start and not its end.
+	 * @throws InvalidPatternException if the given time string does not match any known range patterns, or a between
+	 * phrase does not end after it starts.
+	 */
+	public static final TimeInterval listenRange(CharSequence range, long fromEpochMillis, ZoneId zone) throws InvalidPatternException{
+		if(null == range){
+			throw new NullPointerException("range is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		
+		final Range parsed = Range.parse(range);
+		if(parsed == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+		
+		final TimeInterval interval = parsed.getInterval(fromEpochMillis, ZoneTable.of(zone), getWeekFields());
+		if(interval == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+		return interval;
+	}
+	
+	/**
+	 * Same as {@link #listenRange(CharSequence, long, ZoneId)} in the time zone of the given time.
+	 * 
+	 * @param range A plain English representation of a stretch of time. Ex: Last Week, This Month or Between Monday and Friday
+	 * @param fromWhen The date and time the phrase is worked out from.
+	 * @return the interval, which includes its start and not its end.
+	 * @throws InvalidPatternException if the given time string does not match any known range patterns, or a between
+	 * phrase does not end after it starts.
+	 */
+	public static final TimeInterval listenRange(CharSequence range, ZonedDateTime fromWhen) throws InvalidPatternException{
+		if(null == fromWhen){
+			throw new NullPointerException("fromWhen is null");
+		}
+		
+		return listenRange(range, fromWhen.toInstant().toEpochMilli(), fromWhen.getZone());
+	}
+	
+	/**
+	 * Compiles a range phrase into a filter that tests whether times are within the stretch of time it names, such as
+	 * "Yesterday" or "Last Month". The phrase is worked out once here, and again only when the filter is
+	 * {@link RangeFilter#refresh(long) refreshed}, so each test is two comparisons. Weeks follow the rules of the
+	 * default locale when the filter is created.
+	 * 
+	 * @param range A plain English representation of a stretch of time. Ex: Yesterday or Between Monday and Friday
+	 * @param fromEpochMillis The time in milliseconds since the epoch the phrase is worked out from.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @return a filter over times in milliseconds since the epoch.
+	 * @throws InvalidPatternException if the given time string does not match any known range patterns, or a between
+	 * phrase does not end after it starts.
+	 */
+	public static final RangeFilter within(CharSequence range, long fromEpochMillis, ZoneId zone) throws InvalidPatternException{
+		if(null == range){
+			throw new NullPointerException("range is null");
+		}
+		if(null == zone){
+			throw new NullPointerException("zone is null");
+		}
+		
+		final Range parsed = Range.parse(range);
+		if(parsed == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+		
+		final ZoneTable table = ZoneTable.of(zone);
+		final WeekFields weekFields = getWeekFields();
+		final TimeInterval interval = parsed.getInterval(fromEpochMillis, table, weekFields);
+		if(interval == null){
+			throw InvalidPatternException.NO_MATCH;
+		}
+		return new RangeFilter(parsed, interval, table, weekFields);
+	}
+	
+	/**
+	 * Gets a date relative to the given date that matches a plain English description. The phrase is applied at noon,
+	 * so phrases smaller than a day such as "Next Hour" or "Last Hour" leave the date as it is.
+	 * 
+	 * @param relativeTime A plain English representation of a relative time. Ex: Last Month
+	 * @param fromDate The date that will be modified based on the relativeTime phrase.
+	 * @return the requested {@link LocalDate}
+	 * @throws InvalidPatternException if the given time string does not match any known time patterns.
+	 */
+	public static final LocalDate listen(CharSequence relativeTime, LocalDate fromDate) throws InvalidPatternException{
+		if(null == fromDate){
+			throw new NullPointerException("fromDate is null");
+		}
+		
+		//UTC has no daylight saving changes, so the date is moved on its own.
+		return listen(relativeTime, fromDate.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC)).toLocalDate();
+	}
+	
+	/**
+	 * Sets the listener told about each phrase resolved by the methods of this class that resolve one phrase at a
+	 * time, and by the batch methods for each phrase. Column methods are not reported. Every call is reported, and
+	 * one in {@value #TIMING_SAMPLE} is timed. With no listener, which is the default, nothing is timed or counted.
+	 * 
+	 * @param listener The listener, such as a registered {@link ResolutionMetrics}, or null for none.
+	 */
+	public static void setResolutionListener(ResolutionListener listener){
+		resolutionListener = listener;
+	}
+	
+	/**
+	 * @return the listener told about each phrase resolved, or null if there is none.
+	 */
+	public static ResolutionListener getResolutionListener(){
+		return resolutionListener;
+	}
+	
+	/**
+	 * Gets the cache of parsed phrases used by {@link #listen(CharSequence, Date)}. Useful for checking its hit, miss and eviction counts.
+	 * 
+	 * @return the shared {@link ParseCache}
+	 */
+	public static ParseCache getParseCache(){
+		return PARSE_CACHE;
+	}
+	
+	/**
+	 * Gets the cache of results used by {@link #listen(CharSequence)}. Useful for checking its hit and miss counts.
+	 * 
+	 * @return the shared {@link DailyResultCache}
+	 */
+	public static DailyResultCache getResultCache(){
+		return RESULT_CACHE;
+	}
+	
+	/**
+	 * Reading the clock costs about as much as resolving a cached phrase, so only a sample of calls is timed.
+	 * 
+	 * @return {@link System#nanoTime()} for a call that is timed, otherwise NOT_TIMED.
+	 */
+	private static long startTiming(){
+		return (ThreadLocalRandom.current().nextInt() & (TIMING_SAMPLE - 1)) == 0 ? System.nanoTime() : NOT_TIMED;
+	}
+	
+	/**
+	 * Tells the listener about a phrase.
+	 * 
+	 * @param match The parsed phrase, or null if it did not match.
+	 * @param start {@link #startTiming()} when the call started.
+	 */
+	private static void report(ResolutionListener listener, TimePhraseMatch match, long start){
+		final long nanos = start == NOT_TIMED ? ResolutionListener.NOT_TIMED : System.nanoTime() - start;
+		if(match == null){
+			listener.missed(nanos);
+		} else {
+			listener.resolved(FAMILIES.get(match.getDate().getClass()), nanos);
+		}
+	}
+	
+	/**
+	 * Resolves one phrase of a batch.
+	 * 
+	 * @return the result, or the shared result for a phrase that does not match or is null.
+	 */
+	private static ListenResult tryListen(CharSequence relativeTime, long fromEpochMillis, ZoneTable zone, WeekFields weekFields){
+		final ResolutionListener listener = resolutionListener;
+		final long start = listener == null ? 0 : startTiming();
+		final TimePhraseMatch match = relativeTime == null ? null : PARSE_CACHE.parse(relativeTime);
+		final ListenResult result = match == null ? ListenResult.NO_MATCH : ListenResult.of(match.getTimeMillis(fromEpochMillis, zone, weekFields));
+		if(listener != null){
+			report(listener, match, start);
+		}
+		return result;
+	}
+	
+	/**
+	 * Resolves the phrases from one index up to another.
+	 * 
+	 * @return the number of phrases that matched.
+	 */
+	private static int resolveAllMillis(CharSequence[] phrases, int from, int to, long fromEpochMillis, ZoneTable zone, WeekFields weekFields, long[] results, boolean[] matched){
+		final ResolutionListener listener = resolutionListener;
+		int count = 0;
+		for(int i = from; i < to; i++){
+			final long start = listener == null ? 0 : startTiming();
+			final TimePhraseMatch match = phrases[i] == null ? null : PARSE_CACHE.parse(phrases[i]);
+			if(match == null){
+				results[i] = 0;
+				matched[i] = false;
+			} else {
+				results[i] = match.getTimeMillis(fromEpochMillis, zone, weekFields);
+				matched[i] = true;
+				count++;
+			}
+			if(listener != null){
+				report(listener, match, start);
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * @return the week rules of the default locale.
+	 */
+	static WeekFields getWeekFields(){
+		final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+		WeekRules rules = weekRules;
+		if(!rules.locale.equals(locale)){
+			rules = new WeekRules(locale);
+			weekRules = rules;
+		}
+		return rules.weekFields;
+	}
+	
+	/**
+	 * The week rules of a locale.
+	 */
+	private static final class WeekRules {
+		private final Locale locale;
+		private final WeekFields weekFields;
+		
+		private WeekRules(Locale locale){
+			this.locale = locale;
+			this.weekFields = WeekFields.of(locale);
+		}
 	}
 
 }
@@ -0,0 +1,31 @@
+package timePhrase;
+
+import java.util.Collections;
+
+/**
+ * Matches a {@link TimePhrase} on its own by compiling its grammar into a {@link PhraseAutomaton}.
+ * 
+ * @author akauffman
+ *
+ */
+public abstract class AbstractTimePhrase implements TimePhrase {
+	/** Automaton for this phrase alone. Compiled on first use. */
+	private volatile PhraseAutomaton automaton;
+	
+	@Override
+	public boolean matches(CharSequence time) {
+		return parse(time) != null;
+	}
+
+	@Override
+	public TimePhraseMatch parse(CharSequence time) {
+		PhraseAutomaton phraseAutomaton = automaton;
+		if(phraseAutomaton == null){
+			//Compiling twice from racing threads is harmless, both automatons are equal.
+			phraseAutomaton = PhraseAutomaton.compile(Collections.singletonList(this));
+			automaton = phraseAutomaton;
+		}
+		
+		return phraseAutomaton.parse(time);
+	}
+}
@@ -0,0 +1,131 @@
+package timePhrase;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Date arithmetic on {@link ZonedDateTime} that gives the same results as a lenient {@link java.util.Calendar},
+ * including around daylight saving changes.
+ * <br/>
+ * Moving by days keeps the offset of the starting time where it can, like {@link java.util.Calendar#add(int, int)}
+ * does for days and weeks. Setting a local time, which a Calendar also does when adding months or years, moves a
+ * time that does not exist forward by the length of the gap, and takes standard time for a time that happens twice.
+ * <br/>
+ * Each method also has a form on milliseconds since the epoch that uses a {@link ZoneTable} and does not allocate.
+ *
+ * @author akauffman
+ *
+ */
+final class CalendarMath {
+
+	private CalendarMath(){
+	}
+
+	/**
+	 * Adds days, keeping the time of day.
+	 *
+	 * @param date The starting date.
+	 * @param days Number of days to add. May be negative.
+	 * @return the moved date.
+	 */
+	static ZonedDateTime addDays(ZonedDateTime date, long days){
+		if(days == 0){
+			return date;
+		}
+
+		final LocalDateTime local = date.toLocalDateTime().plusDays(days);
+		final ZoneOffset offset = date.getOffset();
+		final Instant time = local.toInstant(offset);
+		final ZoneOffset newOffset = date.getZone().getRules().getOffset(time);
+		if(newOffset.equals(offset)){
+			return ZonedDateTime.ofInstant(time, date.getZone());
+		}
+
+		//The offset changed, so move by the difference, unless that lands on another date.
+		final ZonedDateTime adjusted = ZonedDateTime.ofInstant(time.plusSeconds(offset.getTotalSeconds() - newOffset.getTotalSeconds()), date.getZone());
+		if(adjusted.toLocalDate().equals(local.toLocalDate())){
+			return adjusted;
+		}
+		return ZonedDateTime.ofInstant(time, date.getZone());
+	}
+
+	/**
+	 * Adds months, keeping the time of day. The day of the month is reduced if the new month is too short.
+	 *
+	 * @param date The starting date.
+	 * @param months Number of months to add. May be negative.
+	 * @return the moved date.
+	 */
+	static ZonedDateTime addMonths(ZonedDateTime date, long months){
+		if(months == 0){
+			return date;
+		}
+
+		return set(date, date.toLocalDateTime().plusMonths(months));
+	}
+
+	/**
+	 * Sets the local date and time.
+	 *
+	 * @param date The starting date. Only its time zone is used.
+	 * @param local The new local date and time.
+	 * @return the date at the local time.
+	 */
+	static ZonedDateTime set(ZonedDateTime date, LocalDateTime local){
+		return ZonedDateTime.ofLocal(local, date.getZone(), null).withLaterOffsetAtOverlap();
+	}
+
+	/**
+	 * Adds days, keeping the time of day.
+	 *
+	 * @param time The starting time in milliseconds since the epoch.
+	 * @param days Number of days to add. May be negative.
+	 * @param zone The time zone.
+	 * @return the moved time.
+	 */
+	static long addDays(long time, long days, ZoneTable zone){
+		if(days == 0){
+			return time;
+		}
+
+		final int offset = zone.getOffsetMillis(time);
+		final long local = time + offset + days * EpochMath.DAY_MILLIS;
+		final long moved = local - offset;
+		final int newOffset = zone.getOffsetMillis(moved);
+		if(newOffset == offset){
+			return moved;
+		}
+
+		//The offset changed, so move by the difference, unless that lands on another date.
+		final long adjusted = moved + offset - newOffset;
+		if(EpochMath.epochDay(adjusted + zone.getOffsetMillis(adjusted)) == EpochMath.epochDay(local)){
+			return adjusted;
+		}
+		return moved;
+	}
+
+	/**
+	 * Adds months, keeping the time of day. The day of the month is reduced if the new month is too short.
+	 *
+	 * @param time The starting time in milliseconds since the epoch.
+	 * @param months Number of months to add. May be negative.
+	 * @param zone The time zone.
+	 * @return the moved time.
+	 */
+	static long addMonths(long time, long months, ZoneTable zone){
+		if(months == 0){
+			return time;
+		}
+
+		final long local = time + zone.getOffsetMillis(time);
+		final long date = EpochMath.toDate(EpochMath.epochDay(local));
+		final long monthCount = EpochMath.year(date) * 12 + EpochMath.month(date) - 1 + months;
+		final long year = Math.floorDiv(monthCount, 12L);
+		final int month = (int)Math.floorMod(monthCount, 12L) + 1;
+		final int day = Math.min(EpochMath.day(date), EpochMath.lengthOfMonth(year, month));
+
+		return zone.toEpochMillis(EpochMath.toEpochDay(year, month, day) * EpochMath.DAY_MILLIS + EpochMath.millisOfDay(local));
+	}
+}
@@ -1,79 +1,220 @@
 package timePhrase;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
 
 /**
- * A phrase that represents changing one unit of time into the past or future. Ex: Next Week or Next Month
+ * A phrase that represents changing a number of units of time into the past or future. Ex: Next Week, Next Month,
+ * In 3 Days, Next 10 Minutes, Five Weeks Ago or Twenty-Five Minutes From Now. This Week or This Month does not
+ * move the time, and names the unit around it. As a {@link Range}, Next 10 Minutes names each of the ten minutes,
+ * while In 10 Minutes names only the tenth.
  * 
  * @author akauffman
  *
  */
-public class ChangeUnitTimePhrase implements TimePhrase {
+public class ChangeUnitTimePhrase extends AbstractTimePhrase {
 	
-	/** Phrase regex. Matches Next or Last followed by millisecond, second, minute, hour, day, week, or month. */
-	private static final Pattern CHANGE_UNIT = Pattern.compile("^(NEXT|LAST)\\s*(MILLISECOND|SECOND|MINUTE|HOUR|DAY|WEEK|MONTH|YEAR)", Pattern.CASE_INSENSITIVE);
-	/** Matcher that stores results of matching the given time to the pattern. */
-	private Matcher matcher;
+	/**
+	 * Phrase grammar. Matches Next, Last, This or Previous, an optional number, and then millisecond, second, minute,
+	 * hour, day, week, month, or year. Also matches In, a number and a unit, or a number and a unit followed by Ago or
+	 * From Now. The grammar allows more than that, and {@link #createMatch(Keyword[])} turns the rest away.
+	 */
+	private static final PhraseGrammar CHANGE_UNIT = PhraseGrammar.start()
+			.thenOptional(Keyword.NEXT, Keyword.LAST, Keyword.THIS, Keyword.PREVIOUS, Keyword.IN)
+			.thenOptional(Keyword.NUMBER)
+			.then(Keyword.MILLISECOND, Keyword.SECOND, Keyword.MINUTE, Keyword.HOUR, Keyword.DAY, Keyword.WEEK, Keyword.MONTH, Keyword.YEAR)
+			.thenOptional(Keyword.AGO, Keyword.FROM)
+			.thenOptional(Keyword.NOW);
+	/** Index of the unit of time in the grammar. */
+	private static final int UNIT_SLOT = 2;
 	
 	@Override
-	public boolean matches(String time) {
-		this.matcher = CHANGE_UNIT.matcher(time);
-		return matcher.matches();
+	public PhraseGrammar getGrammar() {
+		return CHANGE_UNIT;
 	}
 
 	@Override
-	public Date getTime(Calendar fromWhen) throws IllegalStateException {
-		if(matcher==null){
-			throw new IllegalStateException("No match has been attempted");
-		}
-		if(fromWhen == null){
-			throw new NullPointerException("fromWhen is null");
-		}
-		
-		final Calendar cal = (Calendar)fromWhen.clone();
-		final String changeDirection = matcher.group(1);
-		final String timeUnit = matcher.group(2);
+	public TimePhraseMatch createMatch(Keyword[] words) {
+		final Keyword changeDirection = words[0];
+		final boolean hasNumber = words[1] != null;
+		final ChronoUnit timeUnit = getTimeUnit(words[UNIT_SLOT]);
+		final Keyword suffix = words[3];
+		final boolean fromNow = suffix == Keyword.FROM && words[4] == Keyword.NOW;
 		
-		int timeField = getTimeField(timeUnit);
-		
-		if("NEXT".equals(changeDirection)){
-			cal.add(timeField, 1);
-		} else if("LAST".equals(changeDirection)){
-			cal.add(timeField, -1);
+		final int direction;
+		if(changeDirection != null){
+			if(suffix != null || words[4] != null || (changeDirection == Keyword.IN && !hasNumber) || (changeDirection == Keyword.THIS && hasNumber)){
+				return null;
+			}
+			if(changeDirection == Keyword.THIS){
+				direction = 0;
+			} else {
+				direction = changeDirection == Keyword.NEXT || changeDirection == Keyword.IN ? 1 : -1;
+			}
+		} else if(hasNumber && suffix == Keyword.AGO && words[4] == null){
+			direction = -1;
+		} else if(hasNumber && fromNow){
+			direction = 1;
+		} else {
+			return null;
 		}
 		
-		return cal.getTime();
+		//Next 3 Days names each of the three days, while In 3 Days names the third.
+		final boolean stretch = hasNumber && changeDirection != null && changeDirection != Keyword.IN;
+		return new Match(timeUnit, direction, 1, stretch);
 	}
 
 	/**
-	 * Returns the calendar time field for the given time unit.
+	 * Creates a match that moves a time forward by a number of units.
+	 * 
+	 * @param timeUnit Unit of time to move by.
+	 * @param quantity Number of units to move.
+	 * @return the match.
+	 */
+	static TimePhraseMatch step(ChronoUnit timeUnit, long quantity){
+		return new Match(timeUnit, 1, quantity, false);
+	}
+	
+	/**
+	 * @param keyword Keyword to check.
+	 * @return true if the keyword is a unit of time this phrase can move by.
+	 */
+	static boolean isTimeUnit(Keyword keyword){
+		for(Keyword timeUnit : CHANGE_UNIT.getKeywords(UNIT_SLOT)){
+			if(timeUnit == keyword){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the {@link ChronoUnit} for the given time unit.
 	 * 
 	 * @param timeUnit
 	 * @return
 	 */
-	private int getTimeField(String timeUnit){
+	static ChronoUnit getTimeUnit(Keyword timeUnit){
 		switch(timeUnit){
-		case "MILLISECOND":
-			return Calendar.MILLISECOND;
-		case "SECOND":
-			return Calendar.SECOND;
-		case "MINUTE":
-			return Calendar.MINUTE;
-		case "HOUR":
-			return Calendar.HOUR;
-		case "DAY":
-			return Calendar.DATE;
-		case "WEEK":
-			return Calendar.WEEK_OF_YEAR;
-		case "MONTH":
-			return Calendar.MONTH;
-		case "YEAR":
-			return Calendar.YEAR;
+		case MILLISECOND:
+			return ChronoUnit.MILLIS;
+		case SECOND:
+			return ChronoUnit.SECONDS;
+		case MINUTE:
+			return ChronoUnit.MINUTES;
+		case HOUR:
+			return ChronoUnit.HOURS;
+		case DAY:
+			return ChronoUnit.DAYS;
+		case WEEK:
+			return ChronoUnit.WEEKS;
+		case MONTH:
+			return ChronoUnit.MONTHS;
+		case YEAR:
+			return ChronoUnit.YEARS;
 		default:
 			throw new IllegalArgumentException("Not a valid time unit.");
 		}
 	}
+	
+	/**
+	 * Parsed change unit phrase.
+	 */
+	private static final class Match implements TimePhraseMatch {
+		/** Unit of time that will be changed. */
+		private final ChronoUnit timeUnit;
+		/** 1 to move into the future, -1 to move into the past, 0 to stay. */
+		private final int direction;
+		/** Amount to change the time field by. */
+		private final long amount;
+		/** Length of the unit in milliseconds, if it is smaller than a day. */
+		private final long unitMillis;
+		/** True if the phrase names every unit up to the amount, such as Last 7 Days. */
+		private final boolean stretch;
+		
+		private Match(ChronoUnit timeUnit, int direction, long quantity, boolean stretch){
+			this.timeUnit = timeUnit;
+			this.direction = direction;
+			this.amount = direction * quantity;
+			this.stretch = stretch;
+			this.unitMillis = timeUnit.isTimeBased() ? timeUnit.getDuration().toMillis() : 0;
+		}
+		
+		@Override
+		public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+			if(fromWhen == null){
+				throw new NullPointerException("fromWhen is null");
+			}
+			
+			switch(timeUnit){
+			case DAYS:
+				return CalendarMath.addDays(fromWhen, amount);
+			case WEEKS:
+				return CalendarMath.addDays(fromWhen, 7L * amount);
+			case MONTHS:
+				return CalendarMath.addMonths(fromWhen, amount);
+			case YEARS:
+				return CalendarMath.addMonths(fromWhen, 12L * amount);
+			default:
+				//Units smaller than a day are a fixed length of time.
+				return fromWhen.plus(amount, timeUnit);
+			}
+		}
+
+		@Override
+		public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+			switch(timeUnit){
+			case DAYS:
+				return CalendarMath.addDays(fromWhen, amount, zone);
+			case WEEKS:
+				return CalendarMath.addDays(fromWhen, 7L * amount, zone);
+			case MONTHS:
+				return CalendarMath.addMonths(fromWhen, amount, zone);
+			case YEARS:
+				return CalendarMath.addMonths(fromWhen, 12L * amount, zone);
+			default:
+				//Exact, since nothing else checks a time that is not worked out from its offset.
+				return Math.addExact(fromWhen, amount * unitMillis);
+			}
+		}
+
+		@Override
+		public boolean isDateLevel() {
+			return timeUnit.isDateBased();
+		}
+		
+		@Override
+		public ChronoUnit getSpan() {
+			return timeUnit;
+		}
+		
+		@Override
+		public TimePhraseMatch withQuantity(long quantity) {
+			return new Match(timeUnit, direction, quantity, stretch);
+		}
+		
+		@Override
+		public TimePhraseMatch getNearEnd() {
+			return stretch && amount * direction > 1 ? new Match(timeUnit, direction, 1, true) : this;
+		}
+		
+		/**
+		 * A new match is made for each quantity read, so matches are compared by value. This lets the same phrase
+		 * parsed twice find one entry in a cache keyed by match.
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof Match)){
+				return false;
+			}
+			final Match match = (Match)other;
+			return timeUnit == match.timeUnit && direction == match.direction && amount == match.amount && stretch == match.stretch;
+		}
+		
+		@Override
+		public int hashCode() {
+			return ((timeUnit.hashCode() * 31 + direction) * 31 + Long.hashCode(amount)) * 2 + (stretch ? 1 : 0);
+		}
+	}
 }
@@ -0,0 +1,112 @@
+package timePhrase;
+
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
+
+/**
+ * Resolves one parsed phrase against a column of times.
+ * <br/>
+ * A {@link TimePhraseMatch#isDateLevel() date level} phrase lands on the same date for every time during a day and
+ * keeps the time of day, so it is worked out once per local day. The start and end of each day and the start of its
+ * target date are kept in a small table indexed by the day, and every time in a day that is already in the table costs
+ * a comparison and an addition. Times in order, such as a column of event times, mostly fall in the same day as the
+ * time before them and skip the table as well.
+ * <br/>
+ * Days that do not have 24 hours, and targets that do not, are resolved in full, like {@link java.util.Calendar}
+ * would. Phrases that change the time of day are resolved in full for every time.
+ *
+ * @author akauffman
+ *
+ */
+public final class ColumnResolver {
+	/** Days kept in the table. A power of two. */
+	private static final int TABLE_SIZE = 64;
+	/** Target stored for a day that does not have 24 hours, or whose target date does not. */
+	private static final long IRREGULAR = Long.MIN_VALUE;
+
+	private ColumnResolver(){
+	}
+
+	/**
+	 * Resolves the match against each time. The results may be written over the times, in the same array.
+	 *
+	 * @param match The parsed phrase.
+	 * @param from Times in milliseconds since the epoch that will be modified based on the phrase.
+	 * @param fromOffset Index of the first time.
+	 * @param results Receives the result for each time, in milliseconds since the epoch.
+	 * @param resultOffset Index of the first result.
+	 * @param length Number of times to resolve.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @param weekFields Rules for the first day of the week and the first week of a month or year.
+	 */
+	public static void resolve(TimePhraseMatch match, long[] from, int fromOffset, long[] results, int resultOffset, int length, ZoneTable zone, WeekFields weekFields){
+		if(match == null){
+			throw new NullPointerException("match is null");
+		}
+		if(fromOffset < 0 || resultOffset < 0 || length < 0 || fromOffset + length > from.length || resultOffset + length > results.length){
+			throw new IndexOutOfBoundsException("Range is outside of the arrays");
+		}
+
+		if(!match.isDateLevel()){
+			for(int i = 0; i < length; i++){
+				results[resultOffset + i] = match.getTimeMillis(from[fromOffset + i], zone, weekFields);
+			}
+			return;
+		}
+
+		final long[] days = new long[TABLE_SIZE];
+		final long[] starts = new long[TABLE_SIZE];
+		final long[] ends = new long[TABLE_SIZE];
+		final long[] targets = new long[TABLE_SIZE];
+		Arrays.fill(days, Long.MIN_VALUE);
+
+		//The day of the last time, empty until the first one is looked up.
+		long start = 0;
+		long end = 0;
+		long target = IRREGULAR;
+		for(int i = 0; i < length; i++){
+			final long time = from[fromOffset + i];
+			if(time < start || time >= end){
+				final long epochDay = EpochMath.epochDay(time + zone.getOffsetMillis(time));
+				final int slot = (int)epochDay & (TABLE_SIZE - 1);
+				if(days[slot] != epochDay){
+					days[slot] = epochDay;
+					starts[slot] = zone.toEpochMillis(epochDay * EpochMath.DAY_MILLIS);
+					ends[slot] = zone.toEpochMillis((epochDay + 1) * EpochMath.DAY_MILLIS);
+					targets[slot] = ends[slot] - starts[slot] == EpochMath.DAY_MILLIS ? getTarget(match, starts[slot], zone, weekFields) : IRREGULAR;
+				}
+				start = starts[slot];
+				end = ends[slot];
+				target = targets[slot];
+
+				if(time < start || time >= end){
+					//Midnight happens twice and the time is before the later one.
+					results[resultOffset + i] = match.getTimeMillis(time, zone, weekFields);
+					end = start;
+					continue;
+				}
+			}
+
+			results[resultOffset + i] = target == IRREGULAR ? match.getTimeMillis(time, zone, weekFields) : target + (time - start);
+		}
+	}
+
+	/**
+	 * @param match a date level match.
+	 * @param dayStart the start of a day with 24 hours.
+	 * @return the start of the target date, or IRREGULAR if it is not at midnight or that date does not have 24 hours.
+	 */
+	private static long getTarget(TimePhraseMatch match, long dayStart, ZoneTable zone, WeekFields weekFields){
+		final long target = match.getTimeMillis(dayStart, zone, weekFields);
+		final long local = target + zone.getOffsetMillis(target);
+		if(EpochMath.millisOfDay(local) != 0){
+			return IRREGULAR;
+		}
+
+		final long epochDay = EpochMath.epochDay(local);
+		if(zone.toEpochMillis(epochDay * EpochMath.DAY_MILLIS) != target || zone.toEpochMillis((epochDay + 1) * EpochMath.DAY_MILLIS) - target != EpochMath.DAY_MILLIS){
+			return IRREGULAR;
+		}
+		return target;
+	}
+}
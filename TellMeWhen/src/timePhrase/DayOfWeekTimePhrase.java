@@ -1,9 +1,9 @@
 package timePhrase;
 
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
 import java.util.Calendar;
-import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A phrase that represents either the next or previous occurrence of a specific day of the week.
@@ -13,81 +13,126 @@ import java.util.regex.Pattern;
  * @author akauffman
  *
  */
-public class DayOfWeekTimePhrase implements TimePhrase {
-	/** Phrase regex. Matches Next, Last, This, Previous, or no qualifier, followed by a day of the week. */
-	private static final Pattern DAY_OF_WEEK = Pattern.compile("(NEXT|LAST|THIS|PREVIOUS)?\\s*(SUNDAY|MONDAY|TUESDAY|WEDNESDAY|THURSDAY|FRIDAY|SATURDAY)", Pattern.CASE_INSENSITIVE);
-	/** Matcher that stores results of matching the given time to the pattern. */
-	private Matcher matcher;
+public class DayOfWeekTimePhrase extends AbstractTimePhrase {
+	/** Phrase grammar. Matches Next, Last, This, Previous, or no qualifier, followed by a day of the week. */
+	private static final PhraseGrammar DAY_OF_WEEK = PhraseGrammar.start()
+			.thenOptional(Keyword.NEXT, Keyword.LAST, Keyword.THIS, Keyword.PREVIOUS)
+			.then(Keyword.SUNDAY, Keyword.MONDAY, Keyword.TUESDAY, Keyword.WEDNESDAY, Keyword.THURSDAY, Keyword.FRIDAY, Keyword.SATURDAY);
 	
 	@Override
-	public boolean matches(String time) {
-		matcher = DAY_OF_WEEK.matcher(time);
-		return matcher.matches();
+	public PhraseGrammar getGrammar() {
+		return DAY_OF_WEEK;
 	}
 
 	@Override
-	public Date getTime(Calendar fromWhen) throws IllegalStateException {
-		if(matcher == null){
-			throw new IllegalStateException("No match has been attempted");
-		}
-		if(fromWhen == null){
-			throw new NullPointerException("fromWhen is null");
-		}
-		
-		final Calendar cal = (Calendar)fromWhen.clone();
-
-		final String modifier = matcher.group(1);
-		final int day = getDayOfWeek(matcher.group(2));
+	public TimePhraseMatch createMatch(Keyword[] words) {
+		final Keyword modifier = words[0];
+		final int day = getDayOfWeek(words[1]);
 		
-		boolean lookNext = "NEXT".equals(modifier);
-		boolean lookBack = "LAST".equals(modifier) || "PREVIOUS".equals(modifier);
-		
-		int difference = day - cal.get(Calendar.DAY_OF_WEEK);
-		
-		if(difference >= 0 && lookBack){
-			//If we're looking in the past, and it's before that day in the current week, 
-			//then go back to previous week.
-			difference -= 7;
-		} else if(difference <=0 && !lookBack){
-			//If we're looking in the future, and it's after that day in the current week, 
-			//then go forward to next week.
-			if(difference < 0 || lookNext){
-				difference +=7;
-			}
-		}
-
-		 cal.add(Calendar.DATE, difference);
+		boolean lookNext = modifier == Keyword.NEXT;
+		boolean lookBack = modifier == Keyword.LAST || modifier == Keyword.PREVIOUS;
 		
-		return cal.getTime();
-
+		return new Match(day, lookNext, lookBack);
 	}
 	
 	/**
-	 * Gets the calendar day of the week for the given string representation
+	 * Gets the calendar day of the week for the given keyword
 	 * 
-	 * @param day Plain text string of the day of the week. Ex: MONDAY
+	 * @param day Keyword for the day of the week. Ex: MONDAY
 	 * @return integer representing day of the week.
 	 * @throws Exception
 	 */
-	private int getDayOfWeek(String day) throws IllegalArgumentException{
+	private int getDayOfWeek(Keyword day) throws IllegalArgumentException{
 		switch(day){
-		case "SUNDAY":
+		case SUNDAY:
 			return Calendar.SUNDAY;
-		case "MONDAY":
+		case MONDAY:
 			return Calendar.MONDAY;
-		case "TUESDAY":
+		case TUESDAY:
 			return Calendar.TUESDAY;
-		case "WEDNESDAY":
+		case WEDNESDAY:
 			return Calendar.WEDNESDAY;
-		case "THURSDAY":
+		case THURSDAY:
 			return Calendar.THURSDAY;
-		case "FRIDAY":
+		case FRIDAY:
 			return Calendar.FRIDAY;
-		case "SATURDAY":
+		case SATURDAY:
 			return Calendar.SATURDAY;
 		default:
 			throw new IllegalArgumentException("Expected day of week, but was given " + day);
 		}
 	}
+	
+	/**
+	 * Parsed day of week phrase.
+	 */
+	private static final class Match implements TimePhraseMatch {
+		/** Calendar day of the week that was requested. */
+		private final int day;
+		/** True if the current day should be skipped when looking forward. */
+		private final boolean lookNext;
+		/** True if looking for a previous occurrence of the day. */
+		private final boolean lookBack;
+		
+		private Match(int day, boolean lookNext, boolean lookBack){
+			this.day = day;
+			this.lookNext = lookNext;
+			this.lookBack = lookBack;
+		}
+		
+		@Override
+		public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+			if(fromWhen == null){
+				throw new NullPointerException("fromWhen is null");
+			}
+			
+			//ISO days of the week start at Monday = 1, Calendar days start at Sunday = 1.
+			return CalendarMath.addDays(fromWhen, getDifference(fromWhen.getDayOfWeek().getValue() % 7 + 1));
+		}
+
+		@Override
+		public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+			final long epochDay = EpochMath.epochDay(fromWhen + zone.getOffsetMillis(fromWhen));
+			return CalendarMath.addDays(fromWhen, getDifference(EpochMath.dayOfWeek(epochDay) % 7 + 1), zone);
+		}
+
+		/**
+		 * @param current Calendar day of the week to start from.
+		 * @return the number of days to move.
+		 */
+		private int getDifference(int current){
+			int difference = day - current;
+			
+			if(difference >= 0 && lookBack){
+				//If we're looking in the past, and it's before that day in the current week, 
+				//then go back to previous week.
+				difference -= 7;
+			} else if(difference <=0 && !lookBack){
+				//If we're looking in the future, and it's after that day in the current week, 
+				//then go forward to next week.
+				if(difference < 0 || lookNext){
+					difference +=7;
+				}
+			}
+
+			return difference;
+		}
+
+		@Override
+		public boolean isDateLevel() {
+			return true;
+		}
+		
+		@Override
+		public ChronoUnit getPeriod() {
+			//Next and Last skip a week when applied to the day itself, so only a plain day repeats.
+			return lookNext || lookBack ? null : ChronoUnit.WEEKS;
+		}
+		
+		@Override
+		public ChronoUnit getSpan() {
+			return ChronoUnit.DAYS;
+		}
+	}
 
 }
@@ -0,0 +1,140 @@
+package timePhrase;
+
+/**
+ * Integer arithmetic on days counted from the epoch, 1970-01-01, in the proleptic Gregorian calendar.
+ * <br/>
+ * A date is passed around as a single long, packed as year * 512 + month * 32 + day, so that converting between
+ * epoch days and dates does not allocate.
+ *
+ * @author akauffman
+ *
+ */
+final class EpochMath {
+	/** Milliseconds in a day without a daylight saving change. */
+	static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+	/** Milliseconds in an hour. */
+	static final long HOUR_MILLIS = 60L * 60 * 1000;
+	/** Milliseconds in a minute. */
+	static final long MINUTE_MILLIS = 60L * 1000;
+	/** Milliseconds in a second. */
+	static final long SECOND_MILLIS = 1000L;
+
+	/** Days from 0000-03-01 to 1970-01-01. */
+	private static final long DAYS_0000_TO_1970 = 719468;
+	/** Days in 400 years. */
+	private static final long DAYS_PER_ERA = 146097;
+
+	private EpochMath(){
+	}
+
+	/**
+	 * @param localMillis local milliseconds since the epoch.
+	 * @return the epoch day of the local time.
+	 */
+	static long epochDay(long localMillis){
+		return Math.floorDiv(localMillis, DAY_MILLIS);
+	}
+
+	/**
+	 * @param localMillis local milliseconds since the epoch.
+	 * @return milliseconds since the start of the day.
+	 */
+	static long millisOfDay(long localMillis){
+		return Math.floorMod(localMillis, DAY_MILLIS);
+	}
+
+	/**
+	 * @param epochDay days since the epoch.
+	 * @return the ISO day of the week, Monday = 1 through Sunday = 7.
+	 */
+	static int dayOfWeek(long epochDay){
+		//The epoch was a Thursday.
+		return (int)Math.floorMod(epochDay + 3, 7L) + 1;
+	}
+
+	/**
+	 * @param year year.
+	 * @param month month of the year, 1 through 12.
+	 * @param day day of the month, starting at 1.
+	 * @return the epoch day of the date.
+	 */
+	static long toEpochDay(long year, int month, int day){
+		//Count years from March, so the leap day is the last day of the year.
+		final long marchYear = month <= 2 ? year - 1 : year;
+		final long era = Math.floorDiv(marchYear, 400L);
+		final long yearOfEra = marchYear - era * 400;
+		final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+		return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+	}
+
+	/**
+	 * @param epochDay days since the epoch.
+	 * @return the packed date.
+	 */
+	static long toDate(long epochDay){
+		final long shifted = epochDay + DAYS_0000_TO_1970;
+		final long era = Math.floorDiv(shifted, DAYS_PER_ERA);
+		final long dayOfEra = shifted - era * DAYS_PER_ERA;
+		final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final long marchMonth = (5 * dayOfYear + 2) / 153;
+		final int day = (int)(dayOfYear - (153 * marchMonth + 2) / 5 + 1);
+		final int month = (int)(marchMonth < 10 ? marchMonth + 3 : marchMonth - 9);
+		final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+		return year * 512 + month * 32 + day;
+	}
+
+	/**
+	 * @param date packed date.
+	 * @return the year.
+	 */
+	static long year(long date){
+		return Math.floorDiv(date, 512L);
+	}
+
+	/**
+	 * @param date packed date.
+	 * @return the month of the year, 1 through 12.
+	 */
+	static int month(long date){
+		return (int)Math.floorMod(date, 512L) >> 5;
+	}
+
+	/**
+	 * @param date packed date.
+	 * @return the day of the month.
+	 */
+	static int day(long date){
+		return (int)(date & 31);
+	}
+
+	/**
+	 * @param year year.
+	 * @return true if the year has a February 29th.
+	 */
+	static boolean isLeapYear(long year){
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	/**
+	 * @param year year.
+	 * @param month month of the year, 1 through 12.
+	 * @return the number of days in the month.
+	 */
+	static int lengthOfMonth(long year, int month){
+		switch(month){
+		case 2:
+			return isLeapYear(year) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package timePhrase;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
 
 /**
  * Time phrase for setting a date to the first or last time unit within the reference of another time unit.
@@ -12,67 +15,55 @@ import java.util.regex.Pattern;
  * @author akauffman
  *
  */
-public class FirstLastUnitTimePhrase implements TimePhrase {
-	/** Phrase regex. Matches First or Last followed by a unit of time of another unit of time. Ex. First day of month. */
-	private static final Pattern CHANGE_UNIT = Pattern.compile("^(FIRST|LAST)\\s*(MILLISECOND|SECOND|MINUTE|HOUR|DAY|MONTH)\\s*(?:OF|IN)\\s*(?:THE)?\\s*(SECOND|MINUTE|HOUR|DAY|WEEK|MONTH|YEAR)", Pattern.CASE_INSENSITIVE);
-	/** Matcher that stores results of matching the given time to the pattern. */
-	private Matcher matcher;
+public class FirstLastUnitTimePhrase extends AbstractTimePhrase {
+	/** Phrase grammar. Matches First or Last followed by a unit of time of another unit of time. Ex. First day of month. */
+	private static final PhraseGrammar CHANGE_UNIT = PhraseGrammar.start()
+			.then(Keyword.FIRST, Keyword.LAST)
+			.then(Keyword.MILLISECOND, Keyword.SECOND, Keyword.MINUTE, Keyword.HOUR, Keyword.DAY, Keyword.MONTH)
+			.then(Keyword.OF, Keyword.IN)
+			.thenOptional(Keyword.THE)
+			.then(Keyword.SECOND, Keyword.MINUTE, Keyword.HOUR, Keyword.DAY, Keyword.WEEK, Keyword.MONTH, Keyword.YEAR);
 	/** Array of supported time units in order from largest to smallest. */
-	private static final int[] TIME_UNITS = {Calendar.YEAR, Calendar.MONTH, Calendar.WEEK_OF_YEAR, Calendar.DATE, Calendar.HOUR_OF_DAY, Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND};
+	private static final ChronoUnit[] TIME_UNITS = {ChronoUnit.YEARS, ChronoUnit.MONTHS, ChronoUnit.WEEKS, ChronoUnit.DAYS, ChronoUnit.HOURS, ChronoUnit.MINUTES, ChronoUnit.SECONDS, ChronoUnit.MILLIS};
 	
 	@Override
-	public boolean matches(String time) {
-		this.matcher = CHANGE_UNIT.matcher(time);
-		return matcher.matches();
+	public PhraseGrammar getGrammar() {
+		return CHANGE_UNIT;
 	}
 
 	@Override
-	public Date getTime(Calendar fromWhen) throws IllegalStateException {
-		if(matcher==null){
-			throw new IllegalStateException("No match has been attempted");
-		}
-		if(fromWhen == null){
-			throw new NullPointerException("fromWhen is null");
-		}
-		
-		final Calendar cal = (Calendar)fromWhen.clone();
-		final String changeDirection = matcher.group(1);
-		final int changeUnit = getTimeField(matcher.group(2));
-		final int containerUnit = getTimeField(matcher.group(3));
+	public TimePhraseMatch createMatch(Keyword[] words) {
+		final Keyword changeDirection = words[0];
+		final ChronoUnit changeUnit = getTimeUnit(words[1]);
+		final ChronoUnit containerUnit = getTimeUnit(words[4]);
 		
-		if("FIRST".equals(changeDirection)){
-			changeDate(cal, changeUnit, containerUnit, true);
-		} else if("LAST".equals(changeDirection)){
-			changeDate(cal, changeUnit, containerUnit, false);
-		}
-		
-		return cal.getTime();
+		return new Match(changeUnit, containerUnit, changeDirection == Keyword.FIRST);
 	}
 
 	/**
-	 * Returns the calendar time field for the given time unit.
+	 * Returns the {@link ChronoUnit} for the given time unit.
 	 * 
 	 * @param timeUnit
 	 * @return
 	 */
-	private int getTimeField(String timeUnit){
+	private ChronoUnit getTimeUnit(Keyword timeUnit){
 		switch(timeUnit){
-		case "MILLISECOND":
-			return Calendar.MILLISECOND;
-		case "SECOND":
-			return Calendar.SECOND;
-		case "MINUTE":
-			return Calendar.MINUTE;
-		case "HOUR":
-			return Calendar.HOUR_OF_DAY;
-		case "DAY":
-			return Calendar.DATE;
-		case "WEEK":
-			return Calendar.WEEK_OF_YEAR;
-		case "MONTH":
-			return Calendar.MONTH;
-		case "YEAR":
-			return Calendar.YEAR;
+		case MILLISECOND:
+			return ChronoUnit.MILLIS;
+		case SECOND:
+			return ChronoUnit.SECONDS;
+		case MINUTE:
+			return ChronoUnit.MINUTES;
+		case HOUR:
+			return ChronoUnit.HOURS;
+		case DAY:
+			return ChronoUnit.DAYS;
+		case WEEK:
+			return ChronoUnit.WEEKS;
+		case MONTH:
+			return ChronoUnit.MONTHS;
+		case YEAR:
+			return ChronoUnit.YEARS;
 		default:
 			throw new IllegalArgumentException("Not a valid time unit.");
 		}
@@ -80,42 +71,36 @@ public class FirstLastUnitTimePhrase implements TimePhrase {
 	
 	
 	/**
-	 * Changes the calendar to the maximum or minimum chosen time unit within the chosen container time unit. All time
+	 * Changes the date to the maximum or minimum chosen time unit within the chosen container time unit. All time
 	 * units between the chosen unit and the container unit will also be modified. The
 	 * value may be dependent on the container unit. For instance the maximum day within a week is different than
 	 * the maximum day within the month.
 	 * 
 	 * 
-	 * @param cal The {@link Calendar} that will be altered as a result of this operation.
+	 * @param date The date that will be changed.
 	 * @param changeUnit The chosen time unit that will be set to the maximum or minimum value.
 	 * @param containerUnit The time unit that will be the reference point for the changeUnit.
 	 * @param setMin True if we are setting fields to minimum values, false if setting to maximum.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the changed date.
 	 */
-	private void changeDate(Calendar cal, int changeUnit, int containerUnit, boolean setMin){
-		cal.setMinimalDaysInFirstWeek(1);
-		
+	private static ZonedDateTime changeDate(ZonedDateTime date, ChronoUnit changeUnit, ChronoUnit containerUnit, boolean setMin, WeekFields weekFields){
 		boolean foundContainerUnit = false;
 		for(int i = 0; i < TIME_UNITS.length; i++){
-			int timeUnit = TIME_UNITS[i];
+			ChronoUnit timeUnit = TIME_UNITS[i];
 			
-			if(timeUnit != Calendar.WEEK_OF_YEAR){
+			if(timeUnit != ChronoUnit.WEEKS){
 				//Week is not really useful in determining the date unless the user
 				//has specifically asked for a certain week. Therefore we will skip the week
 				//unless requested.
 				
 				
 				if(foundContainerUnit){
-					final int calendarUnit = getCalendarUnitToChange(timeUnit, containerUnit);
-					cal.get(Calendar.MONTH); //Force calendar to recompute internal state.
-					if(setMin){
-						cal.set(calendarUnit, cal.getActualMinimum(calendarUnit));
-					} else { //Set to maximum value
-						cal.set(calendarUnit, cal.getActualMaximum(calendarUnit));
-					}
+					date = CalendarMath.set(date, setUnit(date.toLocalDateTime(), timeUnit, containerUnit, setMin, weekFields));
 				}
 				
 				if(timeUnit == changeUnit){
-					return;
+					return date;
 				}
 			}
 			
@@ -127,26 +112,291 @@ public class FirstLastUnitTimePhrase implements TimePhrase {
 	}
 	
 	/**
-	 * Gets the corrected {@link Calendar} time unit to change based on the container unit.
+	 * Sets the time unit to its maximum or minimum value based on the container unit.
 	 * For instance Day could be Day within a week, month or year.
 	 * 
+	 * @param date The local date that will be changed.
 	 * @param timeUnit The time unit phrase that will change.
 	 * @param containerUnit The container time unit used as a reference point for changing the timeUnit.
-	 * @return corrected Calendar time unit.
+	 * @param setMin True if setting to the minimum value, false if setting to the maximum.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the changed date.
 	 */
-	private int getCalendarUnitToChange(int timeUnit, int containerUnit){
-		//Special case with date. It may be day within a week, month or year.
-		if(Calendar.DATE == timeUnit){
+	private static LocalDateTime setUnit(LocalDateTime date, ChronoUnit timeUnit, ChronoUnit containerUnit, boolean setMin, WeekFields weekFields){
+		switch(timeUnit){
+		case MONTHS:
+			return date.withMonth(setMin ? 1 : 12);
+		case DAYS:
+			//Special case with date. It may be day within a week, month or year.
 			switch(containerUnit){
-			case Calendar.WEEK_OF_YEAR:
-				return Calendar.DAY_OF_WEEK;
-			case Calendar.MONTH:
-				return Calendar.DAY_OF_MONTH;
-			case Calendar.YEAR:
-				return Calendar.DAY_OF_YEAR;
+			case WEEKS:
+				//Sunday is the first day and Saturday the last, wherever the locale starts its week.
+				final DayOfWeek firstDay = weekFields.getFirstDayOfWeek();
+				final DayOfWeek day = setMin ? DayOfWeek.SUNDAY : DayOfWeek.SATURDAY;
+				return date.with(TemporalAdjusters.previousOrSame(firstDay)).with(TemporalAdjusters.nextOrSame(day));
+			case MONTHS:
+				return date.withDayOfMonth(setMin ? 1 : date.toLocalDate().lengthOfMonth());
+			default:
+				return date.withDayOfYear(setMin ? 1 : date.toLocalDate().lengthOfYear());
+			}
+		case HOURS:
+			return date.withHour(setMin ? 0 : 23);
+		case MINUTES:
+			return date.withMinute(setMin ? 0 : 59);
+		case SECONDS:
+			return date.withSecond(setMin ? 0 : 59);
+		case MILLIS:
+			return date.with(ChronoField.MILLI_OF_SECOND, setMin ? 0 : 999);
+		default:
+			throw new IllegalArgumentException("Unable to change unit " + timeUnit);
+		}
+	}
+	
+	/**
+	 * Same as {@link #changeDate(ZonedDateTime, ChronoUnit, ChronoUnit, boolean, WeekFields)} on milliseconds since
+	 * the epoch. Rather than set one unit at a time, the new date and time of day are worked out directly from the
+	 * local time, so the time zone is looked up once each way whatever the units. Where the offset changes near
+	 * the days that are set, this falls back to {@link #changeTimeByUnit(long, ChronoUnit, ChronoUnit, boolean, ZoneTable, WeekFields)}.
+	 * 
+	 * @param time The time that will be changed.
+	 * @param changeUnit The chosen time unit that will be set to the maximum or minimum value.
+	 * @param containerUnit The time unit that will be the reference point for the changeUnit.
+	 * @param setMin True if we are setting fields to minimum values, false if setting to maximum.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the changed time.
+	 */
+	private static long changeTime(long time, ChronoUnit changeUnit, ChronoUnit containerUnit, boolean setMin, ZoneTable zone, WeekFields weekFields){
+		if(changeUnit.compareTo(containerUnit) >= 0){
+			//Nothing is smaller than the container, so nothing changes.
+			return time;
+		}
+		
+		final long local = time + zone.getOffsetMillis(time);
+		final long epochDay = changeDay(EpochMath.epochDay(local), changeUnit, containerUnit, setMin, weekFields);
+		//Setting the month first moves to the same day of January or December, so it stays in the month of the result.
+		final long firstDay = containerUnit == ChronoUnit.YEARS ? epochDay - EpochMath.day(EpochMath.toDate(epochDay)) + 1 : epochDay;
+		final long lastDay = containerUnit == ChronoUnit.YEARS ? firstDay + 30 : epochDay;
+		final int offset = zone.getFixedOffsetMillis(firstDay * EpochMath.DAY_MILLIS, (lastDay + 1) * EpochMath.DAY_MILLIS);
+		if(offset == ZoneTable.NO_FIXED_OFFSET){
+			return changeTimeByUnit(time, changeUnit, containerUnit, setMin, zone, weekFields);
+		}
+		long millisOfDay = EpochMath.millisOfDay(local);
+		
+		if(changeUnit.isTimeBased()){
+			//Keep what is above the container and below the change unit, and set everything in between.
+			final long containerMillis = containerUnit.isTimeBased() ? containerUnit.getDuration().toMillis() : EpochMath.DAY_MILLIS;
+			final long changeMillis = changeUnit.getDuration().toMillis();
+			millisOfDay += (setMin ? 0 : containerMillis - changeMillis) - millisOfDay % containerMillis + millisOfDay % changeMillis;
+		}
+		
+		return epochDay * EpochMath.DAY_MILLIS + millisOfDay - offset;
+	}
+	
+	/**
+	 * Sets the month and day of a date the way {@link #setUnit(LocalDateTime, ChronoUnit, ChronoUnit, boolean, WeekFields)}
+	 * does for each unit from the container down to the change unit.
+	 * 
+	 * @param epochDay The date that will be changed.
+	 * @param changeUnit The chosen time unit, which is smaller than the container.
+	 * @param containerUnit The time unit that will be the reference point for the changeUnit.
+	 * @param setMin True if setting to the minimum value, false if setting to the maximum.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the changed epoch day.
+	 */
+	private static long changeDay(long epochDay, ChronoUnit changeUnit, ChronoUnit containerUnit, boolean setMin, WeekFields weekFields){
+		switch(containerUnit){
+		case YEARS:
+			final long date = EpochMath.toDate(epochDay);
+			if(changeUnit == ChronoUnit.MONTHS){
+				//January and December both have 31 days, so the day of the month always fits.
+				return EpochMath.toEpochDay(EpochMath.year(date), setMin ? 1 : 12, EpochMath.day(date));
 			}
+			return EpochMath.toEpochDay(EpochMath.year(date), setMin ? 1 : 12, setMin ? 1 : 31);
+		case MONTHS:
+			final long monthDate = EpochMath.toDate(epochDay);
+			final int dayOfMonth = EpochMath.day(monthDate);
+			return epochDay - dayOfMonth + (setMin ? 1 : EpochMath.lengthOfMonth(EpochMath.year(monthDate), EpochMath.month(monthDate)));
+		case WEEKS:
+			//Sunday is the first day and Saturday the last, wherever the locale starts its week.
+			final int firstDay = weekFields.getFirstDayOfWeek().getValue();
+			return weekStart(epochDay, weekFields) + Math.floorMod((setMin ? DayOfWeek.SUNDAY : DayOfWeek.SATURDAY).getValue() - firstDay, 7);
+		default:
+			return epochDay;
+		}
+	}
+	
+	/**
+	 * @param epochDay A day in the week.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the epoch day of the first day of the week.
+	 */
+	private static long weekStart(long epochDay, WeekFields weekFields){
+		return epochDay - Math.floorMod(EpochMath.dayOfWeek(epochDay) - weekFields.getFirstDayOfWeek().getValue(), 7);
+	}
+	
+	/**
+	 * Gets the unit of time around the given time, from its first millisecond up to the first millisecond of the
+	 * next one. Both ends are worked out from one look up of the local time, with
+	 * {@link #changeDay(long, ChronoUnit, ChronoUnit, boolean, WeekFields)} for the first and last day of a month or
+	 * year. A week starts on the first day of the week of the locale, rather than running from Sunday to Saturday
+	 * as the first and last day of the week do, so that it is one week long everywhere.
+	 * 
+	 * @param time The time in milliseconds since the epoch.
+	 * @param unit The unit of time.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the interval of the unit that holds the time.
+	 */
+	static TimeInterval getInterval(long time, ChronoUnit unit, ZoneTable zone, WeekFields weekFields){
+		final long local = time + zone.getOffsetMillis(time);
+		if(unit.isTimeBased()){
+			//Units smaller than a day are a fixed length, so they are counted from the time itself, which keeps an
+			//hour that happens twice when the clocks go back apart from the other.
+			final long unitMillis = unit.getDuration().toMillis();
+			final long start = time - Math.floorMod(local, unitMillis);
+			return new TimeInterval(start, start + unitMillis);
 		}
 		
-		return timeUnit;
+		final long epochDay = EpochMath.epochDay(local);
+		final long firstDay;
+		final long lastDay;
+		if(unit == ChronoUnit.WEEKS){
+			firstDay = weekStart(epochDay, weekFields);
+			lastDay = firstDay + 6;
+		} else {
+			firstDay = changeDay(epochDay, ChronoUnit.DAYS, unit, true, weekFields);
+			lastDay = changeDay(epochDay, ChronoUnit.DAYS, unit, false, weekFields);
+		}
+		return new TimeInterval(zone.toEpochMillis(firstDay * EpochMath.DAY_MILLIS), zone.toEpochMillis((lastDay + 1) * EpochMath.DAY_MILLIS));
+	}
+	
+	/**
+	 * Same as {@link #changeDate(ZonedDateTime, ChronoUnit, ChronoUnit, boolean, WeekFields)} on milliseconds since
+	 * the epoch, setting one unit at a time. Each unit that is set converts the local time back to the epoch, so a
+	 * local time skipped by the clocks going forward part of the way through moves the result just as it would for
+	 * a {@link java.util.Calendar}.
+	 * 
+	 * @param time The time that will be changed.
+	 * @param changeUnit The chosen time unit that will be set to the maximum or minimum value.
+	 * @param containerUnit The time unit that will be the reference point for the changeUnit.
+	 * @param setMin True if we are setting fields to minimum values, false if setting to maximum.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the changed time.
+	 */
+	private static long changeTimeByUnit(long time, ChronoUnit changeUnit, ChronoUnit containerUnit, boolean setMin, ZoneTable zone, WeekFields weekFields){
+		boolean foundContainerUnit = false;
+		for(int i = 0; i < TIME_UNITS.length; i++){
+			ChronoUnit timeUnit = TIME_UNITS[i];
+			
+			if(timeUnit != ChronoUnit.WEEKS){
+				if(foundContainerUnit){
+					time = zone.toEpochMillis(setUnit(time + zone.getOffsetMillis(time), timeUnit, containerUnit, setMin, weekFields));
+				}
+				
+				if(timeUnit == changeUnit){
+					return time;
+				}
+			}
+			
+			foundContainerUnit = foundContainerUnit || (timeUnit == containerUnit);
+		}
+		
+		throw new IllegalArgumentException("Unable to change unit " + changeUnit + " within " + containerUnit);
+	}
+	
+	/**
+	 * Same as {@link #setUnit(LocalDateTime, ChronoUnit, ChronoUnit, boolean, WeekFields)} on local milliseconds since the epoch.
+	 * 
+	 * @param local The local time that will be changed.
+	 * @param timeUnit The time unit phrase that will change.
+	 * @param containerUnit The container time unit used as a reference point for changing the timeUnit.
+	 * @param setMin True if setting to the minimum value, false if setting to the maximum.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the changed local time.
+	 */
+	private static long setUnit(long local, ChronoUnit timeUnit, ChronoUnit containerUnit, boolean setMin, WeekFields weekFields){
+		final long epochDay = EpochMath.epochDay(local);
+		final long millisOfDay = EpochMath.millisOfDay(local);
+		final long date = EpochMath.toDate(epochDay);
+		
+		switch(timeUnit){
+		case MONTHS:
+			return EpochMath.toEpochDay(EpochMath.year(date), setMin ? 1 : 12, EpochMath.day(date)) * EpochMath.DAY_MILLIS + millisOfDay;
+		case DAYS:
+			final long day;
+			switch(containerUnit){
+			case WEEKS:
+				//Sunday is the first day and Saturday the last, wherever the locale starts its week.
+				final int firstDay = weekFields.getFirstDayOfWeek().getValue();
+				day = weekStart(epochDay, weekFields) + Math.floorMod((setMin ? DayOfWeek.SUNDAY : DayOfWeek.SATURDAY).getValue() - firstDay, 7);
+				break;
+			case MONTHS:
+				day = EpochMath.toEpochDay(EpochMath.year(date), EpochMath.month(date), setMin ? 1 : EpochMath.lengthOfMonth(EpochMath.year(date), EpochMath.month(date)));
+				break;
+			default:
+				day = EpochMath.toEpochDay(EpochMath.year(date), setMin ? 1 : 12, setMin ? 1 : 31);
+				break;
+			}
+			return day * EpochMath.DAY_MILLIS + millisOfDay;
+		case HOURS:
+			return local + ((setMin ? 0 : 23) - millisOfDay / EpochMath.HOUR_MILLIS) * EpochMath.HOUR_MILLIS;
+		case MINUTES:
+			return local + ((setMin ? 0 : 59) - millisOfDay / EpochMath.MINUTE_MILLIS % 60) * EpochMath.MINUTE_MILLIS;
+		case SECONDS:
+			return local + ((setMin ? 0 : 59) - millisOfDay / EpochMath.SECOND_MILLIS % 60) * EpochMath.SECOND_MILLIS;
+		case MILLIS:
+			return local + ((setMin ? 0 : 999) - millisOfDay % EpochMath.SECOND_MILLIS);
+		default:
+			throw new IllegalArgumentException("Unable to change unit " + timeUnit);
+		}
+	}
+	
+	/**
+	 * Parsed first or last unit phrase.
+	 */
+	private static final class Match implements TimePhraseMatch {
+		/** The time unit that will be set to the maximum or minimum value. */
+		private final ChronoUnit changeUnit;
+		/** The time unit that will be the reference point for the changeUnit. */
+		private final ChronoUnit containerUnit;
+		/** True if setting fields to minimum values, false if setting to maximum. */
+		private final boolean setMin;
+		
+		private Match(ChronoUnit changeUnit, ChronoUnit containerUnit, boolean setMin){
+			this.changeUnit = changeUnit;
+			this.containerUnit = containerUnit;
+			this.setMin = setMin;
+		}
+		
+		@Override
+		public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+			if(fromWhen == null){
+				throw new NullPointerException("fromWhen is null");
+			}
+			
+			return changeDate(fromWhen, changeUnit, containerUnit, setMin, weekFields);
+		}
+
+		@Override
+		public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+			return changeTime(fromWhen, changeUnit, containerUnit, setMin, zone, weekFields);
+		}
+
+		@Override
+		public boolean isDateLevel() {
+			return changeUnit.isDateBased() && containerUnit.isDateBased();
+		}
+		
+		@Override
+		public ChronoUnit getPeriod() {
+			return changeUnit.compareTo(containerUnit) < 0 ? containerUnit : null;
+		}
+		
+		@Override
+		public ChronoUnit getSpan() {
+			return changeUnit.compareTo(containerUnit) < 0 ? changeUnit : null;
+		}
 	}
 }
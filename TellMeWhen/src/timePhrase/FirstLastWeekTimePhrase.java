@@ -1,9 +1,11 @@
 package timePhrase;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
 
 /**
  * Phrase the represents the first or last week of the given month or year. Ex: If the given date was Monday, then
@@ -13,67 +15,156 @@ import java.util.regex.Pattern;
  * @author akauffman
  *
  */
-public class FirstLastWeekTimePhrase implements TimePhrase {
-	/** Phrase regex. Matches First or Last followed week followed by month or year*/
-	private static final Pattern CHANGE_UNIT = Pattern.compile("^(FIRST|LAST)\\s*WEEK\\s*(?:OF|IN)\\s*(?:THE)?\\s*(MONTH|YEAR)", Pattern.CASE_INSENSITIVE);
-	/** Matcher that stores results of matching the given time to the pattern. */
-	private Matcher matcher;
+public class FirstLastWeekTimePhrase extends AbstractTimePhrase {
+	/** Phrase grammar. Matches First or Last followed week followed by month or year*/
+	private static final PhraseGrammar CHANGE_UNIT = PhraseGrammar.start()
+			.then(Keyword.FIRST, Keyword.LAST)
+			.then(Keyword.WEEK)
+			.then(Keyword.OF, Keyword.IN)
+			.thenOptional(Keyword.THE)
+			.then(Keyword.MONTH, Keyword.YEAR);
+	/** Week used for the last week of the month. Matches one less than the maximum week of the month of a Calendar. */
+	private static final int LAST_WEEK_OF_MONTH = 5;
+	/** Week used for the last week of the year. Matches the maximum week of the year of a Calendar. */
+	private static final int LAST_WEEK_OF_YEAR = 53;
 
 	@Override
-	public boolean matches(String time) {
-		this.matcher = CHANGE_UNIT.matcher(time);
-		return matcher.matches();
+	public PhraseGrammar getGrammar() {
+		return CHANGE_UNIT;
 	}
 
 	@Override
-	public Date getTime(Calendar fromWhen) throws IllegalStateException {
-		if(matcher==null){
-			throw new IllegalStateException("No match has been attempted");
-		}
-		if(fromWhen == null){
-			throw new NullPointerException("fromWhen is null");
-		}
-		
-		final Calendar cal = (Calendar)fromWhen.clone();
-		final String changeDirection = matcher.group(1);
-		final String containerUnit = matcher.group(2);
-		
-		if("MONTH".equals(containerUnit)){
-			changeWeekInMonth(cal, changeDirection);
-		} else {
-			changeWeekInYear(cal, changeDirection);
-		}
-		
-		return cal.getTime();
+	public TimePhraseMatch createMatch(Keyword[] words) {
+		return new Match(words[0], words[4] == Keyword.MONTH);
 	}
 	
 	/**
 	 * Changes the date to the first or last week of the month.
 	 * 
-	 * @param cal {@link Calendar} that will be altered.
+	 * @param date The date that will be changed.
 	 * @param changeDirection Indicates if this will be the first or last week.
+	 * @param weekFields Rules for the first day of the week and the first week of the month.
+	 * @return the changed date.
 	 */
-	private void changeWeekInMonth(Calendar cal, String changeDirection){
-		cal.get(Calendar.MONTH);
-		if("FIRST".equals(changeDirection)){
-			cal.set(Calendar.WEEK_OF_MONTH, 1);
-		} else {
-			cal.set(Calendar.WEEK_OF_MONTH, cal.getMaximum(Calendar.WEEK_OF_MONTH)-1);
-		}
+	private static ZonedDateTime changeWeekInMonth(ZonedDateTime date, Keyword changeDirection, WeekFields weekFields){
+		final int week = changeDirection == Keyword.FIRST ? 1 : LAST_WEEK_OF_MONTH;
+		return changeWeek(date, date.toLocalDate().withDayOfMonth(1), week, weekFields);
 	}
 	
 	/**
 	 * Changes the date to the first or last week of the year.
 	 * 
-	 * @param cal {@link Calendar} that will be altered.
+	 * @param date The date that will be changed.
 	 * @param changeDirection Indicates if this will be the first or last week.
+	 * @param weekFields Rules for the first day of the week and the first week of the year.
+	 * @return the changed date.
+	 */
+	private static ZonedDateTime changeWeekInYear(ZonedDateTime date, Keyword changeDirection, WeekFields weekFields){
+		final int week = changeDirection == Keyword.FIRST ? 1 : LAST_WEEK_OF_YEAR;
+		return changeWeek(date, date.toLocalDate().withDayOfYear(1), week, weekFields);
+	}
+	
+	/**
+	 * Moves the date to the same day of the week in the given week of a month or year. Week 1 is the first week
+	 * that has at least the minimal days of the month or year in it. Weeks past the end of the month or year
+	 * carry on into the next one.
+	 * 
+	 * @param date The date that will be changed.
+	 * @param firstDay First day of the month or year.
+	 * @param week Week of the month or year.
+	 * @param weekFields Rules for the first day of the week and the first week.
+	 * @return the changed date.
+	 */
+	private static ZonedDateTime changeWeek(ZonedDateTime date, LocalDate firstDay, int week, WeekFields weekFields){
+		LocalDate firstWeek = firstDay.plusDays(6).with(TemporalAdjusters.previousOrSame(weekFields.getFirstDayOfWeek()));
+		if(ChronoUnit.DAYS.between(firstDay, firstWeek) >= weekFields.getMinimalDaysInFirstWeek()){
+			//Enough days before the first full week to count as a week.
+			firstWeek = firstWeek.minusWeeks(1);
+		}
+		
+		final LocalDate day = firstWeek.plusWeeks(week - 1).with(TemporalAdjusters.nextOrSame(date.getDayOfWeek()));
+		
+		return CalendarMath.set(date, LocalDateTime.of(day, date.toLocalTime()));
+	}
+	
+	/**
+	 * Same as {@link #changeWeek(ZonedDateTime, LocalDate, int, WeekFields)} on milliseconds since the epoch.
+	 * 
+	 * @param time The time that will be changed.
+	 * @param inMonth True for a week of the month, false for a week of the year.
+	 * @param week Week of the month or year.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week and the first week.
+	 * @return the changed time.
 	 */
-	private void changeWeekInYear(Calendar cal, String changeDirection){
-		cal.get(Calendar.MONTH);
-		if("FIRST".equals(changeDirection)){
-			cal.set(Calendar.WEEK_OF_YEAR, cal.getMinimum(Calendar.WEEK_OF_YEAR));
-		} else {
-			cal.set(Calendar.WEEK_OF_YEAR, cal.getMaximum(Calendar.WEEK_OF_YEAR));
+	private static long changeWeek(long time, boolean inMonth, int week, ZoneTable zone, WeekFields weekFields){
+		final long local = time + zone.getOffsetMillis(time);
+		final long epochDay = EpochMath.epochDay(local);
+		final long date = EpochMath.toDate(epochDay);
+		final long firstDay = EpochMath.toEpochDay(EpochMath.year(date), inMonth ? EpochMath.month(date) : 1, 1);
+		
+		long firstWeek = firstDay + 6;
+		firstWeek -= Math.floorMod(EpochMath.dayOfWeek(firstWeek) - weekFields.getFirstDayOfWeek().getValue(), 7);
+		if(firstWeek - firstDay >= weekFields.getMinimalDaysInFirstWeek()){
+			//Enough days before the first full week to count as a week.
+			firstWeek -= 7;
+		}
+		
+		final long weekStart = firstWeek + 7L * (week - 1);
+		final long day = weekStart + Math.floorMod(EpochMath.dayOfWeek(epochDay) - EpochMath.dayOfWeek(weekStart), 7);
+		
+		return zone.toEpochMillis(day * EpochMath.DAY_MILLIS + EpochMath.millisOfDay(local));
+	}
+	
+	/**
+	 * Parsed first or last week phrase.
+	 */
+	private static final class Match implements TimePhraseMatch {
+		/** Indicates if this will be the first or last week. */
+		private final Keyword changeDirection;
+		/** True if the week is within the month, false if within the year. */
+		private final boolean inMonth;
+		
+		private Match(Keyword changeDirection, boolean inMonth){
+			this.changeDirection = changeDirection;
+			this.inMonth = inMonth;
+		}
+		
+		@Override
+		public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+			if(fromWhen == null){
+				throw new NullPointerException("fromWhen is null");
+			}
+			
+			if(inMonth){
+				return changeWeekInMonth(fromWhen, changeDirection, weekFields);
+			} else {
+				return changeWeekInYear(fromWhen, changeDirection, weekFields);
+			}
+		}
+
+		@Override
+		public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+			if(inMonth){
+				return changeWeek(fromWhen, true, changeDirection == Keyword.FIRST ? 1 : LAST_WEEK_OF_MONTH, zone, weekFields);
+			} else {
+				return changeWeek(fromWhen, false, changeDirection == Keyword.FIRST ? 1 : LAST_WEEK_OF_YEAR, zone, weekFields);
+			}
+		}
+
+		@Override
+		public boolean isDateLevel() {
+			return true;
+		}
+		
+		@Override
+		public ChronoUnit getPeriod() {
+			return inMonth ? ChronoUnit.MONTHS : ChronoUnit.YEARS;
+		}
+		
+		@Override
+		public ChronoUnit getSpan() {
+			return ChronoUnit.WEEKS;
 		}
 	}
 
@@ -0,0 +1,114 @@
+package timePhrase;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes times as ISO-8601 text with milliseconds and an offset, such as 2015-04-09T01:01:01.000-04:00, straight
+ * into a char array. This is the same text as {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} gives for a time with
+ * milliseconds, except that the milliseconds are always written.
+ * <br/>
+ * Years from 0 to 9999 are written without allocating.
+ * <br/>
+ * Also reads the times that phrases are resolved from, such as the from time of Main and of the server.
+ *
+ * @author akauffman
+ *
+ */
+public final class IsoFormat {
+	/** Most characters written for one time. */
+	public static final int MAX_LENGTH = 40;
+
+	/** Formats times outside of the years 0 to 9999. */
+	private static final DateTimeFormatter LONG_YEARS = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSXXXXX");
+
+	private IsoFormat(){
+	}
+
+	/**
+	 * @param time milliseconds since the epoch.
+	 * @param zone the time zone the time is written in.
+	 * @param buffer receives the text. Must have room for {@link #MAX_LENGTH} characters from the offset.
+	 * @param offset index of the first character.
+	 * @return the index after the last character written.
+	 */
+	public static int format(long time, ZoneTable zone, char[] buffer, int offset){
+		final int offsetMillis = zone.getOffsetMillis(time);
+		final long local = time + offsetMillis;
+		final long date = EpochMath.toDate(EpochMath.epochDay(local));
+		final long year = EpochMath.year(date);
+		if(year < 0 || year > 9999){
+			final String text = LONG_YEARS.format(Instant.ofEpochMilli(time).atOffset(ZoneOffset.ofTotalSeconds(offsetMillis / 1000)).truncatedTo(ChronoUnit.MILLIS));
+			text.getChars(0, text.length(), buffer, offset);
+			return offset + text.length();
+		}
+
+		final int millisOfDay = (int)EpochMath.millisOfDay(local);
+		int pos = offset;
+		pos = digits((int)year, 4, buffer, pos);
+		buffer[pos++] = '-';
+		pos = digits(EpochMath.month(date), 2, buffer, pos);
+		buffer[pos++] = '-';
+		pos = digits(EpochMath.day(date), 2, buffer, pos);
+		buffer[pos++] = 'T';
+		pos = digits(millisOfDay / 3600000, 2, buffer, pos);
+		buffer[pos++] = ':';
+		pos = digits(millisOfDay / 60000 % 60, 2, buffer, pos);
+		buffer[pos++] = ':';
+		pos = digits(millisOfDay / 1000 % 60, 2, buffer, pos);
+		buffer[pos++] = '.';
+		pos = digits(millisOfDay % 1000, 3, buffer, pos);
+
+		if(offsetMillis == 0){
+			buffer[pos++] = 'Z';
+			return pos;
+		}
+
+		final int offsetSeconds = Math.abs(offsetMillis / 1000);
+		buffer[pos++] = offsetMillis < 0 ? '-' : '+';
+		pos = digits(offsetSeconds / 3600, 2, buffer, pos);
+		buffer[pos++] = ':';
+		pos = digits(offsetSeconds / 60 % 60, 2, buffer, pos);
+		if(offsetSeconds % 60 != 0){
+			buffer[pos++] = ':';
+			pos = digits(offsetSeconds % 60, 2, buffer, pos);
+		}
+		return pos;
+	}
+
+	/**
+	 * @param time epoch milliseconds, an ISO-8601 time with an offset or zone, or an ISO-8601 local time in the zone.
+	 * @param zone the time zone of a local time.
+	 * @return milliseconds since the epoch.
+	 * @throws DateTimeException if the time is not ISO-8601.
+	 * @throws NumberFormatException if the epoch milliseconds do not fit in a long.
+	 */
+	public static long parse(String time, ZoneId zone){
+		if(time.matches("-?\\d+")){
+			return Long.parseLong(time);
+		}
+		try {
+			return Instant.from(DateTimeFormatter.ISO_DATE_TIME.parse(time)).toEpochMilli();
+		} catch (DateTimeException e) {
+			return LocalDateTime.parse(time).atZone(zone).toInstant().toEpochMilli();
+		}
+	}
+
+	/**
+	 * Writes a number padded with zeros.
+	 *
+	 * @return the index after the last digit.
+	 */
+	private static int digits(int value, int width, char[] buffer, int offset){
+		for(int i = offset + width - 1; i >= offset; i--){
+			buffer[i] = (char)('0' + value % 10);
+			value /= 10;
+		}
+		return offset + width;
+	}
+}
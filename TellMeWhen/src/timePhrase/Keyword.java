@@ -0,0 +1,84 @@
+package timePhrase;
+
+/**
+ * The words that {@link TimePhrase} grammars are made of. Each keyword may be spelled several ways, such as
+ * a full word, its plural and its common abbreviations.
+ * 
+ * @author akauffman
+ *
+ */
+public enum Keyword {
+	NEXT("NEXT"),
+	LAST("LAST"),
+	THIS("THIS"),
+	PREVIOUS("PREVIOUS"),
+	FIRST("FIRST"),
+	
+	NOW("NOW"),
+	TODAY("TODAY"),
+	TOMORROW("TOMORROW"),
+	YESTERDAY("YESTERDAY"),
+	
+	SUNDAY("SUNDAY", "SUN"),
+	MONDAY("MONDAY", "MON"),
+	TUESDAY("TUESDAY", "TUES", "TUE"),
+	WEDNESDAY("WEDNESDAY", "WED"),
+	THURSDAY("THURSDAY", "THURS", "THUR", "THU"),
+	FRIDAY("FRIDAY", "FRI"),
+	SATURDAY("SATURDAY", "SAT"),
+	
+	JANUARY("JANUARY", "JAN"),
+	FEBRUARY("FEBRUARY", "FEB"),
+	MARCH("MARCH", "MAR"),
+	APRIL("APRIL", "APR"),
+	MAY("MAY"),
+	JUNE("JUNE", "JUN"),
+	JULY("JULY", "JUL"),
+	AUGUST("AUGUST", "AUG"),
+	SEPTEMBER("SEPTEMBER", "SEPT", "SEP"),
+	OCTOBER("OCTOBER", "OCT"),
+	NOVEMBER("NOVEMBER", "NOV"),
+	DECEMBER("DECEMBER", "DEC"),
+	
+	MILLISECOND("MILLISECOND", "MILLISECONDS", "MSEC", "MSECS", "MS"),
+	SECOND("SECOND", "SECONDS", "SEC", "SECS"),
+	MINUTE("MINUTE", "MINUTES", "MIN", "MINS"),
+	HOUR("HOUR", "HOURS", "HR", "HRS"),
+	DAY("DAY", "DAYS"),
+	WEEK("WEEK", "WEEKS", "WK", "WKS"),
+	MONTH("MONTH", "MONTHS"),
+	YEAR("YEAR", "YEARS", "YR", "YRS"),
+	
+	/** A quantity, written in digits or as number words. Its value is read by the {@link PhraseLexer}. */
+	NUMBER,
+	
+	OF("OF"),
+	IN("IN"),
+	THE("THE"),
+	AGO("AGO"),
+	FROM("FROM"),
+	EVERY("EVERY"),
+	BETWEEN("BETWEEN"),
+	AND("AND"),
+	
+	AT("AT"),
+	AM("AM"),
+	PM("PM"),
+	NOON("NOON", "MIDDAY"),
+	MIDNIGHT("MIDNIGHT"),
+	END("END");
+	
+	/** Upper case spellings of the keyword. The first is the full word. Empty for {@link #NUMBER}. */
+	private final String[] spellings;
+	
+	private Keyword(String... spellings){
+		this.spellings = spellings;
+	}
+	
+	/**
+	 * @return the upper case spellings of the keyword, starting with the full word. Empty for {@link #NUMBER}.
+	 */
+	public String[] getSpellings(){
+		return spellings.clone();
+	}
+}
@@ -1,9 +1,9 @@
 package timePhrase;
 
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
 import java.util.Calendar;
-import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A phrase that represents either the next or previous occurrence of a specific month of the year.
@@ -13,99 +13,136 @@ import java.util.regex.Pattern;
  * @author akauffman
  *
  */
-public class MonthTimePhrase implements TimePhrase {
-	/** Phrase regex. Matches Next, Last, This, Previous, or no qualifier, followed by a month of the year or abbreviated month of the year. */
-	private static final Pattern MONTH_OF_YEAR = Pattern.compile("(NEXT|LAST|THIS|PREVIOUS)?\\s*(JANUARY|JAN|FEBRUARY|FEB|MARCH|MAR|APRIL|APR|MAY|JUNE|JULY|AUGUST|AUG|SEPTEMBER|SEPT|OCTOBER|OCT|NOVEMBER|NOV|DECEMBER|DEC)", Pattern.CASE_INSENSITIVE);
-	/** Matcher that stores results of matching the given time to the pattern. */
-	private Matcher matcher;
+public class MonthTimePhrase extends AbstractTimePhrase {
+	/** Phrase grammar. Matches Next, Last, This, Previous, or no qualifier, followed by a month of the year or abbreviated month of the year. */
+	private static final PhraseGrammar MONTH_OF_YEAR = PhraseGrammar.start()
+			.thenOptional(Keyword.NEXT, Keyword.LAST, Keyword.THIS, Keyword.PREVIOUS)
+			.then(Keyword.JANUARY, Keyword.FEBRUARY, Keyword.MARCH, Keyword.APRIL, Keyword.MAY, Keyword.JUNE, Keyword.JULY, Keyword.AUGUST, Keyword.SEPTEMBER, Keyword.OCTOBER, Keyword.NOVEMBER, Keyword.DECEMBER);
 
 	@Override
-	public boolean matches(String time) {
-		matcher = MONTH_OF_YEAR.matcher(time);
-		return matcher.matches();
+	public PhraseGrammar getGrammar() {
+		return MONTH_OF_YEAR;
 	}
 
 	@Override
-	public Date getTime(Calendar fromWhen) throws IllegalStateException {
-		if(matcher == null){
-			throw new IllegalStateException("No match has been attempted");
-		}
-		if(fromWhen == null){
-			throw new NullPointerException("fromWhen is null");
-		}
-		
-		final Calendar cal = (Calendar)fromWhen.clone();
-		
-		final String modifier = matcher.group(1);
-		final int month = getMonthOfYear(matcher.group(2));
+	public TimePhraseMatch createMatch(Keyword[] words) {
+		final Keyword modifier = words[0];
+		final int month = getMonthOfYear(words[1]);
 		
-		boolean lookNext = "NEXT".equals(modifier);
-		boolean lookBack = "LAST".equals(modifier) || "PREVIOUS".equals(modifier);
+		boolean lookNext = modifier == Keyword.NEXT;
+		boolean lookBack = modifier == Keyword.LAST || modifier == Keyword.PREVIOUS;
 		
-		int difference = month - cal.get(Calendar.MONTH);
-		
-		if(difference >= 0 && lookBack){
-			//If we're looking in the past, and it's before that month in the current year, 
-			//then go back to previous year.
-			difference -= 12;
-		} else if(difference <=0 && !lookBack){
-			//If we're looking in the future, and it's after that month in the current year, 
-			//then go forward to next year.
-			if(difference < 0 || lookNext){
-				difference +=12;
-			}
-		}
-
-		 cal.add(Calendar.MONTH, difference);
-		
-		return cal.getTime();
+		return new Match(month, lookNext, lookBack);
 	}
 	
 	/**
-	 * Gets the calendar month of the year for the given string representation
+	 * Gets the calendar month of the year for the given keyword
 	 * 
-	 * @param day Plain text string of the month. Ex: APRIL
+	 * @param month Keyword for the month. Ex: APRIL
 	 * @return integer representing month of the year.
 	 * @throws IllegalArgumentException if month cannot be found.
 	 */
-	private int getMonthOfYear(String month){
+	private int getMonthOfYear(Keyword month){
 		switch(month){
-		case "JANUARY":
-		case "JAN":
+		case JANUARY:
 			return Calendar.JANUARY;
-		case "FEBRUARY":
-		case "FEB":
+		case FEBRUARY:
 			return Calendar.FEBRUARY;
-		case "MARCH":
-		case "MAR":
+		case MARCH:
 			return Calendar.MARCH;
-		case "APRIL":
-		case "APR":
+		case APRIL:
 			return Calendar.APRIL;
-		case "MAY":
+		case MAY:
 			return Calendar.MAY;
-		case "JUNE":
+		case JUNE:
 			return Calendar.JUNE;
-		case "JULY":
+		case JULY:
 			return Calendar.JULY;
-		case "AUGUST":
-		case "AUG":
+		case AUGUST:
 			return Calendar.AUGUST;
-		case "SEPTEMBER":
-		case "SEP":
+		case SEPTEMBER:
 			return Calendar.SEPTEMBER;
-		case "OCTOBER":
-		case "OCT":
+		case OCTOBER:
 			return Calendar.OCTOBER;
-		case "NOVEMBER":
-		case "NOV":
+		case NOVEMBER:
 			return Calendar.NOVEMBER;
-		case "DECEMBER":
-		case "DEC":
+		case DECEMBER:
 			return Calendar.DECEMBER;
 		default:
 			throw new IllegalArgumentException("Unexpected month: " + month);
 		}
 	}
+	
+	/**
+	 * Parsed month of year phrase.
+	 */
+	private static final class Match implements TimePhraseMatch {
+		/** Calendar month that was requested. */
+		private final int month;
+		/** True if the current month should be skipped when looking forward. */
+		private final boolean lookNext;
+		/** True if looking for a previous occurrence of the month. */
+		private final boolean lookBack;
+		
+		private Match(int month, boolean lookNext, boolean lookBack){
+			this.month = month;
+			this.lookNext = lookNext;
+			this.lookBack = lookBack;
+		}
+		
+		@Override
+		public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+			if(fromWhen == null){
+				throw new NullPointerException("fromWhen is null");
+			}
+			
+			//ISO months start at 1, Calendar months start at 0.
+			return CalendarMath.addMonths(fromWhen, getDifference(fromWhen.getMonthValue() - 1));
+		}
+
+		@Override
+		public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+			final long date = EpochMath.toDate(EpochMath.epochDay(fromWhen + zone.getOffsetMillis(fromWhen)));
+			return CalendarMath.addMonths(fromWhen, getDifference(EpochMath.month(date) - 1), zone);
+		}
+
+		/**
+		 * @param current Calendar month of the year to start from.
+		 * @return the number of months to move.
+		 */
+		private int getDifference(int current){
+			int difference = month - current;
+			
+			if(difference >= 0 && lookBack){
+				//If we're looking in the past, and it's before that month in the current year, 
+				//then go back to previous year.
+				difference -= 12;
+			} else if(difference <=0 && !lookBack){
+				//If we're looking in the future, and it's after that month in the current year, 
+				//then go forward to next year.
+				if(difference < 0 || lookNext){
+					difference +=12;
+				}
+			}
+
+			return difference;
+		}
+
+		@Override
+		public boolean isDateLevel() {
+			return true;
+		}
+		
+		@Override
+		public ChronoUnit getPeriod() {
+			//Next and Last skip a year when applied to the month itself, so only a plain month repeats.
+			return lookNext || lookBack ? null : ChronoUnit.YEARS;
+		}
+		
+		@Override
+		public ChronoUnit getSpan() {
+			return ChronoUnit.MONTHS;
+		}
+	}
 
 }
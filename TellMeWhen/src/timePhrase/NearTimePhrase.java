@@ -1,9 +1,8 @@
 package timePhrase;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
 
 /**
  * A phrase that represents time near to the current time, such as Yesterday or Tomorrow.
@@ -11,36 +10,65 @@ import java.util.regex.Pattern;
  * @author akauffman
  *
  */
-public class NearTimePhrase implements TimePhrase {
-	/** Phrase regex. Matches Yesterday, Tomorrow, Now, or Today */
-	private static final Pattern NEAR_TIME = Pattern.compile("(YESTERDAY|TOMORROW|NOW|TODAY)", Pattern.CASE_INSENSITIVE);
-	/** Matcher that stores results of matching the given time to the pattern. */
-	private Matcher matcher;
+public class NearTimePhrase extends AbstractTimePhrase {
+	/** Phrase grammar. Matches Yesterday, Tomorrow, Now, or Today */
+	private static final PhraseGrammar NEAR_TIME = PhraseGrammar.start().then(Keyword.YESTERDAY, Keyword.TOMORROW, Keyword.NOW, Keyword.TODAY);
 	
 	@Override
-	public boolean matches(String time) {
-		this.matcher = NEAR_TIME.matcher(time);
-		return matcher.matches();
+	public PhraseGrammar getGrammar() {
+		return NEAR_TIME;
 	}
 
 	@Override
-	public Date getTime(Calendar fromWhen) throws IllegalStateException{
-		if(matcher == null){
-			throw new IllegalStateException("No match has been attempted");
-		}
-		if(fromWhen == null){
-			throw new NullPointerException("fromWhen is null");
-		}
+	public TimePhraseMatch createMatch(Keyword[] words) {
+		if(words[0] == Keyword.TOMORROW){
+			return new Match(1, ChronoUnit.DAYS);
+		} else if(words[0] == Keyword.YESTERDAY){
+			return new Match(-1, ChronoUnit.DAYS);
+		} else if(words[0] == Keyword.TODAY){
+			return new Match(0, ChronoUnit.DAYS);
+		} //else treat it as the current time
 		
-		final Calendar cal = (Calendar)fromWhen.clone();
+		return new Match(0, null);
+	}
+	
+	/**
+	 * Parsed near time phrase.
+	 */
+	private static final class Match implements TimePhraseMatch {
+		/** Number of days to move from the given date. */
+		private final int days;
+		/** Day for a day, or null for the current time. */
+		private final ChronoUnit span;
 		
-		if("TOMORROW".equals(matcher.group(1))){
-			cal.add(Calendar.DATE, 1);
-		} else if("YESTERDAY".equals(matcher.group(1))){
-			cal.add(Calendar.DATE, -1);
-		} //else treat it as the current time
+		private Match(int days, ChronoUnit span){
+			this.days = days;
+			this.span = span;
+		}
+		
+		@Override
+		public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+			if(fromWhen == null){
+				throw new NullPointerException("fromWhen is null");
+			}
+			
+			return CalendarMath.addDays(fromWhen, days);
+		}
+
+		@Override
+		public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+			return CalendarMath.addDays(fromWhen, days, zone);
+		}
 
-		return cal.getTime();
+		@Override
+		public boolean isDateLevel() {
+			return true;
+		}
+		
+		@Override
+		public ChronoUnit getSpan() {
+			return span;
+		}
 	}
 
 }
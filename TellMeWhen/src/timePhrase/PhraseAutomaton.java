@@ -0,0 +1,195 @@
+package timePhrase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A deterministic automaton compiled from the {@link PhraseGrammar grammars} of a list of {@link TimePhrase TimePhrases}.
+ * <br/>
+ * Every grammar accepts a finite set of phrases, so all of them are compiled into a single trie over
+ * {@link Keyword} tokens read by the {@link PhraseLexer}. Each accepting state holds the {@link TimePhraseMatch}
+ * for its phrase, built when the automaton is compiled. Parsing is a single scan of the input that finds both
+ * the phrase family and its components, and it does not allocate unless the phrase has a quantity or a time of day.
+ * <br/>
+ * A {@link Keyword#NUMBER} stands for any quantity. Its accepting state holds the match for a quantity of one, and
+ * parsing asks that match for the quantity that was read with {@link TimePhraseMatch#withQuantity(long)}.
+ * <br/>
+ * Any phrase may be followed by At and a {@link TimeOfDay time of day}, such as Next Friday at 5pm. The time of day
+ * is read by its own parser rather than the grammars, so it composes with every phrase.
+ * <br/>
+ * When more than one grammar accepts the same phrase, the {@link TimePhrase} that comes first in the list wins.
+ * <br/>
+ * Automatons are immutable and may be shared between threads.
+ *
+ * @author akauffman
+ *
+ */
+public final class PhraseAutomaton {
+	/** Number of keywords in the alphabet. */
+	private static final int KEYWORDS = Keyword.values().length;
+
+	/** Next state for each state and keyword, indexed by state * KEYWORDS + ordinal. Zero means no transition. */
+	private final int[] transitions;
+	/** Parsed phrase for each accepting state, or null if the state does not accept. */
+	private final TimePhraseMatch[] accepts;
+
+	private PhraseAutomaton(int[] transitions, TimePhraseMatch[] accepts){
+		this.transitions = transitions;
+		this.accepts = accepts;
+	}
+
+	/**
+	 * Compiles the grammars of the given phrases into a single automaton.
+	 *
+	 * @param timePhrases phrases in order of precedence.
+	 * @return the compiled automaton.
+	 */
+	public static PhraseAutomaton compile(List<? extends TimePhrase> timePhrases){
+		final Builder builder = new Builder();
+		for(TimePhrase timePhrase : timePhrases){
+			final PhraseGrammar grammar = timePhrase.getGrammar();
+			builder.addPhrases(timePhrase, grammar, 0, new Keyword[grammar.getSlotCount()], 0);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Parses the given time phrase, with an optional time of day after At. Keywords are matched without regard to
+	 * case, whitespace is allowed between words, and leading or trailing whitespace is ignored.
+	 *
+	 * @param time phrase in plain speech that represents a relative time.
+	 * @return the parsed phrase, or null if no grammar matches the phrase.
+	 */
+	public TimePhraseMatch parse(CharSequence time){
+		int state = 0;
+		long quantity = -1;
+		int position = PhraseLexer.skipWhitespace(time, 0);
+
+		while(position < time.length()){
+			final long token = PhraseLexer.nextToken(time, position);
+			if(token == PhraseLexer.NO_TOKEN){
+				return null;
+			}
+
+			final Keyword keyword = PhraseLexer.getKeyword(token);
+			if(keyword == Keyword.AT){
+				//The rest is the time of day of the phrase so far.
+				final TimePhraseMatch date = accept(state, quantity);
+				final long millisOfDay = TimeOfDay.parse(time, PhraseLexer.getEnd(token));
+				return date == null || millisOfDay == TimeOfDay.NO_TIME ? null : TimeOfDay.at(date, millisOfDay);
+			}
+			if(keyword == Keyword.NUMBER){
+				quantity = PhraseLexer.getValue(token);
+			}
+			state = transitions[state * KEYWORDS + keyword.ordinal()];
+			if(state == 0){
+				return null;
+			}
+			position = PhraseLexer.skipWhitespace(time, PhraseLexer.getEnd(token));
+		}
+
+		return accept(state, quantity);
+	}
+
+	/**
+	 * @param state state reached at the end of the phrase.
+	 * @param quantity the number in the phrase, or -1 if there was none.
+	 * @return the parsed phrase, or null if the state does not accept.
+	 */
+	private TimePhraseMatch accept(int state, long quantity){
+		final TimePhraseMatch match = accepts[state];
+		return match == null || quantity < 0 ? match : match.withQuantity(quantity);
+	}
+
+	/**
+	 * Walks the grammars with a phrase that has already been split into tokens, to check which phrase accepts it.
+	 * Tokens do not hold the value of a {@link Keyword#NUMBER}, so a phrase with a quantity gives the match for a
+	 * quantity of one, and no grammar accepts At. The result is not the time the phrase names, so this is not part of
+	 * the public API. Use {@link #parse(CharSequence)} to parse a phrase.
+	 *
+	 * @param tokens ordinals of the {@link Keyword keywords} of the phrase.
+	 * @param count number of tokens to read.
+	 * @return the match of the accepting state, or null if no grammar accepts the tokens.
+	 */
+	TimePhraseMatch parse(int[] tokens, int count){
+		int state = 0;
+		for(int i = 0; i < count; i++){
+			state = transitions[state * KEYWORDS + tokens[i]];
+			if(state == 0){
+				return null;
+			}
+		}
+
+		return accepts[state];
+	}
+
+	/**
+	 * Builds the trie one phrase at a time.
+	 */
+	private static final class Builder {
+		private final List<int[]> transitions = new ArrayList<>();
+		private final List<TimePhraseMatch> accepts = new ArrayList<>();
+
+		private Builder(){
+			addState();
+		}
+
+		/**
+		 * Adds every phrase the grammar accepts from the given slot onward.
+		 *
+		 * @param timePhrase phrase that owns the grammar.
+		 * @param grammar grammar being compiled.
+		 * @param slot index of the next slot to fill.
+		 * @param words words chosen for each slot so far.
+		 * @param state trie state reached by the words so far.
+		 */
+		private void addPhrases(TimePhrase timePhrase, PhraseGrammar grammar, int slot, Keyword[] words, int state){
+			if(slot == grammar.getSlotCount()){
+				if(accepts.get(state) == null){
+					//Null if the grammar allows words that do not make a phrase together.
+					accepts.set(state, timePhrase.createMatch(words.clone()));
+				} //else an earlier phrase takes precedence.
+				return;
+			}
+
+			if(grammar.isOptional(slot)){
+				words[slot] = null;
+				addPhrases(timePhrase, grammar, slot + 1, words, state);
+			}
+
+			for(Keyword keyword : grammar.getKeywords(slot)){
+				words[slot] = keyword;
+				addPhrases(timePhrase, grammar, slot + 1, words, addTransition(state, keyword));
+			}
+			words[slot] = null;
+		}
+
+		private int addTransition(int state, Keyword keyword){
+			final int[] row = transitions.get(state);
+			if(row[keyword.ordinal()] == 0){
+				row[keyword.ordinal()] = addState();
+			}
+			return row[keyword.ordinal()];
+		}
+
+		private int addState(){
+			transitions.add(new int[KEYWORDS]);
+			accepts.add(null);
+			return transitions.size() - 1;
+		}
+
+		private PhraseAutomaton build(){
+			final int stateCount = transitions.size();
+			final int[] table = new int[stateCount * KEYWORDS];
+			final TimePhraseMatch[] acceptTable = new TimePhraseMatch[stateCount];
+
+			for(int state = 0; state < stateCount; state++){
+				System.arraycopy(transitions.get(state), 0, table, state * KEYWORDS, KEYWORDS);
+				acceptTable[state] = accepts.get(state);
+			}
+
+			return new PhraseAutomaton(table, acceptTable);
+		}
+	}
+}
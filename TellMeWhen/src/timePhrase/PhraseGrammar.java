@@ -0,0 +1,86 @@
+package timePhrase;
+
+import java.util.Arrays;
+
+/**
+ * Describes the words that make up a {@link TimePhrase}. A grammar is an ordered list of slots, and each slot
+ * is filled by exactly one of its {@link Keyword keywords}. Optional slots may also be left out.
+ * <br/>
+ * Ex: an optional slot of Next or Last followed by a slot of Monday or Tuesday matches "Monday" and "Next Tuesday".
+ * <br/>
+ * Grammars are immutable. Each call that adds a slot returns a new grammar.
+ * 
+ * @author akauffman
+ *
+ */
+public final class PhraseGrammar {
+	/** Keywords accepted by each slot, in order. */
+	private final Keyword[][] slots;
+	/** True for each slot that may be left out. */
+	private final boolean[] optional;
+	
+	private PhraseGrammar(Keyword[][] slots, boolean[] optional){
+		this.slots = slots;
+		this.optional = optional;
+	}
+	
+	/**
+	 * @return an empty grammar that slots can be added to.
+	 */
+	public static PhraseGrammar start(){
+		return new PhraseGrammar(new Keyword[0][], new boolean[0]);
+	}
+	
+	/**
+	 * @param keywords Words, one of which must appear next in the phrase.
+	 * @return a new grammar with the slot added.
+	 */
+	public PhraseGrammar then(Keyword... keywords){
+		return addSlot(keywords, false);
+	}
+	
+	/**
+	 * @param keywords Words, one of which may appear next in the phrase.
+	 * @return a new grammar with the slot added.
+	 */
+	public PhraseGrammar thenOptional(Keyword... keywords){
+		return addSlot(keywords, true);
+	}
+	
+	/**
+	 * @return the number of slots in the grammar.
+	 */
+	public int getSlotCount(){
+		return slots.length;
+	}
+	
+	/**
+	 * @param slot index of the slot.
+	 * @return the keywords accepted by the slot.
+	 */
+	public Keyword[] getKeywords(int slot){
+		return slots[slot].clone();
+	}
+	
+	/**
+	 * @param slot index of the slot.
+	 * @return true if the slot may be left out of the phrase.
+	 */
+	public boolean isOptional(int slot){
+		return optional[slot];
+	}
+	
+	private PhraseGrammar addSlot(Keyword[] keywords, boolean isOptional){
+		if(keywords.length == 0){
+			throw new IllegalArgumentException("A slot needs at least one keyword");
+		}
+		
+		final Keyword[][] newSlots = Arrays.copyOf(slots, slots.length + 1);
+		newSlots[slots.length] = keywords.clone();
+		
+		final boolean[] newOptional = Arrays.copyOf(optional, optional.length + 1);
+		newOptional[optional.length] = isOptional;
+		
+		return new PhraseGrammar(newSlots, newOptional);
+	}
+}
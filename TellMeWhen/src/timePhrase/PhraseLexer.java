@@ -0,0 +1,299 @@
+package timePhrase;
+
+import java.util.Arrays;
+
+/**
+ * Splits a time phrase into {@link Keyword} tokens.
+ * <br/>
+ * All keyword spellings are compiled into a trie over their letters. Each word is found by the longest
+ * spelling that matches, without regard to case. Whitespace between words is optional, so "NEXTMONDAY" is
+ * the same as "NEXT MONDAY", but a word may not contain whitespace.
+ * <br/>
+ * A run of digits, or a number word from zero to ninety nine, is a {@link Keyword#NUMBER} token that also holds
+ * its value. Number words are in the same trie as the keywords. A tens word may be followed by a units word, with
+ * whitespace or a hyphen between them, so "TWENTY FIVE" and "twenty-five" are one token.
+ * <br/>
+ * A token is packed into a long so that lexing does not allocate. Use {@link #getKeyword(long)},
+ * {@link #getValue(long)} and {@link #getEnd(long)} to read it.
+ * 
+ * @author akauffman
+ *
+ */
+public final class PhraseLexer {
+	/** Number of letters in the alphabet. */
+	private static final int LETTERS = 26;
+	/** All keywords, indexed by ordinal. */
+	private static final Keyword[] KEYWORDS = Keyword.values();
+	/** Returned by {@link #nextToken(CharSequence, int)} when no keyword starts at the position. */
+	public static final long NO_TOKEN = -1L;
+	/** Largest {@link Keyword#NUMBER} value. Larger numbers are not tokens. */
+	public static final int MAX_NUMBER = (1 << 23) - 1;
+	/** Number words, each at the index of its value. */
+	private static final String[] NUMBER_WORDS = {"ZERO", "ONE", "TWO", "THREE", "FOUR", "FIVE", "SIX", "SEVEN", "EIGHT", "NINE",
+			"TEN", "ELEVEN", "TWELVE", "THIRTEEN", "FOURTEEN", "FIFTEEN", "SIXTEEN", "SEVENTEEN", "EIGHTEEN", "NINETEEN"};
+	/** Tens words, each at the index of its value divided by ten. */
+	private static final String[] TENS_WORDS = {null, null, "TWENTY", "THIRTY", "FORTY", "FIFTY", "SIXTY", "SEVENTY", "EIGHTY", "NINETY"};
+	
+	/** Next state for each state and letter, indexed by state * LETTERS + letter. Zero means no transition. */
+	private static final int[] TRANSITIONS;
+	/** Ordinal of the keyword spelled by each state, or -1. */
+	private static final int[] KEYWORD_AT;
+	/** Value of the number word spelled by each state. */
+	private static final int[] VALUE_AT;
+	
+	static {
+		int stateCount = 1;
+		for(Keyword keyword : KEYWORDS){
+			for(String spelling : keyword.getSpellings()){
+				stateCount += spelling.length();
+			}
+		}
+		for(String spelling : NUMBER_WORDS){
+			stateCount += spelling.length();
+		}
+		for(String spelling : TENS_WORDS){
+			stateCount += spelling == null ? 0 : spelling.length();
+		}
+		
+		TRANSITIONS = new int[stateCount * LETTERS];
+		KEYWORD_AT = new int[stateCount];
+		VALUE_AT = new int[stateCount];
+		Arrays.fill(KEYWORD_AT, -1);
+		
+		int states = 1;
+		for(Keyword keyword : KEYWORDS){
+			for(String spelling : keyword.getSpellings()){
+				states = addSpelling(spelling, keyword, 0, states);
+			}
+		}
+		for(int value = 0; value < NUMBER_WORDS.length; value++){
+			states = addSpelling(NUMBER_WORDS[value], Keyword.NUMBER, value, states);
+		}
+		for(int tens = 2; tens < TENS_WORDS.length; tens++){
+			states = addSpelling(TENS_WORDS[tens], Keyword.NUMBER, tens * 10, states);
+		}
+	}
+	
+	private PhraseLexer(){
+	}
+	
+	/**
+	 * Adds a spelling to the trie.
+	 * 
+	 * @param spelling upper case spelling.
+	 * @param keyword keyword it spells.
+	 * @param value value of the spelling if it is a number word.
+	 * @param states number of states used so far.
+	 * @return the number of states used after adding the spelling.
+	 */
+	private static int addSpelling(String spelling, Keyword keyword, int value, int states){
+		int state = 0;
+		for(int i = 0; i < spelling.length(); i++){
+			final int index = state * LETTERS + toLetter(spelling.charAt(i));
+			if(TRANSITIONS[index] == 0){
+				TRANSITIONS[index] = states++;
+			}
+			state = TRANSITIONS[index];
+		}
+		if(KEYWORD_AT[state] >= 0){
+			throw new IllegalStateException("Spelling used twice: " + spelling);
+		}
+		KEYWORD_AT[state] = keyword.ordinal();
+		VALUE_AT[state] = value;
+		
+		return states;
+	}
+	
+	/**
+	 * Splits the text into keyword tokens. The values of {@link Keyword#NUMBER} tokens are not kept.
+	 * 
+	 * @param text phrase in plain speech.
+	 * @param tokens Array that receives the ordinal of each {@link Keyword}, in order.
+	 * @return the number of tokens, or -1 if the text contains something other than keywords or does not fit the array.
+	 */
+	public static int tokenize(CharSequence text, int[] tokens){
+		int count = 0;
+		int position = skipWhitespace(text, 0);
+		while(position < text.length()){
+			final long token = nextToken(text, position);
+			if(token == NO_TOKEN || count == tokens.length){
+				return -1;
+			}
+			tokens[count++] = getKeyword(token).ordinal();
+			position = skipWhitespace(text, getEnd(token));
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Reads the longest keyword that starts at the given position.
+	 * 
+	 * @param text phrase in plain speech.
+	 * @param position index of the first letter of the keyword.
+	 * @return the packed token, or {@link #NO_TOKEN} if no keyword starts at the position.
+	 */
+	public static long nextToken(CharSequence text, int position){
+		if(position < text.length() && isDigit(text.charAt(position))){
+			return nextDigits(text, position);
+		}
+		
+		final long token = nextWord(text, position);
+		if(token == NO_TOKEN || getKeyword(token) != Keyword.NUMBER || getValue(token) < 20){
+			return token;
+		}
+		
+		//A tens word may be followed by a units word.
+		final int end = getEnd(token);
+		final boolean hyphen = end < text.length() && text.charAt(end) == '-';
+		final int next = hyphen ? end + 1 : skipWhitespace(text, end);
+		final long units = next < text.length() && toLetter(text.charAt(next)) >= 0 ? nextWord(text, next) : NO_TOKEN;
+		if(units == NO_TOKEN || getKeyword(units) != Keyword.NUMBER || getValue(units) == 0 || getValue(units) > 9){
+			//A hyphen must join a tens word to a units word.
+			return hyphen ? NO_TOKEN : token;
+		}
+		return toToken(Keyword.NUMBER, getValue(token) + getValue(units), getEnd(units));
+	}
+	
+	/**
+	 * Reads the longest keyword or number word that starts at the given position.
+	 * 
+	 * @param text phrase in plain speech.
+	 * @param position index of the first letter of the word.
+	 * @return the packed token, or {@link #NO_TOKEN} if no word starts at the position.
+	 */
+	private static long nextWord(CharSequence text, int position){
+		int state = 0;
+		int keyword = -1;
+		int value = 0;
+		int end = position;
+		
+		for(int i = position; i < text.length(); i++){
+			final int letter = toLetter(text.charAt(i));
+			if(letter < 0){
+				break;
+			}
+			state = TRANSITIONS[state * LETTERS + letter];
+			if(state == 0){
+				break;
+			}
+			if(KEYWORD_AT[state] >= 0){
+				keyword = KEYWORD_AT[state];
+				value = VALUE_AT[state];
+				end = i + 1;
+			}
+		}
+		
+		if(keyword < 0){
+			return NO_TOKEN;
+		}
+		
+		return toToken(KEYWORDS[keyword], value, end);
+	}
+	
+	/**
+	 * Reads the number written in the run of digits that starts at the given position.
+	 * 
+	 * @param text phrase in plain speech.
+	 * @param position index of the first digit.
+	 * @return the packed token, or {@link #NO_TOKEN} if the number is larger than {@link #MAX_NUMBER}.
+	 */
+	private static long nextDigits(CharSequence text, int position){
+		int value = 0;
+		int end = position;
+		while(end < text.length() && isDigit(text.charAt(end))){
+			value = value * 10 + text.charAt(end) - '0';
+			if(value > MAX_NUMBER){
+				return NO_TOKEN;
+			}
+			end++;
+		}
+		
+		return toToken(Keyword.NUMBER, value, end);
+	}
+	
+	/**
+	 * Packs a token. The keyword is in bits 32 to 39 and the value in bits 40 to 62, so no token is negative.
+	 */
+	private static long toToken(Keyword keyword, int value, int end){
+		return ((long)value << 40) | ((long)keyword.ordinal() << 32) | (end & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * @param token token returned by {@link #nextToken(CharSequence, int)}.
+	 * @return the keyword of the token.
+	 */
+	public static Keyword getKeyword(long token){
+		return KEYWORDS[(int)(token >>> 32) & 0xFF];
+	}
+	
+	/**
+	 * @param token token returned by {@link #nextToken(CharSequence, int)}.
+	 * @return the value of a {@link Keyword#NUMBER} token, or zero for any other keyword.
+	 */
+	public static int getValue(long token){
+		return (int)(token >>> 40);
+	}
+	
+	/**
+	 * @param token token returned by {@link #nextToken(CharSequence, int)}.
+	 * @return the index just past the last letter of the token.
+	 */
+	public static int getEnd(long token){
+		return (int)token;
+	}
+	
+	/**
+	 * @param text phrase in plain speech.
+	 * @param position index to start from.
+	 * @return the index of the first character at or after the position that is not whitespace.
+	 */
+	public static int skipWhitespace(CharSequence text, int position){
+		while(position < text.length() && isWhitespace(text.charAt(position))){
+			position++;
+		}
+		return position;
+	}
+	
+	/**
+	 * @param text phrase in plain speech.
+	 * @param position index to start from.
+	 * @return the index of the first whitespace character at or after the position, or the length of the text.
+	 */
+	public static int skipToWhitespace(CharSequence text, int position){
+		while(position < text.length() && !isWhitespace(text.charAt(position))){
+			position++;
+		}
+		return position;
+	}
+	
+	/**
+	 * @param c character to check.
+	 * @return true for the whitespace characters matched by \s in a regular expression.
+	 */
+	private static boolean isWhitespace(char c){
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+	}
+	
+	/**
+	 * @param c character to check.
+	 * @return true for the digits 0 through 9.
+	 */
+	private static boolean isDigit(char c){
+		return c >= '0' && c <= '9';
+	}
+	
+	/**
+	 * @param c character to convert.
+	 * @return the index of the letter in the alphabet, or -1 if it is not a letter.
+	 */
+	private static int toLetter(char c){
+		if(c >= 'A' && c <= 'Z'){
+			return c - 'A';
+		}
+		if(c >= 'a' && c <= 'z'){
+			return c - 'a';
+		}
+		return -1;
+	}
+}
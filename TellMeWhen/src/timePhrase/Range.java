@@ -0,0 +1,126 @@
+package timePhrase;
+
+import java.time.temporal.WeekFields;
+
+/**
+ * A phrase that names a stretch of time rather than an instant. Ex: Last Week, This Month, Tomorrow, or Between
+ * Monday and Friday
+ * <br/>
+ * A phrase with a {@link TimePhraseMatch#getSpan() span} covers that unit of time around the time of the phrase, so
+ * Last Week runs from the start of last week to the start of this week. A phrase with a number of units after Next,
+ * Last or Previous covers all of them, from the unit next to the current one out to the last, so Last 7 Days runs
+ * from the start of the day a week ago to the start of today, and Next 3 Hours from the start of the next hour to
+ * the end of the third. In 3 Days and 3 Days Ago name only the day they land on.
+ * <br/>
+ * Between runs from the start of the first phrase to the end of the second, and either phrase may also be an instant,
+ * such as Now. If the second phrase does not end after the first starts, it is worked out again from the time of the
+ * first, so Between Friday and Monday runs from Friday through the Monday after it. The phrase is worked out once and
+ * both ends of the interval are found together, rather than resolving a phrase for each end.
+ * <br/>
+ * Ranges are immutable and may be shared between threads.
+ *
+ * @author akauffman
+ *
+ */
+public final class Range {
+	/** Phrase for the start of the range. */
+	private final TimePhraseMatch from;
+	/** Phrase for the end of the range. The same as from when the range is one phrase. */
+	private final TimePhraseMatch to;
+	/** True for a between phrase, whose ends may be the same match, such as Between Tomorrow and Tomorrow. */
+	private final boolean between;
+
+	private Range(TimePhraseMatch from, TimePhraseMatch to, boolean between){
+		this.from = from;
+		this.to = to;
+		this.between = between;
+	}
+
+	/**
+	 * Parses a range with the {@link TimePhraseFactory#getAutomaton() automaton}.
+	 *
+	 * @param phrase phrase in plain speech. Ex: Last Week or Between Monday and Friday
+	 * @return the range, or null if the phrase does not name a stretch of time.
+	 */
+	public static Range parse(CharSequence phrase){
+		final int start = PhraseLexer.skipWhitespace(phrase, 0);
+		if(start == phrase.length()){
+			return null;
+		}
+		final long between = PhraseLexer.nextToken(phrase, start);
+		if(between == PhraseLexer.NO_TOKEN){
+			return null;
+		}
+		if(PhraseLexer.getKeyword(between) != Keyword.BETWEEN){
+			final TimePhraseMatch match = TimePhraseFactory.getAutomaton().parse(phrase);
+			return match == null || match.getSpan() == null ? null : new Range(match, match, false);
+		}
+
+		int position = PhraseLexer.skipWhitespace(phrase, PhraseLexer.getEnd(between));
+		while(position < phrase.length()){
+			final long token = PhraseLexer.nextToken(phrase, position);
+			if(token == PhraseLexer.NO_TOKEN){
+				//Not a keyword, such as the colon in 9:30. Each half is parsed in full once And is found.
+				position = PhraseLexer.skipWhitespace(phrase, PhraseLexer.skipToWhitespace(phrase, position));
+				continue;
+			}
+			if(PhraseLexer.getKeyword(token) == Keyword.AND){
+				final TimePhraseMatch from = TimePhraseFactory.getAutomaton().parse(phrase.subSequence(PhraseLexer.getEnd(between), position));
+				final TimePhraseMatch to = TimePhraseFactory.getAutomaton().parse(phrase.subSequence(PhraseLexer.getEnd(token), phrase.length()));
+				return from == null || to == null ? null : new Range(from, to, true);
+			}
+			position = PhraseLexer.skipWhitespace(phrase, PhraseLexer.getEnd(token));
+		}
+
+		return null;
+	}
+
+	/**
+	 * @param fromWhen The time in milliseconds since the epoch the phrase is worked out from.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the interval the phrase names, or null if a between phrase does not end after it starts, such as
+	 * Between Now and Now.
+	 */
+	public TimeInterval getInterval(long fromWhen, ZoneTable zone, WeekFields weekFields){
+		if(zone == null){
+			throw new NullPointerException("zone is null");
+		}
+		if(weekFields == null){
+			throw new NullPointerException("weekFields is null");
+		}
+
+		if(!between){
+			return resolve(from, fromWhen, zone, weekFields);
+		}
+
+		final long time = from.getTimeMillis(fromWhen, zone, weekFields);
+		final long start = resolve(from, fromWhen, zone, weekFields).getStartMillis();
+		long end = resolve(to, fromWhen, zone, weekFields).getEndMillis();
+		if(end <= start){
+			end = resolve(to, time, zone, weekFields).getEndMillis();
+		}
+		return end <= start ? null : new TimeInterval(start, end);
+	}
+
+	/**
+	 * @return the interval from the far end of the match to its {@link TimePhraseMatch#getNearEnd() near end}, worked
+	 * out from the given time.
+	 */
+	private static TimeInterval resolve(TimePhraseMatch match, long fromWhen, ZoneTable zone, WeekFields weekFields){
+		final TimeInterval far = getInterval(match, match.getTimeMillis(fromWhen, zone, weekFields), zone, weekFields);
+		final TimePhraseMatch nearEnd = match.getNearEnd();
+		if(nearEnd == match){
+			return far;
+		}
+		final TimeInterval near = getInterval(nearEnd, nearEnd.getTimeMillis(fromWhen, zone, weekFields), zone, weekFields);
+		return new TimeInterval(Math.min(far.getStartMillis(), near.getStartMillis()), Math.max(far.getEndMillis(), near.getEndMillis()));
+	}
+
+	/**
+	 * @return the interval of the span of the match around the time it gave, or the time itself for a match without a span.
+	 */
+	private static TimeInterval getInterval(TimePhraseMatch match, long time, ZoneTable zone, WeekFields weekFields){
+		return match.getSpan() == null ? new TimeInterval(time, time) : FirstLastUnitTimePhrase.getInterval(time, match.getSpan(), zone, weekFields);
+	}
+}
@@ -0,0 +1,206 @@
+package timePhrase;
+
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A phrase that repeats. Ex: Every Monday, Every March, Every First Day of the Month or Every 3 Hours
+ * <br/>
+ * Every may be followed by any phrase that has a {@link TimePhraseMatch#getPeriod() period}, or by a unit of time
+ * with an optional number. A day or longer unit may be followed by a time of day, as in Every Day at Noon. The times
+ * are worked out one at a time as they are asked for. Each time moves the one before it forward by the period and
+ * applies the phrase again, so every step costs the same however far along the series it is, and the series is never
+ * held in memory.
+ * <br/>
+ * Recurrences are immutable and may be shared between threads.
+ *
+ * @author akauffman
+ *
+ */
+public final class Recurrence {
+	/** Phrase applied after each step, or null if the steps alone make the series. */
+	private final TimePhraseMatch anchor;
+	/** Moves a time forward by one period. */
+	private final TimePhraseMatch step;
+
+	private Recurrence(TimePhraseMatch anchor, TimePhraseMatch step){
+		this.anchor = anchor;
+		this.step = step;
+	}
+
+	/**
+	 * Parses a repeating phrase with the {@link TimePhraseFactory#getAutomaton() automaton}.
+	 *
+	 * @param phrase phrase in plain speech that starts with Every. Ex: Every Monday
+	 * @return the recurrence, or null if the phrase does not repeat.
+	 */
+	public static Recurrence parse(CharSequence phrase){
+		final int start = PhraseLexer.skipWhitespace(phrase, 0);
+		if(start == phrase.length()){
+			return null;
+		}
+		final long every = PhraseLexer.nextToken(phrase, start);
+		if(every == PhraseLexer.NO_TOKEN || PhraseLexer.getKeyword(every) != Keyword.EVERY){
+			return null;
+		}
+
+		final CharSequence rest = phrase.subSequence(PhraseLexer.getEnd(every), phrase.length());
+		final TimePhraseMatch anchor = TimePhraseFactory.getAutomaton().parse(rest);
+		if(anchor != null){
+			final ChronoUnit period = anchor.getPeriod();
+			return period == null ? null : new Recurrence(anchor, ChangeUnitTimePhrase.step(period, 1));
+		}
+
+		return parseUnits(rest);
+	}
+
+	/**
+	 * Parses a unit of time with an optional number before it, and for a day or longer an optional time of day after
+	 * it. Ex: 3 Hours, Day or 2 Weeks at 9am
+	 *
+	 * @param phrase the phrase after Every.
+	 * @return the recurrence, or null if the phrase is not a unit of time or the number is zero.
+	 */
+	private static Recurrence parseUnits(CharSequence phrase){
+		long quantity = 1;
+		int position = PhraseLexer.skipWhitespace(phrase, 0);
+		long token = position < phrase.length() ? PhraseLexer.nextToken(phrase, position) : PhraseLexer.NO_TOKEN;
+		if(token != PhraseLexer.NO_TOKEN && PhraseLexer.getKeyword(token) == Keyword.NUMBER){
+			quantity = PhraseLexer.getValue(token);
+			position = PhraseLexer.skipWhitespace(phrase, PhraseLexer.getEnd(token));
+			token = position < phrase.length() ? PhraseLexer.nextToken(phrase, position) : PhraseLexer.NO_TOKEN;
+		}
+		if(token == PhraseLexer.NO_TOKEN || quantity == 0 || !ChangeUnitTimePhrase.isTimeUnit(PhraseLexer.getKeyword(token))){
+			return null;
+		}
+		final ChronoUnit unit = ChangeUnitTimePhrase.getTimeUnit(PhraseLexer.getKeyword(token));
+
+		TimePhraseMatch anchor = null;
+		position = PhraseLexer.skipWhitespace(phrase, PhraseLexer.getEnd(token));
+		if(position < phrase.length()){
+			final long at = PhraseLexer.nextToken(phrase, position);
+			//Setting the time of day each step would undo a step smaller than a day.
+			if(at == PhraseLexer.NO_TOKEN || PhraseLexer.getKeyword(at) != Keyword.AT || unit.isTimeBased()){
+				return null;
+			}
+			final long millisOfDay = TimeOfDay.parse(phrase, PhraseLexer.getEnd(at));
+			if(millisOfDay == TimeOfDay.NO_TIME){
+				return null;
+			}
+			anchor = TimeOfDay.at(null, millisOfDay);
+		}
+
+		return new Recurrence(anchor, ChangeUnitTimePhrase.step(unit, quantity));
+	}
+
+	/**
+	 * @param after The time in milliseconds since the epoch to start from.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return the first time in the series that is after the given time.
+	 * @throws ArithmeticException if the series runs past the range of a long before it is after the given time.
+	 */
+	public long next(long after, ZoneTable zone, WeekFields weekFields){
+		long time = anchor == null ? after : anchor.getTimeMillis(after, zone, weekFields);
+		while(time <= after){
+			final long next = advance(time, zone, weekFields);
+			if(next <= time){
+				throw new ArithmeticException("Recurrence does not move forward from " + time);
+			}
+			time = next;
+		}
+		return time;
+	}
+
+	/**
+	 * Gets the times in the series that are after the given time, in order. The stream does not end, so use
+	 * {@link LongStream#limit(long)} to take a number of times.
+	 *
+	 * @param after The time in milliseconds since the epoch to start from.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return a lazy stream of times in milliseconds since the epoch.
+	 */
+	public LongStream stream(long after, ZoneTable zone, WeekFields weekFields){
+		return stream(after, Long.MAX_VALUE, zone, weekFields);
+	}
+
+	/**
+	 * Gets the times in the series that are after one time and before another, in order.
+	 *
+	 * @param after The time in milliseconds since the epoch to start from.
+	 * @param before The time in milliseconds since the epoch to stop at. Not included.
+	 * @param zone The time zone.
+	 * @param weekFields Rules for the first day of the week.
+	 * @return a lazy stream of times in milliseconds since the epoch.
+	 */
+	public LongStream stream(long after, long before, ZoneTable zone, WeekFields weekFields){
+		if(zone == null){
+			throw new NullPointerException("zone is null");
+		}
+		if(weekFields == null){
+			throw new NullPointerException("weekFields is null");
+		}
+
+		return StreamSupport.longStream(new Times(after, before, zone, weekFields), false);
+	}
+
+	/**
+	 * @return the time one period after the given time in the series.
+	 */
+	private long advance(long time, ZoneTable zone, WeekFields weekFields){
+		final long stepped = step.getTimeMillis(time, zone, weekFields);
+		return anchor == null ? stepped : anchor.getTimeMillis(stepped, zone, weekFields);
+	}
+
+	/**
+	 * Works out each time of the series as it is asked for.
+	 */
+	private final class Times extends Spliterators.AbstractLongSpliterator {
+		private final long before;
+		private final ZoneTable zone;
+		private final WeekFields weekFields;
+		/** The last time given, or the time to start after. */
+		private long time;
+		private boolean started;
+		private boolean done;
+
+		private Times(long after, long before, ZoneTable zone, WeekFields weekFields){
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+			this.time = after;
+			this.before = before;
+			this.zone = zone;
+			this.weekFields = weekFields;
+		}
+
+		@Override
+		public boolean tryAdvance(LongConsumer action){
+			if(done){
+				return false;
+			}
+			final long next = started ? advance(time, zone, weekFields) : next(time, zone, weekFields);
+			if(next >= before || (started && next <= time)){
+				//Past the end, or the times no longer move forward because they have run out of range.
+				done = true;
+				return false;
+			}
+
+			started = true;
+			time = next;
+			action.accept(next);
+			return true;
+		}
+
+		@Override
+		public Comparator<? super Long> getComparator(){
+			//Natural order.
+			return null;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package timePhrase;
+
+import java.time.Instant;
+
+/**
+ * A stretch of time that includes its start and runs up to, but not including, its end. Ex: Last Week runs from the
+ * first millisecond of last week to the first millisecond of this week.
+ * <br/>
+ * Intervals are immutable.
+ *
+ * @author akauffman
+ *
+ */
+public final class TimeInterval {
+	private final long startMillis;
+	private final long endMillis;
+
+	/**
+	 * @param startMillis The first time in the interval, in milliseconds since the epoch.
+	 * @param endMillis The time the interval ends at, in milliseconds since the epoch. Not included.
+	 * @throws IllegalArgumentException if the end is before the start.
+	 */
+	public TimeInterval(long startMillis, long endMillis){
+		if(endMillis < startMillis){
+			throw new IllegalArgumentException("Interval ends before it starts");
+		}
+		this.startMillis = startMillis;
+		this.endMillis = endMillis;
+	}
+
+	/**
+	 * @return the first time in the interval, in milliseconds since the epoch.
+	 */
+	public long getStartMillis(){
+		return startMillis;
+	}
+
+	/**
+	 * @return the time the interval ends at, in milliseconds since the epoch. It is not in the interval.
+	 */
+	public long getEndMillis(){
+		return endMillis;
+	}
+
+	/**
+	 * @return the first instant in the interval.
+	 */
+	public Instant getStart(){
+		return Instant.ofEpochMilli(startMillis);
+	}
+
+	/**
+	 * @return the instant the interval ends at. It is not in the interval.
+	 */
+	public Instant getEnd(){
+		return Instant.ofEpochMilli(endMillis);
+	}
+
+	/**
+	 * @param timeMillis The time in milliseconds since the epoch.
+	 * @return true if the time is at or after the start and before the end.
+	 */
+	public boolean contains(long timeMillis){
+		return timeMillis >= startMillis && timeMillis < endMillis;
+	}
+
+	@Override
+	public boolean equals(Object other){
+		if(!(other instanceof TimeInterval)){
+			return false;
+		}
+		final TimeInterval interval = (TimeInterval)other;
+		return startMillis == interval.startMillis && endMillis == interval.endMillis;
+	}
+
+	@Override
+	public int hashCode(){
+		return Long.hashCode(startMillis) * 31 + Long.hashCode(endMillis);
+	}
+
+	/**
+	 * @return the interval in ISO-8601 form. Ex: 2015-03-30T04:00:00Z/2015-04-06T04:00:00Z
+	 */
+	@Override
+	public String toString(){
+		return getStart() + "/" + getEnd();
+	}
+}
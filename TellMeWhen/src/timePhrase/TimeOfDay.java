@@ -0,0 +1,183 @@
+package timePhrase;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
+
+/**
+ * A time of day that follows a date phrase after At. Ex: Next Friday at 5pm, Tomorrow at Noon, Today at 17:30 or
+ * In 3 Days at End of Day
+ * <br/>
+ * A time is an hour with optional minutes and seconds after colons. With AM or PM the hour is on the 12 hour clock,
+ * and without it is on the 24 hour clock. Noon is 12:00, Midnight is the start of the day, and End of Day is its last
+ * millisecond. The date phrase is worked out first, and the time of day replaces its time in the same local time
+ * conversion, so a time skipped or repeated by a daylight saving change is handled once, the same way as
+ * {@link ZoneTable#toEpochMillis(long)}.
+ *
+ * @author akauffman
+ *
+ */
+final class TimeOfDay {
+	/** Returned by {@link #parse(CharSequence, int)} when the text is not a time of day. */
+	static final long NO_TIME = -1L;
+
+	private TimeOfDay(){
+	}
+
+	/**
+	 * Parses the time of day that makes up the rest of the text.
+	 *
+	 * @param text phrase in plain speech.
+	 * @param position index just after At.
+	 * @return milliseconds since midnight, or {@link #NO_TIME} if the rest of the text is not a time of day.
+	 */
+	static long parse(CharSequence text, int position){
+		final long token = nextToken(text, position);
+		if(token == PhraseLexer.NO_TOKEN){
+			return NO_TIME;
+		}
+
+		int end = PhraseLexer.getEnd(token);
+		final long millisOfDay;
+		switch(PhraseLexer.getKeyword(token)){
+		case NOON:
+			millisOfDay = 12 * EpochMath.HOUR_MILLIS;
+			break;
+		case MIDNIGHT:
+			millisOfDay = 0;
+			break;
+		case END:
+			//End of Day or End of the Day.
+			long word = nextToken(text, end);
+			if(word == PhraseLexer.NO_TOKEN || PhraseLexer.getKeyword(word) != Keyword.OF){
+				return NO_TIME;
+			}
+			word = nextToken(text, PhraseLexer.getEnd(word));
+			if(word != PhraseLexer.NO_TOKEN && PhraseLexer.getKeyword(word) == Keyword.THE){
+				word = nextToken(text, PhraseLexer.getEnd(word));
+			}
+			if(word == PhraseLexer.NO_TOKEN || PhraseLexer.getKeyword(word) != Keyword.DAY){
+				return NO_TIME;
+			}
+			end = PhraseLexer.getEnd(word);
+			millisOfDay = EpochMath.DAY_MILLIS - 1;
+			break;
+		case NUMBER:
+			int hour = PhraseLexer.getValue(token);
+			int minute = 0;
+			int second = 0;
+			if(end < text.length() && text.charAt(end) == ':'){
+				minute = twoDigits(text, end + 1);
+				end += 3;
+				if(minute >= 0 && end < text.length() && text.charAt(end) == ':'){
+					second = twoDigits(text, end + 1);
+					end += 3;
+				}
+			}
+			if(minute < 0 || minute > 59 || second < 0 || second > 59){
+				return NO_TIME;
+			}
+
+			final long suffix = nextToken(text, end);
+			final Keyword meridiem = suffix == PhraseLexer.NO_TOKEN ? null : PhraseLexer.getKeyword(suffix);
+			if(meridiem == Keyword.AM || meridiem == Keyword.PM){
+				if(hour < 1 || hour > 12){
+					return NO_TIME;
+				}
+				//12 AM is the first hour of the day, and 12 PM the first hour after noon.
+				hour = hour % 12 + (meridiem == Keyword.PM ? 12 : 0);
+				end = PhraseLexer.getEnd(suffix);
+			} else if(hour > 23){
+				return NO_TIME;
+			}
+			millisOfDay = hour * EpochMath.HOUR_MILLIS + minute * EpochMath.MINUTE_MILLIS + second * EpochMath.SECOND_MILLIS;
+			break;
+		default:
+			return NO_TIME;
+		}
+
+		return PhraseLexer.skipWhitespace(text, end) == text.length() ? millisOfDay : NO_TIME;
+	}
+
+	/**
+	 * @param date The date phrase, or null for the date of the time it is worked out from.
+	 * @param millisOfDay Milliseconds since midnight.
+	 * @return a match for the date at the time of day.
+	 */
+	static TimePhraseMatch at(TimePhraseMatch date, long millisOfDay){
+		return new Match(date, millisOfDay);
+	}
+
+	/**
+	 * @return the token after any whitespace at the position, or {@link PhraseLexer#NO_TOKEN} if there is none.
+	 */
+	private static long nextToken(CharSequence text, int position){
+		final int start = PhraseLexer.skipWhitespace(text, position);
+		return start < text.length() ? PhraseLexer.nextToken(text, start) : PhraseLexer.NO_TOKEN;
+	}
+
+	/**
+	 * @return the value of the two digits at the position, or -1 if there are not two digits there.
+	 */
+	private static int twoDigits(CharSequence text, int position){
+		if(position + 2 > text.length()){
+			return -1;
+		}
+		final int tens = text.charAt(position) - '0';
+		final int units = text.charAt(position + 1) - '0';
+		if(tens < 0 || tens > 9 || units < 0 || units > 9){
+			return -1;
+		}
+		return tens * 10 + units;
+	}
+
+	/**
+	 * Parsed date phrase with a time of day.
+	 */
+	private static final class Match implements TimePhraseMatch {
+		/** The date phrase, or null for the date of the time it is worked out from. */
+		private final TimePhraseMatch date;
+		/** Milliseconds since midnight. */
+		private final long millisOfDay;
+
+		private Match(TimePhraseMatch date, long millisOfDay){
+			this.date = date;
+			this.millisOfDay = millisOfDay;
+		}
+
+		@Override
+		public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+			if(fromWhen == null){
+				throw new NullPointerException("fromWhen is null");
+			}
+
+			final ZonedDateTime day = date == null ? fromWhen : date.getTime(fromWhen, weekFields);
+			return CalendarMath.set(day, LocalDateTime.of(day.toLocalDate(), LocalTime.ofNanoOfDay(millisOfDay * 1000000L)));
+		}
+
+		@Override
+		public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+			final long time = date == null ? fromWhen : date.getTimeMillis(fromWhen, zone, weekFields);
+			final long local = time + zone.getOffsetMillis(time);
+			return zone.toEpochMillis(EpochMath.epochDay(local) * EpochMath.DAY_MILLIS + millisOfDay);
+		}
+
+		@Override
+		public boolean isDateLevel() {
+			//The time of day is set rather than kept.
+			return false;
+		}
+
+		@Override
+		public ChronoUnit getPeriod() {
+			return date == null ? ChronoUnit.DAYS : date.getPeriod();
+		}
+
+		@Override
+		public TimePhraseMatch getDate() {
+			return date == null ? this : date;
+		}
+	}
+}
@@ -1,28 +1,41 @@
 package timePhrase;
 
-import java.util.Calendar;
-import java.util.Date;
-
 /**
  * Represents a pattern of speech that indicates a time.
+ * <br/>
+ * Implementations hold no state between calls, so a single instance may be shared between threads.
  * 
  * @author akauffman
  *
  */
 public interface TimePhrase {
 	
+	/**
+	 * @return the grammar of the words that make up this phrase.
+	 */
+	public PhraseGrammar getGrammar();
+	
+	/**
+	 * Creates the parsed phrase for one set of words accepted by the grammar.
+	 * 
+	 * @param words The keyword chosen for each slot of the grammar, or null for an optional slot that was left out.
+	 * @return the parsed phrase, or null if the words are allowed by the grammar but do not make a phrase together.
+	 */
+	public TimePhraseMatch createMatch(Keyword[] words);
+	
 	/**
 	 * Answers if the given time phrase matches the pattern.
 	 * 
 	 * @param time phrase in plain speech that represents a relative time.
 	 * @return
 	 */
-	public boolean matches(String time);
+	public boolean matches(CharSequence time);
 	
 	/**
-	 * @param fromWhen The date that will be modified based on the phrase.
-	 * @return a {@link Date} that follows the pattern.
-	 * @throws IllegalStateException if the phrase has not found a match when this is called.
+	 * Parses the given time phrase into a {@link TimePhraseMatch} that can be evaluated against any date.
+	 * 
+	 * @param time phrase in plain speech that represents a relative time.
+	 * @return the parsed phrase, or null if the phrase does not match the pattern.
 	 */
-	public Date getTime(Calendar fromWhen) throws IllegalStateException;
+	public TimePhraseMatch parse(CharSequence time);
 }
@@ -1,28 +1,94 @@
 package timePhrase;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * {@link TimePhrase TimePhrases} are not meant to be reused asynchronously so this factory creates them fresh.
+ * {@link TimePhrase TimePhrases} hold no state between calls, so this factory creates them once and shares them
+ * between all callers and threads.
  * 
  * @author akauffman
  *
  */
 public class TimePhraseFactory {
+	/** All {@link TimePhrase TimePhrases} in order of precedence. Replaced, never changed, when a phrase is registered. */
+	private static volatile List<TimePhrase> timePhrases = createTimePhrases();
+	/** Automaton that matches all {@link TimePhrase TimePhrases} in a single pass. */
+	private static volatile PhraseAutomaton automaton = PhraseAutomaton.compile(timePhrases);
+	
 	/**
-	 * Creates all {@link TimePhrase TimePhrases} in order of importance. Typically the most common phrases
-	 * should be created first.
+	 * Gets all {@link TimePhrase TimePhrases} in order of precedence. The returned list is shared and cannot be modified.
 	 * 
 	 * @return all available {@link TimePhrase}
 	 */
 	public static List<TimePhrase> getTimePhrases(){
+		return timePhrases;
+	}
+	
+	/**
+	 * Gets the automaton compiled from all {@link TimePhrase TimePhrases}. Where phrases overlap, the phrase
+	 * that comes first in {@link #getTimePhrases()} wins.
+	 * 
+	 * @return the shared {@link PhraseAutomaton}
+	 */
+	public static PhraseAutomaton getAutomaton(){
+		return automaton;
+	}
+	
+	/**
+	 * Adds a {@link TimePhrase} after all of the others, so it has the lowest precedence, and compiles a new
+	 * automaton. Callers that already hold the old list or automaton keep using them, and later calls see the
+	 * new ones. Since the new phrase never wins over an existing one, phrases that already matched still parse
+	 * the same way.
+	 * 
+	 * @param timePhrase phrase to add.
+	 */
+	public static synchronized void register(TimePhrase timePhrase){
+		if(timePhrase == null){
+			throw new NullPointerException("timePhrase is null");
+		}
+		
+		final List<TimePhrase> newTimePhrases = new ArrayList<>(timePhrases);
+		newTimePhrases.add(timePhrase);
+		final PhraseAutomaton newAutomaton = PhraseAutomaton.compile(newTimePhrases);
+		
+		timePhrases = Collections.unmodifiableList(newTimePhrases);
+		automaton = newAutomaton;
+	}
+	
+	/**
+	 * Puts back a list returned by {@link #getTimePhrases()} and compiles its automaton, undoing any phrases
+	 * registered since. Used by tests, which share the factory with every other test in the JVM.
+	 * 
+	 * @param saved phrases to restore.
+	 */
+	static synchronized void restore(List<TimePhrase> saved){
+		if(saved == null){
+			throw new NullPointerException("saved is null");
+		}
+		
+		final PhraseAutomaton newAutomaton = PhraseAutomaton.compile(saved);
+		timePhrases = saved;
+		automaton = newAutomaton;
+	}
+	
+	/**
+	 * Creates all {@link TimePhrase TimePhrases} in order of precedence. The order only decides which phrase wins
+	 * where two grammars accept the same words. It does not change how fast a phrase is found, since the
+	 * {@link PhraseAutomaton} reads every phrase in one pass whatever its place in the list.
+	 * 
+	 * @return all available {@link TimePhrase}
+	 */
+	private static List<TimePhrase> createTimePhrases(){
 		final List<TimePhrase> timePhrases = new ArrayList<>();
 		timePhrases.add(new NearTimePhrase());
 		timePhrases.add(new DayOfWeekTimePhrase());
 		timePhrases.add(new ChangeUnitTimePhrase());
 		timePhrases.add(new MonthTimePhrase());
+		timePhrases.add(new FirstLastUnitTimePhrase());
+		timePhrases.add(new FirstLastWeekTimePhrase());
 		
-		return timePhrases;
+		return Collections.unmodifiableList(timePhrases);
 	}
 }
@@ -0,0 +1,115 @@
+package timePhrase;
+
+import java.time.DayOfWeek;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * The immutable result of parsing a phrase with a {@link TimePhrase}. It holds the parsed components of the
+ * phrase, such as the direction or the day of the week, and does not keep the input string around.
+ * 
+ * @author akauffman
+ *
+ */
+public interface TimePhraseMatch {
+	
+	/**
+	 * @param fromWhen The date that will be modified based on the phrase.
+	 * @param weekFields Rules for the first day of the week and the first week of a month or year.
+	 * @return a {@link ZonedDateTime} that follows the pattern.
+	 */
+	public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields);
+	
+	/**
+	 * Same as {@link #getTime(ZonedDateTime, WeekFields)} on milliseconds since the epoch. Does not allocate.
+	 * 
+	 * @param fromWhen The time in milliseconds since the epoch that will be modified based on the phrase.
+	 * @param zone The time zone the phrase is worked out in.
+	 * @param weekFields Rules for the first day of the week and the first week of a month or year.
+	 * @return the time in milliseconds since the epoch that follows the pattern.
+	 */
+	public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields);
+	
+	/**
+	 * Uses the time zone and week rules of the calendar.
+	 * 
+	 * @param fromWhen The date that will be modified based on the phrase. It is not altered.
+	 * @return a {@link Date} that follows the pattern.
+	 */
+	public default Date getTime(Calendar fromWhen){
+		if(fromWhen == null){
+			throw new NullPointerException("fromWhen is null");
+		}
+		
+		final ZonedDateTime from = ZonedDateTime.ofInstant(fromWhen.toInstant(), fromWhen.getTimeZone().toZoneId());
+		//Calendar days of the week start at Sunday = 1, ISO days start at Monday = 1.
+		final DayOfWeek firstDayOfWeek = DayOfWeek.SUNDAY.plus(fromWhen.getFirstDayOfWeek() - 1);
+		final WeekFields weekFields = WeekFields.of(firstDayOfWeek, fromWhen.getMinimalDaysInFirstWeek());
+		
+		return Date.from(getTime(from, weekFields).toInstant());
+	}
+	
+	/**
+	 * A date level match keeps the time of day of fromWhen, and the date it returns depends only on the date of fromWhen.
+	 * Its result only changes at midnight, so it can be worked out once per day.
+	 * 
+	 * @return true if the match only moves the date.
+	 */
+	public boolean isDateLevel();
+	
+	/**
+	 * Gets the match for the same phrase with a different quantity. Only called on a match created for a phrase
+	 * with a {@link Keyword#NUMBER}, which is created for a quantity of one.
+	 * 
+	 * @param quantity The number in the phrase.
+	 * @return the match for the quantity.
+	 */
+	public default TimePhraseMatch withQuantity(long quantity){
+		throw new UnsupportedOperationException("Phrase does not have a quantity");
+	}
+	
+	/**
+	 * Gets the unit of time after which the phrase gives the same kind of time again. Ex: a week for Monday, or a
+	 * month for the first day of the month. Used by {@link Recurrence} to step from one time to the next.
+	 * 
+	 * @return the period of the phrase, or null if the phrase does not repeat.
+	 */
+	public default ChronoUnit getPeriod(){
+		return null;
+	}
+	
+	/**
+	 * Gets the unit of time the phrase names. Ex: a day for Monday, or a month for Last Month. Used by {@link Range}
+	 * to find the stretch of time the phrase covers, which is that unit around the time of the phrase.
+	 * 
+	 * @return the span of the phrase, or null if the phrase names an instant, such as Now.
+	 */
+	public default ChronoUnit getSpan(){
+		return null;
+	}
+	
+	/**
+	 * Gets the phrase for the end of the stretch nearest the time it is worked out from, for a phrase that names
+	 * several units. Ex: Last 7 Days names the seven days before today, and its near end is Yesterday. Used by
+	 * {@link Range}, which covers the span of both ends.
+	 * 
+	 * @return the near end of the phrase, or the phrase itself if it names one unit.
+	 */
+	public default TimePhraseMatch getNearEnd(){
+		return this;
+	}
+	
+	/**
+	 * Gets the phrase for the date, without a time of day after At. Ex: Next Friday for Next Friday at 5pm. Used to
+	 * count a phrase with a time of day under the family of its date.
+	 * 
+	 * @return the date phrase, or the phrase itself if it has no time of day or its date is the time it is worked out
+	 * from.
+	 */
+	public default TimePhraseMatch getDate(){
+		return this;
+	}
+}
@@ -0,0 +1,183 @@
+package timePhrase;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The offsets of a time zone as a sorted table of transitions, so an offset can be looked up by binary search
+ * without allocating. {@link ZoneRules} allocates an {@link Instant} for each lookup, and a list of transitions for
+ * each year after its last stored rule.
+ * <br/>
+ * Transitions from 1800 to 2100 are in the table. Times outside of that range fall back to the {@link ZoneRules}.
+ * <br/>
+ * Phrases are worked out in milliseconds from the offset of the time they start from, so an offset is only given for
+ * times from {@link #MIN_EPOCH_MILLIS} to {@link #MAX_EPOCH_MILLIS}, about 146 million years either side of 1970.
+ * That leaves room for any phrase to move the time without the arithmetic wrapping around the range of a long. A
+ * phrase that starts outside of the range fails rather than giving a wrong time, as may one that lands outside of it.
+ * <br/>
+ * Tables are built once per zone and shared between threads.
+ *
+ * @author akauffman
+ *
+ */
+public final class ZoneTable {
+	/** 1800-01-01T00:00Z */
+	private static final long FIRST = -5364662400000L;
+	/** 2100-01-01T00:00Z */
+	private static final long LAST = 4102444800000L;
+
+	/** Earliest time in milliseconds since the epoch that phrases are worked out from. */
+	public static final long MIN_EPOCH_MILLIS = Long.MIN_VALUE / 2;
+	/** Latest time in milliseconds since the epoch that phrases are worked out from. */
+	public static final long MAX_EPOCH_MILLIS = Long.MAX_VALUE / 2;
+
+	/** Returned by {@link #getFixedOffsetMillis(long, long)} when the offset changes. */
+	static final int NO_FIXED_OFFSET = Integer.MIN_VALUE;
+
+	/** Tables built so far. */
+	private static final ConcurrentHashMap<ZoneId, ZoneTable> TABLES = new ConcurrentHashMap<>();
+
+	/** The zone. */
+	private final ZoneId zone;
+	/** Times in milliseconds when the offset changes. */
+	private final long[] transitions;
+	/** Offset in milliseconds before each transition, followed by the offset after the last one. */
+	private final int[] offsets;
+
+	private ZoneTable(ZoneId zone){
+		this.zone = zone;
+
+		final ZoneRules rules = zone.getRules();
+		long[] times = new long[16];
+		int[] offsetsBefore = new int[17];
+		int count = 0;
+
+		ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(FIRST));
+		while(transition != null && transition.getInstant().toEpochMilli() < LAST){
+			if(count == times.length){
+				times = Arrays.copyOf(times, count * 2);
+				offsetsBefore = Arrays.copyOf(offsetsBefore, count * 2 + 1);
+			}
+			times[count] = transition.getInstant().toEpochMilli();
+			offsetsBefore[count] = transition.getOffsetBefore().getTotalSeconds() * 1000;
+			count++;
+			transition = rules.nextTransition(transition.getInstant());
+		}
+		offsetsBefore[count] = rules.getOffset(Instant.ofEpochMilli(count == 0 ? FIRST : times[count - 1])).getTotalSeconds() * 1000;
+
+		this.transitions = Arrays.copyOf(times, count);
+		this.offsets = Arrays.copyOf(offsetsBefore, count + 1);
+	}
+
+	/**
+	 * @param zone time zone.
+	 * @return the table for the zone.
+	 */
+	public static ZoneTable of(ZoneId zone){
+		if(zone == null){
+			throw new NullPointerException("zone is null");
+		}
+
+		final ZoneTable table = TABLES.get(zone);
+		if(table != null){
+			return table;
+		}
+
+		final ZoneTable created = new ZoneTable(zone);
+		final ZoneTable existing = TABLES.putIfAbsent(zone, created);
+		return existing == null ? created : existing;
+	}
+
+	/**
+	 * @return the zone.
+	 */
+	public ZoneId getZone(){
+		return zone;
+	}
+
+	/**
+	 * @param time milliseconds since the epoch.
+	 * @return the offset from UTC in milliseconds at the given time.
+	 * @throws ArithmeticException if the time is before {@link #MIN_EPOCH_MILLIS} or after {@link #MAX_EPOCH_MILLIS}.
+	 */
+	public int getOffsetMillis(long time){
+		if(time < FIRST || time >= LAST){
+			checkRange(time);
+			return zone.getRules().getOffset(Instant.ofEpochMilli(time)).getTotalSeconds() * 1000;
+		}
+
+		return offsets[countTransitions(time)];
+	}
+
+	/**
+	 * Converts a local time to milliseconds since the epoch. A local time that is skipped when the clocks go forward
+	 * is moved forward by the length of the gap. A local time that happens twice when the clocks go back is taken
+	 * as the later of the two, which is standard time. This is what a lenient {@link java.util.Calendar} does.
+	 *
+	 * @param localMillis local milliseconds since the epoch.
+	 * @return milliseconds since the epoch.
+	 */
+	public long toEpochMillis(long localMillis){
+		final long from = localMillis - EpochMath.DAY_MILLIS;
+		final long to = localMillis + EpochMath.DAY_MILLIS;
+		if(from >= FIRST && to < LAST){
+			final int first = countTransitions(from);
+			final int last = countTransitions(to);
+			if(first == last){
+				return localMillis - offsets[first];
+			} else if(first + 1 == last){
+				//One transition nearby. Use the offset after it if that puts the time after it.
+				final long after = localMillis - offsets[last];
+				return after >= transitions[first] ? after : localMillis - offsets[first];
+			}
+		}
+
+		final LocalDateTime local = LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000L), (int)Math.floorMod(localMillis, 1000L) * 1000000, ZoneOffset.UTC);
+		return ZonedDateTime.ofLocal(local, zone, null).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+	}
+
+	/**
+	 * @param fromLocal local milliseconds since the epoch.
+	 * @param toLocal local milliseconds since the epoch, not before fromLocal.
+	 * @return the offset in milliseconds if it does not change within a day of any local time between the two, so
+	 * that each of them converts to and from the epoch with that offset, otherwise {@link #NO_FIXED_OFFSET}.
+	 */
+	int getFixedOffsetMillis(long fromLocal, long toLocal){
+		final long from = fromLocal - EpochMath.DAY_MILLIS;
+		final long to = toLocal + EpochMath.DAY_MILLIS;
+		if(from < FIRST || to >= LAST){
+			return NO_FIXED_OFFSET;
+		}
+
+		final int index = countTransitions(from);
+		if(index < transitions.length && transitions[index] <= to){
+			return NO_FIXED_OFFSET;
+		}
+		return offsets[index];
+	}
+
+	/**
+	 * @throws ArithmeticException if the time is before {@link #MIN_EPOCH_MILLIS} or after {@link #MAX_EPOCH_MILLIS}.
+	 */
+	private static void checkRange(long time){
+		if(time < MIN_EPOCH_MILLIS || time > MAX_EPOCH_MILLIS){
+			throw new ArithmeticException("Time is out of range: " + time);
+		}
+	}
+
+	/**
+	 * @param time milliseconds since the epoch within the table.
+	 * @return the number of transitions at or before the time.
+	 */
+	private int countTransitions(long time){
+		final int index = Arrays.binarySearch(transitions, time);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+}
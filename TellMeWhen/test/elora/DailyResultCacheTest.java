@@ -0,0 +1,142 @@
+package elora;
+
+import static org.junit.Assert.*;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DailyResultCache} class.
+ *
+ * @author akauffman
+ *
+ */
+public class DailyResultCacheTest {
+	private static final String[] PHRASES = {"NOW", "TODAY", "TOMORROW", "YESTERDAY", "NEXT THURSDAY", "LAST MONDAY", "NEXT WEEK",
+			"LAST MONTH", "NEXT YEAR", "NEXT MARCH", "LAST NOVEMBER", "NEXT HOUR", "LAST MINUTE", "NEXT SECOND", "LAST MILLISECOND"};
+
+	private TimeZone defaultZone;
+
+	@Before
+	public void setUp(){
+		defaultZone = TimeZone.getDefault();
+	}
+
+	@After
+	public void tearDown(){
+		TimeZone.setDefault(defaultZone);
+	}
+
+	/**
+	 * Tests that a date level phrase is only worked out once per day.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testHit() throws InvalidPatternException {
+		TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+		final DailyResultCache cache = new DailyResultCache(new ParseCache(16));
+		final long now = getTime(2015, 3, 6, 1, 1, 1);
+
+		cache.listen("NEXT THURSDAY", now);
+		cache.listen("next thursday", now + 1000);
+		cache.listen("NEXT THURSDAY", now + 20 * 60 * 60 * 1000);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(2, cache.getHitCount());
+
+		cache.listen("NEXT HOUR", now);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(2, cache.getHitCount());
+	}
+
+	/**
+	 * Tests that the cache starts over at midnight.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testRollOver() throws InvalidPatternException {
+		TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+		final DailyResultCache cache = new DailyResultCache(new ParseCache(16));
+		final long midnight = getTime(2015, 3, 7, 0, 0, 0);
+
+		assertEquals(new Date(getTime(2015, 3, 7, 23, 59, 59) + 999), cache.listen("TOMORROW", midnight - 1));
+		assertEquals(new Date(getTime(2015, 3, 8, 0, 0, 0)), cache.listen("TOMORROW", midnight));
+		assertEquals(2, cache.getMissCount());
+	}
+
+	/**
+	 * Tests that cached results match resolving the phrase in full, including around daylight saving changes.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testMatchesListen() throws InvalidPatternException {
+		for(String zone : new String[]{"UTC", "America/New_York", "Australia/Lord_Howe", "America/Sao_Paulo"}){
+			TimeZone.setDefault(TimeZone.getTimeZone(zone));
+			final DailyResultCache cache = new DailyResultCache(new ParseCache(16));
+
+			//Step through a year, a little over 5 hours at a time, so every time of day and both daylight saving changes are hit.
+			final long start = getTime(2015, 0, 1, 0, 0, 0);
+			for(long now = start; now < start + 366L * 24 * 60 * 60 * 1000; now += 5 * 60 * 60 * 1000 + 7 * 60 * 1000 + 13){
+				for(String phrase : PHRASES){
+					assertEquals(zone + " " + phrase + " " + new Date(now), TellMeWhen.listen(phrase, new Date(now)), cache.listen(phrase, now));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests that changing the default time zone starts over.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testTimeZoneChange() throws InvalidPatternException {
+		final DailyResultCache cache = new DailyResultCache(new ParseCache(16));
+		final long now = getTime(2015, 3, 6, 1, 1, 1);
+
+		TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+		cache.listen("TODAY", now);
+		TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+		assertEquals(TellMeWhen.listen("TODAY", new Date(now)), cache.listen("TODAY", now));
+		assertEquals(2, cache.getMissCount());
+	}
+
+	/**
+	 * Tests that a quantity phrase parsed again after it is evicted from the parse cache hits its target, and that
+	 * the number of targets kept for a day is bounded.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testQuantityBounded() throws InvalidPatternException {
+		TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+		final DailyResultCache cache = new DailyResultCache(new ParseCache(4));
+		final long now = getTime(2015, 3, 6, 1, 1, 1);
+
+		for(int i = 0; i < 3; i++){
+			for(int days = 1; days <= 100; days++){
+				cache.listen("IN " + days + " DAYS", now);
+			}
+		}
+		assertEquals(100, cache.getTargetCount());
+		assertEquals(100, cache.getMissCount());
+		assertEquals(200, cache.getHitCount());
+
+		for(int days = 1; days <= 2 * DailyResultCache.MAX_TARGETS; days++){
+			assertEquals(new Date(now + days * 24L * 60 * 60 * 1000), cache.listen("IN " + days + " DAYS", now));
+		}
+		assertEquals(DailyResultCache.MAX_TARGETS, cache.getTargetCount());
+	}
+
+	/**
+	 * @return the time in milliseconds for the given local date and time.
+	 */
+	private static long getTime(int year, int month, int day, int hour, int minute, int second){
+		final Calendar cal = Calendar.getInstance();
+		cal.clear();
+		cal.set(year, month, day, hour, minute, second);
+		return cal.getTimeInMillis();
+	}
+}
@@ -0,0 +1,99 @@
+package elora;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link FileColumnResolver} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class FileColumnResolverTest {
+	/** Monday, April 6th, 2015 01:01:01 in New York. */
+	private static final long FROM = 1428296461000L;
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	/** Rows that did not match in the last call to resolve. */
+	private long lastUnmatched;
+
+	/**
+	 * Tests rewriting a CSV column, with quoted fields, line breaks in quotes, a header, and short rows.
+	 * @throws IOException 
+	 */
+	@Test
+	public void testText() throws IOException {
+		final String input = "id,when,note\r\n1,next thursday,\"a, b\"\r\n2,\"bogus\",\"multi\nline\"\r\n3,\"Tomorrow\",x\r\n4\n5,now";
+		final FileColumnResolver resolver = new FileColumnResolver(FROM, ZONE, ',', 1, true, false);
+		
+		final byte[] output = resolve(resolver, input);
+		assertEquals(2, lastUnmatched);
+		assertEquals("id,when,note\r\n1,2015-04-09T01:01:01.000-04:00,\"a, b\"\r\n2,,\"multi\nline\"\r\n3,2015-04-07T01:01:01.000-04:00,x\r\n4\n5,2015-04-06T01:01:01.000-04:00",
+				new String(output, StandardCharsets.US_ASCII));
+	}
+	
+	/**
+	 * Tests a binary column from a TSV file, split across many mapped windows.
+	 * @throws IOException 
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testBinary() throws IOException, InvalidPatternException {
+		final StringBuilder input = new StringBuilder();
+		for(int i = 0; i < 1000; i++){
+			input.append(i).append(i % 3 == 0 ? "\tNOT A DATE\n" : i % 3 == 1 ? "\tNext Thursday\n" : "\tLAST MONTH\n");
+		}
+		final FileColumnResolver resolver = new FileColumnResolver(FROM, ZONE, '\t', 1, false, true, 64);
+		
+		final ByteBuffer output = ByteBuffer.wrap(resolve(resolver, input.toString())).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(334, lastUnmatched);
+		assertEquals(1000 * 8, output.remaining());
+		for(int i = 0; i < 1000; i++){
+			final long expected = i % 3 == 0 ? FileColumnResolver.NO_MATCH : TellMeWhen.resolveMillis(i % 3 == 1 ? "NEXT THURSDAY" : "LAST MONTH", FROM, ZONE);
+			assertEquals(expected, output.getLong());
+		}
+	}
+	
+	/**
+	 * Tests that a row longer than the mapped window is reported.
+	 */
+	@Test
+	public void testLongRow() {
+		try{
+			resolve(new FileColumnResolver(FROM, ZONE, ',', 0, false, false, 8), "NEXT THURSDAY\nNOW\n");
+			fail("Allowed row longer than the window.");
+		} catch (IOException e){
+			//passes
+		}
+	}
+	
+	/**
+	 * @return the output of resolving the input.
+	 */
+	private byte[] resolve(FileColumnResolver resolver, String input) throws IOException {
+		final File in = folder.newFile();
+		final File out = folder.newFile();
+		Files.write(in.toPath(), input.getBytes(StandardCharsets.US_ASCII));
+		try (FileChannel inChannel = FileChannel.open(in.toPath(), StandardOpenOption.READ);
+				FileChannel outChannel = FileChannel.open(out.toPath(), StandardOpenOption.WRITE)){
+			lastUnmatched = resolver.resolve(inChannel, outChannel);
+		}
+		return Files.readAllBytes(out.toPath());
+	}
+}
@@ -0,0 +1,128 @@
+package elora;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import timePhrase.TimePhraseFactory;
+import timePhrase.TimePhraseMatch;
+
+/**
+ * Tests the {@link ParseCache} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class ParseCacheTest {
+
+	/**
+	 * Tests that a repeated phrase is found in the cache.
+	 */
+	@Test
+	public void testHit() {
+		final ParseCache cache = new ParseCache(16);
+		
+		final TimePhraseMatch match = cache.parse("NEXT MONDAY");
+		assertNotNull(match);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		
+		assertSame(match, cache.parse("NEXT MONDAY"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+	
+	/**
+	 * Tests that phrases that differ only in case and whitespace share an entry.
+	 */
+	@Test
+	public void testNormalized() {
+		final ParseCache cache = new ParseCache(16);
+		
+		cache.parse("NEXT MONDAY");
+		cache.parse("next monday");
+		cache.parse("  Next \t Monday ");
+		assertEquals(2, cache.getHitCount());
+		
+		cache.parse("NEXTMONDAY");
+		assertEquals(2, cache.getMissCount());
+	}
+	
+	/**
+	 * Tests that unknown phrases are not cached.
+	 */
+	@Test
+	public void testNoMatch() {
+		final ParseCache cache = new ParseCache(16);
+		
+		assertNull(cache.parse("NOT A VALID PATTERN"));
+		assertNull(cache.parse("NOT A VALID PATTERN"));
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+	
+	/**
+	 * Tests that the cache does not grow past its capacity.
+	 */
+	@Test
+	public void testEviction() {
+		final ParseCache cache = new ParseCache(4);
+		assertEquals(4, cache.getCapacity());
+		
+		final String[] phrases = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY"};
+		for(String phrase : phrases){
+			cache.parse(phrase);
+		}
+		assertEquals(2, cache.getEvictionCount());
+		
+		for(String phrase : phrases){
+			assertEquals(TimePhraseFactory.getAutomaton().parse(phrase), cache.parse(phrase));
+		}
+	}
+	
+	/**
+	 * Tests that threads sharing the cache get the same results as parsing directly.
+	 * 
+	 * @throws Exception 
+	 */
+	@Test
+	public void testConcurrent() throws Exception {
+		final ParseCache cache = new ParseCache(8);
+		final String[] phrases = {"TODAY", "NEXT WEEK", "LAST MONTH", "NEXT APRIL", "FRIDAY", "YESTERDAY", "NEXT YEAR", "LAST DAY",
+				"THIS MAY", "PREVIOUS SUNDAY", "TOMORROW", "LAST HOUR"};
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Boolean>> results = new ArrayList<>();
+			for(int t = 0; t < 4; t++){
+				results.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						for(int i = 0; i < 10000; i++){
+							final String phrase = phrases[i % phrases.length];
+							if(cache.parse(phrase) != TimePhraseFactory.getAutomaton().parse(phrase)){
+								return false;
+							}
+						}
+						return true;
+					}
+				}));
+			}
+			
+			for(Future<Boolean> result : results){
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		
+		assertEquals(40000, cache.getHitCount() + cache.getMissCount());
+	}
+}
@@ -0,0 +1,95 @@
+package elora;
+
+import static org.junit.Assert.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link RangeFilter} class.
+ *
+ * @author akauffman
+ *
+ */
+public class RangeFilterTest {
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+	/**
+	 * Tests that the filter holds the times from the start of yesterday up to, but not including, the start of today.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testYesterday() throws InvalidPatternException {
+		final ZonedDateTime now = ZonedDateTime.of(2015, 4, 8, 10, 0, 0, 0, ZONE); //Wednesday, April 8th, 2015
+		final RangeFilter yesterday = TellMeWhen.within("Yesterday", now.toInstant().toEpochMilli(), ZONE);
+
+		final long start = ZonedDateTime.of(2015, 4, 7, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli();
+		final long end = ZonedDateTime.of(2015, 4, 8, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli();
+		assertTrue(yesterday.test(start));
+		assertTrue(yesterday.test(end - 1));
+		assertFalse(yesterday.test(start - 1));
+		assertFalse(yesterday.test(end));
+		assertFalse(yesterday.test(now.toInstant().toEpochMilli()));
+
+		//Every hour of the three days around it, of which one day is yesterday.
+		assertEquals(24, LongStream.range(0, 72).map(hour -> start - 24 * 3600000L + hour * 3600000L).filter(yesterday).count());
+	}
+
+	/**
+	 * Tests that refreshing moves the bounds with the reference time.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testRefresh() throws InvalidPatternException {
+		final ZonedDateTime now = ZonedDateTime.of(2015, 4, 8, 10, 0, 0, 0, ZONE);
+		final RangeFilter lastMonth = TellMeWhen.within("last month", now.toInstant().toEpochMilli(), ZONE);
+		final long march = ZonedDateTime.of(2015, 3, 15, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli();
+		final long april = ZonedDateTime.of(2015, 4, 15, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli();
+		assertTrue(lastMonth.test(march));
+		assertFalse(lastMonth.test(april));
+
+		lastMonth.refresh(now.plusMonths(1).toInstant().toEpochMilli());
+		assertFalse(lastMonth.test(march));
+		assertTrue(lastMonth.test(april));
+		assertEquals(TellMeWhen.listenRange("last month", now.plusMonths(1)), lastMonth.getInterval());
+	}
+
+	/**
+	 * Tests that a number of days holds every one of those days, and that the same phrase at both ends of a between
+	 * phrase holds that one day.
+	 * @throws InvalidPatternException
+	 */
+	@Test
+	public void testQuantity() throws InvalidPatternException {
+		final ZonedDateTime now = ZonedDateTime.of(2015, 4, 19, 10, 0, 0, 0, ZONE); //Sunday, April 19th, 2015
+		final ZonedDateTime today = ZonedDateTime.of(2015, 4, 19, 0, 0, 0, 0, ZONE);
+		final RangeFilter lastWeek = TellMeWhen.within("Last 7 Days", now.toInstant().toEpochMilli(), ZONE);
+		assertTrue(lastWeek.test(today.minusDays(7).toInstant().toEpochMilli()));
+		assertTrue(lastWeek.test(today.minusDays(1).toInstant().toEpochMilli()));
+		assertFalse(lastWeek.test(today.minusDays(7).toInstant().toEpochMilli() - 1));
+		assertFalse(lastWeek.test(today.toInstant().toEpochMilli()));
+		//Noon on each of the ten days before now.
+		assertEquals(7, LongStream.range(1, 11).map(day -> today.minusDays(day).plusHours(12).toInstant().toEpochMilli()).filter(lastWeek).count());
+
+		final RangeFilter tomorrow = TellMeWhen.within("Between Tomorrow and Tomorrow", now.toInstant().toEpochMilli(), ZONE);
+		assertEquals(TellMeWhen.listenRange("Tomorrow", now), tomorrow.getInterval());
+	}
+
+	/**
+	 * Tests that phrases that do not name a stretch of time are rejected.
+	 */
+	@Test
+	public void testNoMatch() {
+		for(String phrase : new String[]{"Now", "Next Blue Moon", "Between Tomorrow and Yesterday", "Between Now and Now"}){
+			try {
+				TellMeWhen.within(phrase, 0, ZONE);
+				fail("A phrase that is not a range was accepted: " + phrase);
+			} catch (InvalidPatternException e) {
+				//Expected
+			}
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package elora;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link ResolutionMetrics} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class ResolutionMetricsTest {
+
+	/**
+	 * Tests the counts of each family and of misses.
+	 */
+	@Test
+	public void testCounts() {
+		final ResolutionMetrics metrics = new ResolutionMetrics();
+		metrics.resolved("DayOfWeek", 100);
+		metrics.resolved("DayOfWeek", 200);
+		metrics.resolved("Near", 300);
+		metrics.missed(50);
+		
+		assertEquals(3, metrics.getResolvedCount());
+		assertEquals(1, metrics.getMissCount());
+		final Map<String, Long> families = metrics.getFamilyCounts();
+		assertEquals(Long.valueOf(2), families.get("DayOfWeek"));
+		assertEquals(Long.valueOf(1), families.get("Near"));
+		
+		metrics.reset();
+		assertEquals(0, metrics.getResolvedCount());
+		assertEquals(0, metrics.getMissCount());
+	}
+	
+	/**
+	 * Tests that a phrase with a time of day is counted under the family of its date.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testTimeOfDayFamily() throws InvalidPatternException {
+		final ResolutionMetrics metrics = new ResolutionMetrics();
+		TellMeWhen.setResolutionListener(metrics);
+		try{
+			TellMeWhen.resolveMillis("Next Friday at 5pm", 0, ZoneOffset.UTC);
+			TellMeWhen.resolveMillis("Tomorrow at Noon", 0, ZoneOffset.UTC);
+			TellMeWhen.resolveMillis("In 3 Days at End of Day", 0, ZoneOffset.UTC);
+		} finally {
+			TellMeWhen.setResolutionListener(null);
+		}
+		
+		final Map<String, Long> families = metrics.getFamilyCounts();
+		assertEquals(Long.valueOf(1), families.get("DayOfWeek"));
+		assertEquals(Long.valueOf(1), families.get("Near"));
+		assertEquals(Long.valueOf(1), families.get("ChangeUnit"));
+		assertNull(families.get("TimeOfDay"));
+	}
+	
+	/**
+	 * Tests the latency histogram and the percentiles worked out from it.
+	 */
+	@Test
+	public void testLatency() {
+		final ResolutionMetrics metrics = new ResolutionMetrics();
+		assertEquals(0, metrics.getLatencyP50Nanos());
+		
+		for(int i = 0; i < 98; i++){
+			metrics.resolved("Near", 100);
+		}
+		metrics.missed(0);
+		metrics.resolved("Near", 5000);
+		
+		final long[] histogram = metrics.getLatencyHistogram();
+		assertEquals(1, histogram[0]);
+		assertEquals(98, histogram[6]);
+		assertEquals(1, histogram[12]);
+		assertEquals(127, metrics.getLatencyP50Nanos());
+		assertEquals(127, metrics.getLatencyP99Nanos());
+		
+		metrics.resolved("Near", 5000);
+		assertEquals(8191, metrics.getLatencyP99Nanos());
+	}
+	
+	/**
+	 * Tests that the MBean can be read through the platform MBean server.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testMBean() throws Exception {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName name = new ObjectName(ResolutionMetrics.OBJECT_NAME);
+		final ResolutionMetrics metrics = new ResolutionMetrics().register();
+		try{
+			metrics.missed(10);
+			assertEquals(Long.valueOf(1), server.getAttribute(name, "MissCount"));
+			assertNotNull(server.getAttribute(name, "FamilyCounts"));
+			server.invoke(name, "reset", null, null);
+			assertEquals(0, metrics.getMissCount());
+		} finally {
+			metrics.unregister();
+		}
+		assertFalse(server.isRegistered(name));
+	}
+}
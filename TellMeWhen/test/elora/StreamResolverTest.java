@@ -0,0 +1,89 @@
+package elora;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.ZoneId;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link StreamResolver} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class StreamResolverTest {
+	/** Monday, April 6th, 2015 01:01:01 in New York. */
+	private static final long FROM = 1428296461000L;
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+	/**
+	 * Tests that each line is resolved, with any line ending and without one on the last line.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testResolve() throws Exception {
+		final StringWriter out = new StringWriter();
+		final long matched = new StreamResolver(FROM, ZONE, false).resolve(new StringReader("Next Thursday\r\nNOW\n  tomorrow  \nlast hour"), out);
+		
+		assertEquals(4, matched);
+		assertEquals("2015-04-09T01:01:01.000-04:00\n2015-04-06T01:01:01.000-04:00\n2015-04-07T01:01:01.000-04:00\n2015-04-06T00:01:01.000-04:00\n", out.toString());
+	}
+	
+	/**
+	 * Tests that a line that does not match stops the stream after the lines before it are written.
+	 * @throws IOException 
+	 */
+	@Test
+	public void testStop() throws IOException {
+		final StringWriter out = new StringWriter();
+		try{
+			new StreamResolver(FROM, ZONE, false).resolve(new StringReader("NOW\nNOT A DATE\nNOW\n"), out);
+			fail("Allowed invalid pattern.");
+		} catch (InvalidPatternException e){
+			assertEquals("Line 2 not a recognized pattern", e.getMessage());
+		}
+		assertEquals("2015-04-06T01:01:01.000-04:00\n", out.toString());
+	}
+	
+	/**
+	 * Tests the error column.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testErrorColumn() throws Exception {
+		final StringWriter out = new StringWriter();
+		final long matched = new StreamResolver(FROM, ZONE, true).resolve(new StringReader("NOW\n\nNOT A DATE\n"), out);
+		
+		assertEquals(1, matched);
+		assertEquals("2015-04-06T01:01:01.000-04:00\t\n\tInput string not a recognized pattern\n\tInput string not a recognized pattern\n", out.toString());
+	}
+	
+	/**
+	 * Tests more lines than fit in the buffers, and a line longer than the read buffer.
+	 * @throws Exception 
+	 */
+	@Test
+	public void testLargeInput() throws Exception {
+		final StringBuilder in = new StringBuilder();
+		for(int i = 0; i < 20000; i++){
+			in.append(i % 2 == 0 ? "NEXT THURSDAY\n" : "LAST MONTH\n");
+		}
+		for(int i = 0; i < 100000; i++){
+			in.append(' ');
+		}
+		in.append("NOW");
+		
+		final StringWriter out = new StringWriter();
+		assertEquals(20001, new StreamResolver(FROM, ZONE, false).resolve(new StringReader(in.toString()), out));
+		
+		final String[] lines = out.toString().split("\n");
+		assertEquals(20001, lines.length);
+		assertEquals("2015-04-09T01:01:01.000-04:00", lines[0]);
+		assertEquals("2015-03-06T01:01:01.000-05:00", lines[19999]);
+		assertEquals("2015-04-06T01:01:01.000-04:00", lines[20000]);
+	}
+}
@@ -2,12 +2,25 @@ package elora;
 
 import static org.junit.Assert.*;
 
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 
 import elora.TellMeWhen;
+import timePhrase.TimeInterval;
+import timePhrase.ZoneTable;
 
 /**
  * Tests the {@link TellMeWhen} class.
@@ -34,7 +47,7 @@ public class TellMeWhenTest {
 		}
 		
 		try{
-			TellMeWhen.listen("NOW", null);
+			TellMeWhen.listen("NOW", (Date)null);
 			fail("Allowed null fromWhen.");
 		} catch (NullPointerException e){
 			//Passes test
@@ -79,10 +92,462 @@ public class TellMeWhenTest {
 	public void testPhraseFromWhen() throws InvalidPatternException{
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		assertEquals(fromWhen.getTime(), TellMeWhen.listen("NOW", fromWhen.getTime()));
 	}
 
+	/**
+	 * Tests that first and last phrases are found, including those in the readme.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testFirstLastPhrases() throws InvalidPatternException{
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		
+		final Calendar lastDayOfWeek = Calendar.getInstance();
+		lastDayOfWeek.set(2015, 3, 11, 1, 1, 1); //Saturday, April 11th, 2015
+		lastDayOfWeek.set(Calendar.MILLISECOND, 0);
+		
+		final Calendar lastMilliOfYear = Calendar.getInstance();
+		lastMilliOfYear.set(2015, 11, 31, 23, 59, 59); //December 31st, 2015
+		lastMilliOfYear.set(Calendar.MILLISECOND, 999);
+		
+		assertEquals(lastDayOfWeek.getTime(), TellMeWhen.listen("Last Day of the Week", fromWhen.getTime()));
+		assertEquals(lastMilliOfYear.getTime(), TellMeWhen.listen("Last Millisecond of the Year", fromWhen.getTime()));
+		assertTrue(TellMeWhen.tryListen("First Week of the Month", fromWhen.getTime()).isMatched());
+	}
+
+	/**
+	 * Tests that a repeating phrase gives its times in order, and that a phrase that does not repeat is rejected.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testListenEvery() throws InvalidPatternException{
+		final ZoneId zone = ZoneId.of("Asia/Tokyo");
+		final long from = ZonedDateTime.of(2015, 4, 6, 1, 1, 1, 0, zone).toInstant().toEpochMilli(); //Monday, April 6th, 2015
+		
+		final long[] mondays = TellMeWhen.listenEvery("Every Monday", from, zone).limit(3).toArray();
+		assertEquals(3, mondays.length);
+		assertEquals(ZonedDateTime.of(2015, 4, 13, 1, 1, 1, 0, zone).toInstant().toEpochMilli(), mondays[0]);
+		assertEquals(ZonedDateTime.of(2015, 4, 27, 1, 1, 1, 0, zone).toInstant().toEpochMilli(), mondays[2]);
+		
+		assertEquals(30, TellMeWhen.listenEvery("every day", from, ZonedDateTime.of(2015, 5, 7, 1, 1, 1, 0, zone).toInstant().toEpochMilli(), zone).count());
+		
+		try {
+			TellMeWhen.listenEvery("Every Tomorrow", from, zone);
+			fail("A phrase that does not repeat was accepted");
+		} catch (InvalidPatternException e) {
+			//Expected
+		}
+	}
+
+	/**
+	 * Tests that a time of day sets the time of the date phrase before it.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testListenAtTime() throws InvalidPatternException{
+		final ZoneId zone = ZoneId.of("Europe/London");
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 4, 6, 1, 1, 1, 0, zone); //Monday, April 6th, 2015
+		
+		assertEquals(ZonedDateTime.of(2015, 4, 10, 17, 0, 0, 0, zone), TellMeWhen.listen("Next Friday at 5pm", fromWhen));
+		assertEquals(ZonedDateTime.of(2015, 4, 7, 12, 0, 0, 0, zone), TellMeWhen.listen("Tomorrow at Noon", fromWhen));
+		assertEquals(ZonedDateTime.of(2015, 4, 7, 12, 0, 0, 0, zone).toInstant().toEpochMilli(),
+				TellMeWhen.resolveMillis("tomorrow at 12:00", fromWhen.toInstant().toEpochMilli(), zone));
+		
+		try {
+			TellMeWhen.listen("At 5pm", fromWhen);
+			fail("A time of day without a date was accepted");
+		} catch (InvalidPatternException e) {
+			//Expected
+		}
+	}
+
+	/**
+	 * Tests that a range phrase gives the stretch of time it names, and that a phrase that names an instant is rejected.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testListenRange() throws InvalidPatternException{
+		final ZoneId zone = ZoneId.of("Asia/Tokyo");
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 4, 8, 10, 0, 0, 0, zone); //Wednesday, April 8th, 2015
+		
+		final TimeInterval thisMonth = TellMeWhen.listenRange("This Month", fromWhen);
+		assertEquals(ZonedDateTime.of(2015, 4, 1, 0, 0, 0, 0, zone).toInstant(), thisMonth.getStart());
+		assertEquals(ZonedDateTime.of(2015, 5, 1, 0, 0, 0, 0, zone).toInstant(), thisMonth.getEnd());
+		assertEquals(thisMonth, TellMeWhen.listenRange("this month", fromWhen.toInstant().toEpochMilli(), zone));
+		
+		final TimeInterval tomorrow = TellMeWhen.listenRange("Tomorrow", fromWhen);
+		assertEquals(TellMeWhen.listen("Tomorrow", fromWhen).truncatedTo(ChronoUnit.DAYS).toInstant(), tomorrow.getStart());
+		
+		final TimeInterval lastWeek = TellMeWhen.listenRange("Last 7 Days", fromWhen);
+		assertEquals(ZonedDateTime.of(2015, 4, 1, 0, 0, 0, 0, zone).toInstant(), lastWeek.getStart());
+		assertEquals(ZonedDateTime.of(2015, 4, 8, 0, 0, 0, 0, zone).toInstant(), lastWeek.getEnd());
+		
+		for(String phrase : new String[]{"Now", "Every Monday", "Between Tomorrow and Yesterday", "Between Now and Now"}){
+			try {
+				TellMeWhen.listenRange(phrase, fromWhen);
+				fail("A phrase that is not a range was accepted: " + phrase);
+			} catch (InvalidPatternException e) {
+				//Expected
+			}
+		}
+	}
+
+	/**
+	 * Tests the java.time overloads give the same time as the Date overload.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testJavaTime() throws InvalidPatternException{
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		final Date fromDate = fromWhen.getTime();
+		
+		final ZonedDateTime zoned = ZonedDateTime.ofInstant(fromDate.toInstant(), ZoneId.systemDefault());
+		for(String phrase : new String[]{"NOW", "NEXT THURSDAY", "LAST MONTH", "NEXT APRIL", "NEXT HOUR"}){
+			final Date expected = TellMeWhen.listen(phrase, fromDate);
+			assertEquals(phrase, expected.toInstant(), TellMeWhen.listen(phrase, fromDate.toInstant()));
+			assertEquals(phrase, expected.toInstant(), TellMeWhen.listen(phrase, zoned).toInstant());
+		}
+		
+		final ZonedDateTime tokyo = ZonedDateTime.of(2015, 4, 6, 1, 1, 1, 0, ZoneId.of("Asia/Tokyo"));
+		assertEquals(ZonedDateTime.of(2015, 4, 9, 1, 1, 1, 0, ZoneId.of("Asia/Tokyo")), TellMeWhen.listen("NEXT THURSDAY", tokyo));
+	}
+	
+	/**
+	 * Tests phrases applied to a date without a time.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testLocalDate() throws InvalidPatternException{
+		final LocalDate fromDate = LocalDate.of(2015, 4, 6); //Monday, April 6th, 2015
+		
+		assertEquals(LocalDate.of(2015, 4, 7), TellMeWhen.listen("TOMORROW", fromDate));
+		assertEquals(LocalDate.of(2015, 4, 9), TellMeWhen.listen("NEXT THURSDAY", fromDate));
+		assertEquals(LocalDate.of(2015, 3, 6), TellMeWhen.listen("LAST MONTH", fromDate));
+		assertEquals(fromDate, TellMeWhen.listen("LAST HOUR", fromDate));
+		assertEquals(fromDate, TellMeWhen.listen("NEXT HOUR", fromDate));
+		
+		try{
+			TellMeWhen.listen("NOW", (LocalDate)null);
+			fail("Allowed null fromDate.");
+		} catch (NullPointerException e){
+			//Passes test
+		}
+		
+		try{
+			TellMeWhen.listen("NOW", (Instant)null);
+			fail("Allowed null fromInstant.");
+		} catch (NullPointerException e){
+			//Passes test
+		}
+	}
+
+	/**
+	 * Tests that the time in milliseconds matches the {@link ZonedDateTime} overload.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testResolveMillis() throws InvalidPatternException{
+		final ZoneId zone = ZoneId.of("Europe/London");
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 3, 1, 1, 1, 1, 0, zone);
+		
+		for(String phrase : new String[]{"NOW", "TOMORROW", "LAST FRIDAY", "NEXT WEEK", "LAST MONTH", "NEXT APRIL", "NEXT YEAR", "LAST HOUR"}){
+			for(int day = 0; day < 400; day += 3){
+				final ZonedDateTime from = fromWhen.plusDays(day);
+				assertEquals(phrase + " " + from, TellMeWhen.listen(phrase, from).toInstant().toEpochMilli(),
+						TellMeWhen.resolveMillis(phrase, from.toInstant().toEpochMilli(), zone));
+			}
+		}
+		
+		assertEquals(TellMeWhen.resolveMillis("NEXT MONDAY", 0, zone), TellMeWhen.resolveMillis(new StringBuilder(" next  monday "), 0, zone));
+		
+		try{
+			TellMeWhen.resolveMillis("NOT A VALID PATTERN", 0, zone);
+			fail("Allowed invalid pattern.");
+		} catch (InvalidPatternException e){
+			//passes
+		}
+	}
+
+	/**
+	 * Tests that a time too close to the ends of a long is rejected rather than wrapping around, and that the
+	 * furthest supported times still match the {@link ZonedDateTime} overload.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testResolveMillisRange() throws InvalidPatternException{
+		final ZoneId zone = ZoneId.of("UTC");
+		for(String phrase : new String[]{"TOMORROW", "LAST MONTH", "NEXT FRIDAY AT 5PM", "IN 3 DAYS", "FIRST DAY OF THE MONTH", "LAST WEEK OF THE YEAR", "NEXT MARCH"}){
+			for(long from : new long[]{Long.MAX_VALUE - 1000, Long.MIN_VALUE + 1000, ZoneTable.MAX_EPOCH_MILLIS + 1}){
+				try {
+					TellMeWhen.resolveMillis(phrase, from, zone);
+					fail("Resolved " + phrase + " from " + from);
+				} catch (ArithmeticException e) {
+					//Expected
+				}
+				try {
+					TellMeWhen.tryResolveMillis(phrase, from, zone);
+					fail("Resolved " + phrase + " from " + from);
+				} catch (ArithmeticException e) {
+					//Expected
+				}
+			}
+		}
+		for(String phrase : new String[]{"NEXT HOUR", "LAST HOUR"}){
+			try {
+				TellMeWhen.resolveMillis(phrase, phrase.startsWith("NEXT") ? Long.MAX_VALUE - 1000 : Long.MIN_VALUE + 1000, zone);
+				fail("Resolved " + phrase + " past the end of a long");
+			} catch (ArithmeticException e) {
+				//Expected
+			}
+		}
+		//Times that are not worked out from the offset only fail if they do not fit.
+		assertEquals(Long.MIN_VALUE + 1000 + 3600000, TellMeWhen.resolveMillis("NEXT HOUR", Long.MIN_VALUE + 1000, zone));
+		assertEquals(Long.MAX_VALUE, TellMeWhen.resolveMillis("NOW", Long.MAX_VALUE, zone));
+
+		//Nine million years inside the range, which leaves room for the largest quantity.
+		final long margin = 9000000L * 366 * 24 * 3600000;
+		for(long from : new long[]{ZoneTable.MAX_EPOCH_MILLIS - margin, ZoneTable.MIN_EPOCH_MILLIS + margin}){
+			final ZonedDateTime fromWhen = Instant.ofEpochMilli(from).atZone(zone);
+			for(String phrase : new String[]{"TOMORROW", "NEXT HOUR", "LAST MONTH", "IN 8388607 YEARS", "8388607 YEARS AGO", "NEXT FRIDAY AT 5PM", "LAST DAY OF THE YEAR"}){
+				assertEquals(phrase + " " + fromWhen, TellMeWhen.listen(phrase, fromWhen).toInstant().toEpochMilli(), TellMeWhen.resolveMillis(phrase, from, zone));
+			}
+		}
+	}
+
+	/**
+	 * Tests the methods that report a phrase that does not match instead of throwing.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testTryListen() throws InvalidPatternException{
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		
+		final ListenResult result = TellMeWhen.tryListen("Next Thursday", fromWhen.getTime());
+		assertTrue(result.isMatched());
+		assertEquals(TellMeWhen.listen("NEXT THURSDAY", fromWhen.getTime()), result.getDate());
+		assertTrue(TellMeWhen.tryListen("TOMORROW").isMatched());
+		
+		final ListenResult missed = TellMeWhen.tryListen("NOT A VALID PATTERN", fromWhen.getTime());
+		assertFalse(missed.isMatched());
+		assertSame(missed, TellMeWhen.tryListen(""));
+		assertNull(missed.getDateOrElse(null));
+		try{
+			missed.getTimeMillis();
+			fail("Allowed time of a phrase that did not match.");
+		} catch (NoSuchElementException e){
+			//passes
+		}
+		
+		final ZoneId zone = ZoneId.of("America/New_York");
+		assertEquals(OptionalLong.of(TellMeWhen.resolveMillis("NEXT WEEK", fromWhen.getTimeInMillis(), zone)),
+				TellMeWhen.tryResolveMillis("NEXT WEEK", fromWhen.getTimeInMillis(), zone));
+		assertFalse(TellMeWhen.tryResolveMillis("NEXT", fromWhen.getTimeInMillis(), zone).isPresent());
+	}
+	
+	/**
+	 * Tests resolving a batch of phrases, where some of them do not match.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testListenAll() throws InvalidPatternException{
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		final List<String> phrases = Arrays.asList("NEXT THURSDAY", "NOT A VALID PATTERN", null, "last month", "TOMORROW");
+		
+		final List<ListenResult> results = TellMeWhen.listenAll(phrases, fromWhen.getTime());
+		assertEquals(phrases.size(), results.size());
+		assertEquals(TellMeWhen.listen("NEXT THURSDAY", fromWhen.getTime()), results.get(0).getDate());
+		assertFalse(results.get(1).isMatched());
+		assertFalse(results.get(2).isMatched());
+		assertEquals(TellMeWhen.listen("LAST MONTH", fromWhen.getTime()), results.get(3).getDate());
+		assertEquals(TellMeWhen.listen("TOMORROW", fromWhen.getTime()), results.get(4).getDate());
+		
+		final ZoneId zone = ZoneId.of("Europe/London");
+		final long[] times = new long[phrases.size()];
+		final boolean[] matched = new boolean[phrases.size()];
+		assertEquals(3, TellMeWhen.resolveAllMillis(phrases.toArray(new CharSequence[0]), fromWhen.getTimeInMillis(), zone, times, matched));
+		assertArrayEquals(new boolean[]{true, false, false, true, true}, matched);
+		for(int i = 0; i < phrases.size(); i++){
+			if(matched[i]){
+				assertEquals(TellMeWhen.resolveMillis(phrases.get(i), fromWhen.getTimeInMillis(), zone), times[i]);
+			}
+		}
+		
+		final CharSequence[] array = phrases.toArray(new CharSequence[0]);
+		try{
+			TellMeWhen.resolveAllMillis(array, 0, zone, null, matched);
+			fail("Allowed null results.");
+		} catch (NullPointerException e){
+			assertEquals("results is null", e.getMessage());
+		}
+		try{
+			TellMeWhen.resolveAllMillis(array, 0, zone, times, null, ForkJoinPool.commonPool());
+			fail("Allowed null matched.");
+		} catch (NullPointerException e){
+			assertEquals("matched is null", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests resolving one phrase against a column of times, written over the times.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testResolveColumn() throws InvalidPatternException{
+		final ZoneId zone = ZoneId.of("America/New_York");
+		final long[] times = new long[1000];
+		for(int i = 0; i < times.length; i++){
+			times[i] = 1425000000000L + i * 3600000L * 7;
+		}
+		final long[] expected = new long[times.length];
+		for(int i = 0; i < times.length; i++){
+			expected[i] = TellMeWhen.resolveMillis("NEXT MONDAY", times[i], zone);
+		}
+		
+		TellMeWhen.resolveColumn("next monday", times, times, zone);
+		assertArrayEquals(expected, times);
+		
+		try{
+			TellMeWhen.resolveColumn("NEXT MONDAY", null, times, zone);
+			fail("Allowed null fromEpochMillis.");
+		} catch (NullPointerException e){
+			assertEquals("fromEpochMillis is null", e.getMessage());
+		}
+		try{
+			TellMeWhen.resolveColumn("NEXT MONDAY", times, null, zone, ForkJoinPool.commonPool());
+			fail("Allowed null results.");
+		} catch (NullPointerException e){
+			assertEquals("results is null", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests that parallel batches give the same results in the same order as resolving them one at a time.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testParallel() throws InvalidPatternException{
+		final String[] known = {"NEXT THURSDAY", "NOT A VALID PATTERN", "LAST MONTH", "TOMORROW", "NEXT HOUR", "NEXT", "LAST MARCH"};
+		final CharSequence[] phrases = new CharSequence[10000];
+		for(int i = 0; i < phrases.length; i++){
+			phrases[i] = known[i % known.length];
+		}
+		final long fromMillis = 1428282061000L;
+		final ZoneId zone = ZoneId.systemDefault();
+		
+		final long[] times = new long[phrases.length];
+		final boolean[] matched = new boolean[phrases.length];
+		final int count = TellMeWhen.resolveAllMillis(phrases, fromMillis, zone, times, matched);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			final long[] parallelTimes = new long[phrases.length];
+			final boolean[] parallelMatched = new boolean[phrases.length];
+			assertEquals(count, TellMeWhen.resolveAllMillis(phrases, fromMillis, zone, parallelTimes, parallelMatched, pool));
+			assertArrayEquals(times, parallelTimes);
+			assertArrayEquals(matched, parallelMatched);
+			
+			final List<ListenResult> results = TellMeWhen.listenAll(Arrays.asList(phrases), new Date(fromMillis), ForkJoinPool.commonPool());
+			for(int i = 0; i < phrases.length; i++){
+				assertEquals(matched[i], results.get(i).isMatched());
+				assertEquals(matched[i] ? times[i] : 0, results.get(i).isMatched() ? results.get(i).getTimeMillis() : 0);
+			}
+			
+			final long[] column = new long[100000];
+			for(int i = 0; i < column.length; i++){
+				column[i] = fromMillis + i * 60000L * 17;
+			}
+			final long[] expected = new long[column.length];
+			TellMeWhen.resolveColumn("NEXT MONDAY", column, expected, zone);
+			TellMeWhen.resolveColumn("NEXT MONDAY", column, column, zone, pool);
+			assertArrayEquals(expected, column);
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests that a resolution listener is told about each phrase and its family.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testResolutionListener() throws InvalidPatternException{
+		final ResolutionMetrics metrics = new ResolutionMetrics();
+		TellMeWhen.setResolutionListener(metrics);
+		try{
+			TellMeWhen.listen("NEXT THURSDAY", new Date());
+			TellMeWhen.listen("TOMORROW");
+			TellMeWhen.tryListen("LAST MONTH");
+			TellMeWhen.tryResolveMillis("NEXT MARCH", 0, ZoneId.of("UTC"));
+			TellMeWhen.tryListen("NOT A VALID PATTERN", new Date());
+			TellMeWhen.listenAll(Arrays.asList("NEXT FRIDAY", "NOPE"), new Date());
+			try{
+				TellMeWhen.resolveMillis("NOPE", 0, ZoneId.of("UTC"));
+				fail("Allowed invalid pattern.");
+			} catch (InvalidPatternException e){
+				//passes
+			}
+		} finally {
+			TellMeWhen.setResolutionListener(null);
+		}
+		TellMeWhen.listen("NEXT THURSDAY", new Date());
+		
+		assertEquals(5, metrics.getResolvedCount());
+		assertEquals(3, metrics.getMissCount());
+		assertEquals(Long.valueOf(2), metrics.getFamilyCounts().get("DayOfWeek"));
+		assertEquals(Long.valueOf(1), metrics.getFamilyCounts().get("Near"));
+		assertEquals(Long.valueOf(1), metrics.getFamilyCounts().get("ChangeUnit"));
+		assertEquals(Long.valueOf(1), metrics.getFamilyCounts().get("Month"));
+	}
+	
+	/**
+	 * Tests that the exception for a phrase that does not match has no stack trace.
+	 */
+	@Test
+	public void testStacklessException(){
+		try{
+			TellMeWhen.listen("NOT A VALID PATTERN", new Date());
+			fail("Allowed invalid pattern.");
+		} catch (InvalidPatternException e){
+			assertEquals(0, e.getStackTrace().length);
+			assertEquals("Input string not a recognized pattern", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests phrases that are not Strings, including a slice of a larger buffer.
+	 * @throws InvalidPatternException 
+	 */
+	@Test
+	public void testCharSequence() throws InvalidPatternException{
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		final Date expected = TellMeWhen.listen("NEXT THURSDAY", fromWhen.getTime());
+		
+		final CharBuffer buffer = CharBuffer.wrap("id=7,when=\tnext  Thursday ,source=web");
+		buffer.position(10).limit(26);
+		assertEquals(expected, TellMeWhen.listen(buffer.slice(), fromWhen.getTime()));
+		assertEquals(expected, TellMeWhen.listen(new StringBuilder("NeXt\nThUrSdAy"), fromWhen.getTime()));
+		
+		buffer.limit(27);
+		try{
+			TellMeWhen.listen(buffer.slice(), fromWhen.getTime());
+			fail("Allowed trailing comma.");
+		} catch (InvalidPatternException e){
+			//passes
+		}
+	}
+	
 	/**
 	 * Compares a calendar and a date to see if they're equal within a tolerance of one hour.
 	 * 
@@ -0,0 +1,82 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link CalendarMath} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class CalendarMathTest {
+	private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+	
+	/**
+	 * Tests that adding days keeps the time of day across a daylight saving change.
+	 */
+	@Test
+	public void testAddDays() {
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 3, 7, 10, 30, 0, 0, NEW_YORK);
+		
+		assertEquals(ZonedDateTime.of(2015, 3, 9, 10, 30, 0, 0, NEW_YORK), CalendarMath.addDays(fromWhen, 2));
+		assertEquals(fromWhen, CalendarMath.addDays(CalendarMath.addDays(fromWhen, 2), -2));
+		assertSame(fromWhen, CalendarMath.addDays(fromWhen, 0));
+	}
+	
+	/**
+	 * Tests days and months landing on times that do not exist or happen twice, compared with a Calendar.
+	 */
+	@Test
+	public void testMatchesCalendar() {
+		final LocalDateTime[] times = {
+				LocalDateTime.of(2015, 3, 1, 2, 30), //A week before the clocks go forward
+				LocalDateTime.of(2015, 3, 15, 2, 30), //A week after the clocks go forward
+				LocalDateTime.of(2015, 10, 25, 1, 30), //A week before the clocks go back
+				LocalDateTime.of(2015, 11, 8, 1, 30), //A week after the clocks go back
+				LocalDateTime.of(2015, 2, 8, 2, 30), //A month before the clocks go forward
+				LocalDateTime.of(2015, 10, 1, 1, 30), //A month before the clocks go back
+		};
+		
+		for(LocalDateTime time : times){
+			final ZonedDateTime fromWhen = ZonedDateTime.of(time, NEW_YORK);
+			for(int amount : new int[]{-7, 7, -1, 1}){
+				assertEquals(time + " " + amount + " days", calendarAdd(fromWhen, Calendar.DATE, amount), CalendarMath.addDays(fromWhen, amount).toInstant().toEpochMilli());
+				assertEquals(time + " " + amount + " months", calendarAdd(fromWhen, Calendar.MONTH, amount), CalendarMath.addMonths(fromWhen, amount).toInstant().toEpochMilli());
+			}
+		}
+	}
+	
+	/**
+	 * Tests that setting a time that does not exist moves forward, and a time that happens twice is standard time.
+	 */
+	@Test
+	public void testSet() {
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 1, 1, 0, 0, 0, 0, NEW_YORK);
+		
+		final ZonedDateTime gap = CalendarMath.set(fromWhen, LocalDateTime.of(2015, 3, 8, 2, 30));
+		assertEquals(LocalDateTime.of(2015, 3, 8, 3, 30), gap.toLocalDateTime());
+		
+		final ZonedDateTime overlap = CalendarMath.set(fromWhen, LocalDateTime.of(2015, 11, 1, 1, 30));
+		assertEquals(LocalDateTime.of(2015, 11, 1, 1, 30), overlap.toLocalDateTime());
+		assertEquals(ZoneOffset.ofHours(-5), overlap.getOffset());
+	}
+	
+	/**
+	 * @return the time in milliseconds after adding to a Calendar in the same time zone.
+	 */
+	private static long calendarAdd(ZonedDateTime fromWhen, int field, int amount){
+		final Calendar cal = Calendar.getInstance(TimeZone.getTimeZone(fromWhen.getZone()));
+		cal.setTimeInMillis(fromWhen.toInstant().toEpochMilli());
+		cal.add(field, amount);
+		return cal.getTimeInMillis();
+	}
+}
@@ -2,6 +2,9 @@ package timePhrase;
 
 import static org.junit.Assert.*;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
 import java.util.Calendar;
 
 import org.junit.Test;
@@ -70,6 +73,87 @@ public class ChangeUnitTimePhraseTest {
 		assertFalse(timePhrase.matches("DOES NOT MATCH"));
 	}
 	
+	/**
+	 * Tests that quantities match the phrase with In, Next, Last, Ago and From Now.
+	 */
+	@Test
+	public void testQuantityMatches() {
+		final ChangeUnitTimePhrase timePhrase = new ChangeUnitTimePhrase();
+		assertTrue(timePhrase.matches("IN 3 DAYS"));
+		assertTrue(timePhrase.matches("5 WEEKS AGO"));
+		assertTrue(timePhrase.matches("NEXT 10 MINUTES"));
+		assertTrue(timePhrase.matches("LAST TWO HOURS"));
+		assertTrue(timePhrase.matches("PREVIOUS 2 YRS"));
+		assertTrue(timePhrase.matches("twenty-five minutes from now"));
+		assertTrue(timePhrase.matches("IN 1 MONTH"));
+		
+		assertFalse(timePhrase.matches("3 DAYS"));
+		assertFalse(timePhrase.matches("IN DAYS"));
+		assertFalse(timePhrase.matches("DAY AGO"));
+		assertFalse(timePhrase.matches("IN 3 DAYS AGO"));
+		assertFalse(timePhrase.matches("NEXT 3 DAYS FROM NOW"));
+		assertFalse(timePhrase.matches("3 DAYS FROM"));
+		assertFalse(timePhrase.matches("3 DAYS NOW"));
+		assertFalse(timePhrase.matches("NEXT 3 5 DAYS"));
+	}
+	
+	/**
+	 * Tests that This matches without a number, and does not move the time.
+	 */
+	@Test
+	public void testThis(){
+		final ChangeUnitTimePhrase timePhrase = new ChangeUnitTimePhrase();
+		assertTrue(timePhrase.matches("THIS WEEK"));
+		assertTrue(timePhrase.matches("this month"));
+		assertFalse(timePhrase.matches("THIS 3 DAYS"));
+		assertFalse(timePhrase.matches("THIS WEEK AGO"));
+		
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		
+		assertEquals(fromWhen.getTime(), timePhrase.parse("THIS YEAR").getTime(fromWhen));
+	}
+	
+	/**
+	 * Tests that a quantity moves by that many units, in one step.
+	 */
+	@Test
+	public void testQuantity(){
+		final ChangeUnitTimePhrase timePhrase = new ChangeUnitTimePhrase();
+		
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		
+		final String[] phrases = {"IN 3 DAYS", "5 WEEKS AGO", "NEXT 10 MINUTES", "LAST TWO HOURS", "Twenty-Five Minutes From Now", "in 90 days", "13 months ago", "IN 0 YEARS"};
+		final int[] fields = {Calendar.DAY_OF_MONTH, Calendar.WEEK_OF_YEAR, Calendar.MINUTE, Calendar.HOUR_OF_DAY, Calendar.MINUTE, Calendar.DAY_OF_MONTH, Calendar.MONTH, Calendar.YEAR};
+		final int[] amounts = {3, -5, 10, -2, 25, 90, -13, 0};
+		for(int i = 0; i < phrases.length; i++){
+			final Calendar expected = (Calendar)fromWhen.clone();
+			expected.add(fields[i], amounts[i]);
+			assertEquals(phrases[i], expected.getTime(), timePhrase.parse(phrases[i]).getTime(fromWhen));
+		}
+	}
+	
+	/**
+	 * Tests that the time in milliseconds matches the {@link ZonedDateTime} result for quantities.
+	 */
+	@Test
+	public void testQuantityTimeMillis() {
+		final ZoneId zone = ZoneId.of("America/New_York");
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 1, 31, 2, 30, 0, 0, zone); //Saturday, January 31st, 2015
+		
+		for(String phrase : new String[]{"IN 37 DAYS", "3 MONTHS AGO", "NEXT 100 HOURS", "IN 400 WEEKS", "FIFTY YEARS AGO", "IN 1000000 MS"}){
+			final TimePhraseMatch match = new ChangeUnitTimePhrase().parse(phrase);
+			for(int day = 0; day < 400; day += 3){
+				final ZonedDateTime from = fromWhen.plusDays(day);
+				assertEquals(phrase + " " + from, match.getTime(from, WeekFields.ISO).toInstant().toEpochMilli(),
+						match.getTimeMillis(from.toInstant().toEpochMilli(), ZoneTable.of(zone), WeekFields.ISO));
+			}
+		}
+	}
+	
 	/**
 	 * Tests the Next Millisecond returns a date 1 millisecond in the future.
 	 */
@@ -85,8 +169,7 @@ public class ChangeUnitTimePhraseTest {
 		nextMilli.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
 		nextMilli.set(Calendar.MILLISECOND, 2);
 		
-		timePhrase.matches("NEXT MILLISECOND");
-		assertEquals(nextMilli.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextMilli.getTime(), timePhrase.parse("NEXT MILLISECOND").getTime(fromWhen));
 	}
 	
 	/**
@@ -98,12 +181,13 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextSecond = Calendar.getInstance();
 		nextSecond.set(2015, 3, 6, 1, 1, 2); //Monday, April 6th, 2015
+		nextSecond.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT SECOND");
-		assertEquals(nextSecond.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextSecond.getTime(), timePhrase.parse("NEXT SECOND").getTime(fromWhen));
 	}
 	
 	/**
@@ -115,12 +199,13 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextMinute = Calendar.getInstance();
 		nextMinute.set(2015, 3, 6, 1, 2, 1); //Monday, April 6th, 2015
+		nextMinute.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT MINUTE");
-		assertEquals(nextMinute.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextMinute.getTime(), timePhrase.parse("NEXT MINUTE").getTime(fromWhen));
 	}
 	
 	/**
@@ -132,12 +217,13 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextHour = Calendar.getInstance();
 		nextHour.set(2015, 3, 6, 2, 1, 1); //Monday, April 6th, 2015
+		nextHour.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT HOUR");
-		assertEquals(nextHour.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextHour.getTime(), timePhrase.parse("NEXT HOUR").getTime(fromWhen));
 	}
 	
 	/**
@@ -149,12 +235,13 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextDay = Calendar.getInstance();
 		nextDay.set(2015, 3, 7, 1, 1, 1); //Tuesday, April 7th, 2015
+		nextDay.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT DAY");
-		assertEquals(nextDay.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextDay.getTime(), timePhrase.parse("NEXT DAY").getTime(fromWhen));
 	}
 	
 	/**
@@ -166,12 +253,13 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextWeek = Calendar.getInstance();
 		nextWeek.set(2015, 3, 13, 1, 1, 1); //Monday, April 13th, 2015
+		nextWeek.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT WEEK");
-		assertEquals(nextWeek.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextWeek.getTime(), timePhrase.parse("NEXT WEEK").getTime(fromWhen));
 	}
 	
 	/**
@@ -183,12 +271,13 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastWeek = Calendar.getInstance();
 		lastWeek.set(2015, 2, 30, 1, 1, 1); //Monday, March 30th, 2015
+		lastWeek.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("LAST WEEK");
-		assertEquals(lastWeek.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastWeek.getTime(), timePhrase.parse("LAST WEEK").getTime(fromWhen));
 	}
 	
 	/**
@@ -200,12 +289,13 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextMonth = Calendar.getInstance();
 		nextMonth.set(2015, 4, 6, 1, 1, 1); //Wednesday, May 6th, 2015
+		nextMonth.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT MONTH");
-		assertEquals(nextMonth.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextMonth.getTime(), timePhrase.parse("NEXT MONTH").getTime(fromWhen));
 	}
 	
 	/**
@@ -217,11 +307,12 @@ public class ChangeUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextMonth = Calendar.getInstance();
 		nextMonth.set(2016, 3, 6, 1, 1, 1); //Wednesday, April 6th, 2016
+		nextMonth.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT YEAR");
-		assertEquals(nextMonth.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextMonth.getTime(), timePhrase.parse("NEXT YEAR").getTime(fromWhen));
 	}
 }
@@ -0,0 +1,77 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link ColumnResolver} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class ColumnResolverTest {
+	private static final String[] ZONES = {"UTC", "America/New_York", "Australia/Lord_Howe", "America/Sao_Paulo", "America/Havana", "Asia/Tehran"};
+	private static final String[] PHRASES = {"NOW", "TOMORROW", "NEXT THURSDAY", "LAST MONDAY", "NEXT WEEK", "LAST MONTH", "NEXT YEAR",
+			"NEXT MARCH", "NEXT HOUR", "LAST MINUTE"};
+
+	/**
+	 * Tests that a column gives the same results as resolving each time, for times in order and times out of order.
+	 */
+	@Test
+	public void testMatchesTimeMillis() {
+		final Random random = new Random(7);
+		for(String id : ZONES){
+			final ZoneTable zone = ZoneTable.of(ZoneId.of(id));
+			for(String phrase : PHRASES){
+				final TimePhraseMatch match = TimePhraseFactory.getAutomaton().parse(phrase);
+				checkColumn(match, zone, random);
+			}
+			checkColumn(new FirstLastUnitTimePhrase().parse("FIRST DAY OF THE MONTH"), zone, random);
+			checkColumn(new FirstLastWeekTimePhrase().parse("LAST WEEK OF THE YEAR"), zone, random);
+		}
+	}
+	
+	/**
+	 * Tests resolving part of an array into another part.
+	 */
+	@Test
+	public void testRange() {
+		final ZoneTable zone = ZoneTable.of(ZoneId.of("Europe/London"));
+		final TimePhraseMatch match = TimePhraseFactory.getAutomaton().parse("TOMORROW");
+		final long[] times = {1, 1425000000000L, 1425100000000L, 2};
+		final long[] results = new long[3];
+		
+		ColumnResolver.resolve(match, times, 1, results, 1, 2, zone, WeekFields.ISO);
+		assertEquals(0, results[0]);
+		assertEquals(match.getTimeMillis(times[1], zone, WeekFields.ISO), results[1]);
+		assertEquals(match.getTimeMillis(times[2], zone, WeekFields.ISO), results[2]);
+		
+		try{
+			ColumnResolver.resolve(match, times, 2, results, 0, 3, zone, WeekFields.ISO);
+			fail("Allowed range past the end of the array.");
+		} catch (IndexOutOfBoundsException e){
+			//passes
+		}
+	}
+	
+	/**
+	 * Resolves a column of times in order across two years, followed by random times, and compares each result.
+	 */
+	private static void checkColumn(TimePhraseMatch match, ZoneTable zone, Random random){
+		final long[] times = new long[6000];
+		for(int i = 0; i < times.length; i++){
+			times[i] = i < 3000 ? 1400000000000L + i * 21000000L : (long)(random.nextDouble() * 4000000000000L) - 1000000000000L;
+		}
+		
+		final long[] results = new long[times.length];
+		ColumnResolver.resolve(match, times, 0, results, 0, times.length, zone, WeekFields.SUNDAY_START);
+		for(int i = 0; i < times.length; i++){
+			assertEquals(zone.getZone() + " " + times[i], match.getTimeMillis(times[i], zone, WeekFields.SUNDAY_START), results[i]);
+		}
+	}
+}
@@ -81,24 +81,25 @@ public class DayOfWeekTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextMonday = Calendar.getInstance();
 		nextMonday.set(2015, 3, 13, 1, 1, 1);//Monday, April 13th, 2015
+		nextMonday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextTuesday = Calendar.getInstance();
 		nextTuesday.set(2015, 3, 7, 1, 1, 1);//Tuesday, April 7th, 2015
+		nextTuesday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextSunday = Calendar.getInstance();
 		nextSunday.set(2015, 3, 12, 1, 1, 1);//Sunday, April 12th, 2015
+		nextSunday.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT MONDAY");
-		assertEquals(nextMonday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextMonday.getTime(), timePhrase.parse("NEXT MONDAY").getTime(fromWhen));
 		
-		timePhrase.matches("NEXT TUESDAY");
-		assertEquals(nextTuesday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextTuesday.getTime(), timePhrase.parse("NEXT TUESDAY").getTime(fromWhen));
 		
-		timePhrase.matches("NEXT SUNDAY");
-		assertEquals(nextSunday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextSunday.getTime(), timePhrase.parse("NEXT SUNDAY").getTime(fromWhen));
 	}
 	
 	/**
@@ -111,21 +112,21 @@ public class DayOfWeekTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextTuesday = Calendar.getInstance();
 		nextTuesday.set(2015, 3, 7, 1, 1, 1);//Tuesday, April 7th, 2015
+		nextTuesday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextSunday = Calendar.getInstance();
 		nextSunday.set(2015, 3, 12, 1, 1, 1);//Sunday, April 12th, 2015
+		nextSunday.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("THIS MONDAY");
-		assertEquals(fromWhen.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(fromWhen.getTime(), timePhrase.parse("THIS MONDAY").getTime(fromWhen));
 		
-		timePhrase.matches("THIS TUESDAY");
-		assertEquals(nextTuesday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextTuesday.getTime(), timePhrase.parse("THIS TUESDAY").getTime(fromWhen));
 		
-		timePhrase.matches("THIS SUNDAY");
-		assertEquals(nextSunday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextSunday.getTime(), timePhrase.parse("THIS SUNDAY").getTime(fromWhen));
 	}
 	
 	/**
@@ -138,21 +139,21 @@ public class DayOfWeekTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextTuesday = Calendar.getInstance();
 		nextTuesday.set(2015, 3, 7, 1, 1, 1);//Tuesday, April 7th, 2015
+		nextTuesday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextSunday = Calendar.getInstance();
 		nextSunday.set(2015, 3, 12, 1, 1, 1);//Sunday, April 12th, 2015
+		nextSunday.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("MONDAY");
-		assertEquals(fromWhen.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(fromWhen.getTime(), timePhrase.parse("MONDAY").getTime(fromWhen));
 		
-		timePhrase.matches("TUESDAY");
-		assertEquals(nextTuesday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextTuesday.getTime(), timePhrase.parse("TUESDAY").getTime(fromWhen));
 		
-		timePhrase.matches("SUNDAY");
-		assertEquals(nextSunday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextSunday.getTime(), timePhrase.parse("SUNDAY").getTime(fromWhen));
 	}
 	
 	/**
@@ -164,24 +165,25 @@ public class DayOfWeekTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastMonday = Calendar.getInstance();
 		lastMonday.set(2015, 2, 30, 1, 1, 1);//Monday, March 30th, 2015
+		lastMonday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastTuesday = Calendar.getInstance();
 		lastTuesday.set(2015, 2, 31, 1, 1, 1);//Tuesday, March 31st, 2015
+		lastTuesday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastSunday = Calendar.getInstance();
 		lastSunday.set(2015, 3, 5, 1, 1, 1);//Sunday, April 5th, 2015
+		lastSunday.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("LAST MONDAY");
-		assertEquals(lastMonday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastMonday.getTime(), timePhrase.parse("LAST MONDAY").getTime(fromWhen));
 		
-		timePhrase.matches("LAST TUESDAY");
-		assertEquals(lastTuesday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastTuesday.getTime(), timePhrase.parse("LAST TUESDAY").getTime(fromWhen));
 		
-		timePhrase.matches("LAST SUNDAY");
-		assertEquals(lastSunday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastSunday.getTime(), timePhrase.parse("LAST SUNDAY").getTime(fromWhen));
 	}
 	
 	/**
@@ -193,23 +195,24 @@ public class DayOfWeekTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastMonday = Calendar.getInstance();
 		lastMonday.set(2015, 2, 30, 1, 1, 1);//Monday, March 30th, 2015
+		lastMonday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastTuesday = Calendar.getInstance();
 		lastTuesday.set(2015, 2, 31, 1, 1, 1);//Tuesday, March 31st, 2015
+		lastTuesday.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastSunday = Calendar.getInstance();
 		lastSunday.set(2015, 3, 5, 1, 1, 1);//Sunday, April 5th, 2015
+		lastSunday.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("PREVIOUS MONDAY");
-		assertEquals(lastMonday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastMonday.getTime(), timePhrase.parse("PREVIOUS MONDAY").getTime(fromWhen));
 		
-		timePhrase.matches("PREVIOUS TUESDAY");
-		assertEquals(lastTuesday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastTuesday.getTime(), timePhrase.parse("PREVIOUS TUESDAY").getTime(fromWhen));
 		
-		timePhrase.matches("PREVIOUS SUNDAY");
-		assertEquals(lastSunday.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastSunday.getTime(), timePhrase.parse("PREVIOUS SUNDAY").getTime(fromWhen));
 	}
 }
@@ -0,0 +1,59 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link EpochMath} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class EpochMathTest {
+
+	/**
+	 * Tests converting between epoch days and dates against {@link LocalDate}.
+	 */
+	@Test
+	public void testDates() {
+		for(long epochDay = -800000; epochDay <= 800000; epochDay += 37){
+			final LocalDate expected = LocalDate.ofEpochDay(epochDay);
+			final long date = EpochMath.toDate(epochDay);
+			
+			assertEquals(expected.toString(), expected.getYear(), EpochMath.year(date));
+			assertEquals(expected.toString(), expected.getMonthValue(), EpochMath.month(date));
+			assertEquals(expected.toString(), expected.getDayOfMonth(), EpochMath.day(date));
+			assertEquals(expected.toString(), epochDay, EpochMath.toEpochDay(expected.getYear(), expected.getMonthValue(), expected.getDayOfMonth()));
+			assertEquals(expected.toString(), expected.getDayOfWeek().getValue(), EpochMath.dayOfWeek(epochDay));
+			assertEquals(expected.toString(), expected.lengthOfMonth(), EpochMath.lengthOfMonth(expected.getYear(), expected.getMonthValue()));
+		}
+	}
+	
+	/**
+	 * Tests leap years.
+	 */
+	@Test
+	public void testLeapYears() {
+		assertTrue(EpochMath.isLeapYear(2016));
+		assertTrue(EpochMath.isLeapYear(2000));
+		assertTrue(EpochMath.isLeapYear(-4));
+		assertFalse(EpochMath.isLeapYear(1900));
+		assertFalse(EpochMath.isLeapYear(2015));
+		assertEquals(29, EpochMath.lengthOfMonth(2016, 2));
+		assertEquals(28, EpochMath.lengthOfMonth(2100, 2));
+	}
+	
+	/**
+	 * Tests splitting local times before the epoch.
+	 */
+	@Test
+	public void testNegativeTimes() {
+		assertEquals(-1, EpochMath.epochDay(-1));
+		assertEquals(EpochMath.DAY_MILLIS - 1, EpochMath.millisOfDay(-1));
+		assertEquals(0, EpochMath.epochDay(0));
+		assertEquals(0, EpochMath.millisOfDay(0));
+	}
+}
@@ -2,6 +2,9 @@ package timePhrase;
 
 import static org.junit.Assert.*;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
 import java.util.Calendar;
 
 import org.junit.Test;
@@ -103,14 +106,11 @@ public class FirstLastUnitTimePhraseTest {
 		lastMilliYear.set(2015, 11, 31, 23, 59, 59); //December 31st, 2015
 		lastMilliYear.set(Calendar.MILLISECOND, 999);
 		
-		timePhrase.matches("FIRST MILLISECOND OF THE DAY");
-		assertEquals(firstMilliDay.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(firstMilliDay.getTime(), timePhrase.parse("FIRST MILLISECOND OF THE DAY").getTime(fromWhen));
 		
-		timePhrase.matches("FIRST MILLISECOND IN THE YEAR");
-		assertEquals(firstMilliYear.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(firstMilliYear.getTime(), timePhrase.parse("FIRST MILLISECOND IN THE YEAR").getTime(fromWhen));
 		
-		timePhrase.matches("LAST MILLISECOND IN THE YEAR");
-		assertEquals(lastMilliYear.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastMilliYear.getTime(), timePhrase.parse("LAST MILLISECOND IN THE YEAR").getTime(fromWhen));
 	}
 	
 	/**
@@ -122,36 +122,75 @@ public class FirstLastUnitTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar firstDayMonth = Calendar.getInstance();
 		firstDayMonth.set(2015, 3, 1, 1, 1, 1); //April 1st, 2015
+		firstDayMonth.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastDayMonth = Calendar.getInstance();
 		lastDayMonth.set(2015, 3, 30, 1, 1, 1); //April 30th, 2015
+		lastDayMonth.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastDayWeek = Calendar.getInstance();
 		lastDayWeek.set(2015, 3, 11, 1, 1, 1); //Saturday, April 11th, 2015
+		lastDayWeek.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar firstDayYear = Calendar.getInstance();
 		firstDayYear.set(2015, 0, 1, 1, 1, 1); //January 1st, 2015
+		firstDayYear.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastDayYear = Calendar.getInstance();
 		lastDayYear.set(2015, 11, 31, 1, 1, 1); //December 31st, 2015
+		lastDayYear.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("FIRST DAY OF MONTH");
-		assertEquals(firstDayMonth.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(firstDayMonth.getTime(), timePhrase.parse("FIRST DAY OF MONTH").getTime(fromWhen));
 		
-		timePhrase.matches("LAST DAY IN MONTH");
-		assertEquals(lastDayMonth.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastDayMonth.getTime(), timePhrase.parse("LAST DAY IN MONTH").getTime(fromWhen));
 		
-		timePhrase.matches("LAST DAY OF THE WEEK");
-		assertEquals(lastDayWeek.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastDayWeek.getTime(), timePhrase.parse("LAST DAY OF THE WEEK").getTime(fromWhen));
 		
-		timePhrase.matches("FIRST DAY OF THE YEAR");
-		assertEquals(firstDayYear.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(firstDayYear.getTime(), timePhrase.parse("FIRST DAY OF THE YEAR").getTime(fromWhen));
 		
-		timePhrase.matches("LAST DAY OF THE YEAR");
-		assertEquals(lastDayYear.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastDayYear.getTime(), timePhrase.parse("LAST DAY OF THE YEAR").getTime(fromWhen));
 	}
 	
+	/**
+	 * Tests that the time in milliseconds matches the {@link ZonedDateTime} result.
+	 */
+	@Test
+	public void testTimeMillis() {
+		final ZoneId zone = ZoneId.of("America/New_York");
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 3, 8, 1, 1, 1, 0, zone); //Sunday, March 8th, 2015, the clocks go forward.
+		
+		for(String phrase : new String[]{"FIRST DAY OF THE WEEK", "LAST DAY OF THE MONTH", "LAST HOUR OF THE YEAR", "FIRST MILLISECOND OF THE MONTH", "LAST MINUTE OF THE DAY", "FIRST MONTH OF THE YEAR"}){
+			final TimePhraseMatch match = new FirstLastUnitTimePhrase().parse(phrase);
+			for(WeekFields weekFields : new WeekFields[]{WeekFields.SUNDAY_START, WeekFields.ISO}){
+				for(int day = 0; day < 400; day += 3){
+					final ZonedDateTime from = fromWhen.plusDays(day);
+					assertEquals(phrase + " " + from, match.getTime(from, weekFields).toInstant().toEpochMilli(),
+							match.getTimeMillis(from.toInstant().toEpochMilli(), ZoneTable.of(zone), weekFields));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the time in milliseconds matches the {@link ZonedDateTime} result when a unit that is set lands
+	 * in a gap in local time, which moves the units that are set after it.
+	 */
+	@Test
+	public void testTimeMillisInGap() {
+		final ZoneId zone = ZoneId.of("Europe/London");
+		final ZonedDateTime fromWhen = ZonedDateTime.of(1847, 12, 7, 2, 0, 8, 579000000, zone); //Local mean time ended at midnight on December 1st, 1847.
+		
+		for(String phrase : new String[]{"FIRST SECOND OF THE MONTH", "FIRST MINUTE OF THE MONTH", "FIRST MILLISECOND OF THE MONTH", "LAST HOUR OF THE YEAR"}){
+			final TimePhraseMatch match = new FirstLastUnitTimePhrase().parse(phrase);
+			for(int day = -40; day < 40; day++){
+				final ZonedDateTime from = fromWhen.plusDays(day);
+				assertEquals(phrase + " " + from, match.getTime(from, WeekFields.ISO).toInstant().toEpochMilli(),
+						match.getTimeMillis(from.toInstant().toEpochMilli(), ZoneTable.of(zone), WeekFields.ISO));
+			}
+		}
+	}
 }
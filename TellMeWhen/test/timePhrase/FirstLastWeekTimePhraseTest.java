@@ -2,6 +2,9 @@ package timePhrase;
 
 import static org.junit.Assert.*;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
 import java.util.Calendar;
 
 import org.junit.Test;
@@ -77,18 +80,19 @@ public class FirstLastWeekTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar firstWeekMonth = Calendar.getInstance();
 		firstWeekMonth.set(2015, 2, 30, 1, 1, 1); //March 30th, 2015
+		firstWeekMonth.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastWeekMonth = Calendar.getInstance();
 		lastWeekMonth.set(2015, 3, 27, 1, 1, 1); //April 27th, 2015
+		lastWeekMonth.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("FIRST WEEK OF MONTH");
-		assertEquals(firstWeekMonth.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(firstWeekMonth.getTime(), timePhrase.parse("FIRST WEEK OF MONTH").getTime(fromWhen));
 		
-		timePhrase.matches("LAST WEEK IN MONTH");
-		assertEquals(lastWeekMonth.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastWeekMonth.getTime(), timePhrase.parse("LAST WEEK IN MONTH").getTime(fromWhen));
 	}
 	
 	/**
@@ -100,18 +104,38 @@ public class FirstLastWeekTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar firstWeekYear = Calendar.getInstance();
 		firstWeekYear.set(2014, 11, 29, 1, 1, 1); //December 29th, 2014
+		firstWeekYear.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastWeekYear = Calendar.getInstance();
 		lastWeekYear.set(2015, 11, 28, 1, 1, 1); //December 28th, 2015
+		lastWeekYear.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("FIRST WEEK OF THE YEAR");
-		assertEquals(firstWeekYear.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(firstWeekYear.getTime(), timePhrase.parse("FIRST WEEK OF THE YEAR").getTime(fromWhen));
 		
-		timePhrase.matches("LAST WEEK OF THE YEAR");
-		assertEquals(lastWeekYear.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastWeekYear.getTime(), timePhrase.parse("LAST WEEK OF THE YEAR").getTime(fromWhen));
 	}
 	
+	/**
+	 * Tests that the time in milliseconds matches the {@link ZonedDateTime} result.
+	 */
+	@Test
+	public void testTimeMillis() {
+		final ZoneId zone = ZoneId.of("America/New_York");
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 3, 8, 1, 1, 1, 0, zone); //Sunday, March 8th, 2015, the clocks go forward.
+		
+		for(String phrase : new String[]{"FIRST WEEK OF THE MONTH", "LAST WEEK OF THE MONTH", "FIRST WEEK OF THE YEAR", "LAST WEEK OF THE YEAR"}){
+			final TimePhraseMatch match = new FirstLastWeekTimePhrase().parse(phrase);
+			for(WeekFields weekFields : new WeekFields[]{WeekFields.SUNDAY_START, WeekFields.ISO}){
+				for(int day = 0; day < 400; day += 3){
+					final ZonedDateTime from = fromWhen.plusDays(day);
+					assertEquals(phrase + " " + from, match.getTime(from, weekFields).toInstant().toEpochMilli(),
+							match.getTimeMillis(from.toInstant().toEpochMilli(), ZoneTable.of(zone), weekFields));
+				}
+			}
+		}
+	}
 }
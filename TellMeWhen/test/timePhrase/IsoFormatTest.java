@@ -0,0 +1,74 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link IsoFormat} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class IsoFormatTest {
+	private static final String[] ZONES = {"UTC", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe", "Europe/Amsterdam", "America/St_Johns"};
+	private static final DateTimeFormatter EXPECTED = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSXXXXX");
+
+	/**
+	 * Tests that times are written like a {@link DateTimeFormatter}, including old offsets with seconds and years
+	 * outside of four digits.
+	 */
+	@Test
+	public void testFormat() {
+		final Random random = new Random(3);
+		final char[] buffer = new char[IsoFormat.MAX_LENGTH + 5];
+		for(String id : ZONES){
+			final ZoneId zone = ZoneId.of(id);
+			final ZoneTable table = ZoneTable.of(zone);
+			for(int i = 0; i < 20000; i++){
+				final long time = i < 100 ? (i - 50) * 400000000000000L + random.nextInt() : (long)(random.nextDouble() * 8000000000000L) - 5000000000000L;
+				final int end = IsoFormat.format(time, table, buffer, 5);
+				assertEquals(EXPECTED.format(Instant.ofEpochMilli(time).atZone(zone)), new String(buffer, 5, end - 5));
+			}
+		}
+	}
+	
+	/**
+	 * Tests a known time.
+	 */
+	@Test
+	public void testKnownTime() {
+		final char[] buffer = new char[IsoFormat.MAX_LENGTH];
+		final int end = IsoFormat.format(1428555661007L, ZoneTable.of(ZoneId.of("America/New_York")), buffer, 0);
+		assertEquals("2015-04-09T01:01:01.007-04:00", new String(buffer, 0, end));
+		
+		final int utcEnd = IsoFormat.format(0, ZoneTable.of(ZoneId.of("UTC")), buffer, 0);
+		assertEquals("1970-01-01T00:00:00.000Z", new String(buffer, 0, utcEnd));
+	}
+	
+	/**
+	 * Tests reading epoch milliseconds, ISO-8601 times with an offset or zone, and local times in the zone.
+	 */
+	@Test
+	public void testParse() {
+		final ZoneId zone = ZoneId.of("America/New_York");
+		assertEquals(1428555661007L, IsoFormat.parse("1428555661007", zone));
+		assertEquals(-1L, IsoFormat.parse("-1", zone));
+		assertEquals(1428555661007L, IsoFormat.parse("2015-04-09T01:01:01.007-04:00", ZoneId.of("UTC")));
+		assertEquals(1428555661007L, IsoFormat.parse("2015-04-09T05:01:01.007Z[UTC]", zone));
+		assertEquals(1428555661007L, IsoFormat.parse("2015-04-09T01:01:01.007", zone));
+		
+		try{
+			IsoFormat.parse("soon", zone);
+			fail("Allowed a time that is not ISO-8601.");
+		} catch (DateTimeException e){
+			//Passes test
+		}
+	}
+}
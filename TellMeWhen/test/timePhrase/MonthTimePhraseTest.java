@@ -95,24 +95,25 @@ public class MonthTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextApril = Calendar.getInstance();
 		nextApril.set(2016, 3, 6, 1, 1, 1);//April 6th, 2016
+		nextApril.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextMay = Calendar.getInstance();
 		nextMay.set(2015, 4, 6, 1, 1, 1);//May 6th, 2015
+		nextMay.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar nextMarch = Calendar.getInstance();
 		nextMarch.set(2016, 2, 6, 1, 1, 1);//March 6th, 2016
+		nextMarch.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("NEXT APRIL");
-		assertEquals(nextApril.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextApril.getTime(), timePhrase.parse("NEXT APRIL").getTime(fromWhen));
 		
-		timePhrase.matches("NEXT MAY");
-		assertEquals(nextMay.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextMay.getTime(), timePhrase.parse("NEXT MAY").getTime(fromWhen));
 		
-		timePhrase.matches("NEXT MARCH");
-		assertEquals(nextMarch.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(nextMarch.getTime(), timePhrase.parse("NEXT MARCH").getTime(fromWhen));
 	}
 	
 	/**
@@ -125,24 +126,25 @@ public class MonthTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar thisApril = Calendar.getInstance();
 		thisApril.set(2015, 3, 6, 1, 1, 1);//April 6th, 2015
+		thisApril.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar thisMay = Calendar.getInstance();
 		thisMay.set(2015, 4, 6, 1, 1, 1);//May 6th, 2015
+		thisMay.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar thisMarch = Calendar.getInstance();
 		thisMarch.set(2016, 2, 6, 1, 1, 1);//March 6th, 2016
+		thisMarch.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("THIS APRIL");
-		assertEquals(thisApril.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(thisApril.getTime(), timePhrase.parse("THIS APRIL").getTime(fromWhen));
 		
-		timePhrase.matches("THIS MAY");
-		assertEquals(thisMay.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(thisMay.getTime(), timePhrase.parse("THIS MAY").getTime(fromWhen));
 		
-		timePhrase.matches("THIS MARCH");
-		assertEquals(thisMarch.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(thisMarch.getTime(), timePhrase.parse("THIS MARCH").getTime(fromWhen));
 	}
 	
 	/**
@@ -155,24 +157,25 @@ public class MonthTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar april = Calendar.getInstance();
 		april.set(2015, 3, 6, 1, 1, 1);//April 6th, 2015
+		april.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar may = Calendar.getInstance();
 		may.set(2015, 4, 6, 1, 1, 1);//May 6th, 2015
+		may.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar march = Calendar.getInstance();
 		march.set(2016, 2, 6, 1, 1, 1);//March 6th, 2016
+		march.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("APRIL");
-		assertEquals(april.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(april.getTime(), timePhrase.parse("APRIL").getTime(fromWhen));
 		
-		timePhrase.matches("MAY");
-		assertEquals(may.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(may.getTime(), timePhrase.parse("MAY").getTime(fromWhen));
 		
-		timePhrase.matches("MARCH");
-		assertEquals(march.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(march.getTime(), timePhrase.parse("MARCH").getTime(fromWhen));
 	}
 	
 	/**
@@ -184,24 +187,25 @@ public class MonthTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastApril = Calendar.getInstance();
 		lastApril.set(2014, 3, 6, 1, 1, 1);//April 6th, 2014
+		lastApril.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastMay = Calendar.getInstance();
 		lastMay.set(2014, 4, 6, 1, 1, 1);//May 6th, 2014
+		lastMay.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar lastMarch = Calendar.getInstance();
 		lastMarch.set(2015, 2, 6, 1, 1, 1);//March 6th, 2015
+		lastMarch.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("LAST APRIL");
-		assertEquals(lastApril.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastApril.getTime(), timePhrase.parse("LAST APRIL").getTime(fromWhen));
 		
-		timePhrase.matches("LAST MAY");
-		assertEquals(lastMay.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastMay.getTime(), timePhrase.parse("LAST MAY").getTime(fromWhen));
 		
-		timePhrase.matches("LAST MARCH");
-		assertEquals(lastMarch.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(lastMarch.getTime(), timePhrase.parse("LAST MARCH").getTime(fromWhen));
 	}
 	
 	/**
@@ -213,24 +217,25 @@ public class MonthTimePhraseTest {
 		
 		final Calendar fromWhen = Calendar.getInstance();
 		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar previousApril = Calendar.getInstance();
 		previousApril.set(2014, 3, 6, 1, 1, 1);//April 6th, 2014
+		previousApril.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar previousMay = Calendar.getInstance();
 		previousMay.set(2014, 4, 6, 1, 1, 1);//May 6th, 2014
+		previousMay.set(Calendar.MILLISECOND, 0);
 		
 		final Calendar previousMarch = Calendar.getInstance();
 		previousMarch.set(2015, 2, 6, 1, 1, 1);//March 6th, 2015
+		previousMarch.set(Calendar.MILLISECOND, 0);
 		
-		timePhrase.matches("PREVIOUS APRIL");
-		assertEquals(previousApril.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(previousApril.getTime(), timePhrase.parse("PREVIOUS APRIL").getTime(fromWhen));
 		
-		timePhrase.matches("PREVIOUS MAY");
-		assertEquals(previousMay.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(previousMay.getTime(), timePhrase.parse("PREVIOUS MAY").getTime(fromWhen));
 		
-		timePhrase.matches("PREVIOUS MARCH");
-		assertEquals(previousMarch.getTime(), timePhrase.getTime(fromWhen));
+		assertEquals(previousMarch.getTime(), timePhrase.parse("PREVIOUS MARCH").getTime(fromWhen));
 	}
 
 }
@@ -29,14 +29,14 @@ public class NearTimePhraseTest {
 	@Test
 	public void testNowTime() {
 		final NearTimePhrase timePhrase = new NearTimePhrase();
-		timePhrase.matches("NOW");
+		final TimePhraseMatch match = timePhrase.parse("NOW");
 		
 		Calendar calNow = Calendar.getInstance();
-		assertTrue(calNow.getTime().equals(timePhrase.getTime(calNow)));
+		assertTrue(calNow.getTime().equals(match.getTime(calNow)));
 		
 		//Tests that "NOW" will equal the given time even though it is set to tomorrow.
 		calNow.add(Calendar.DATE, 1);
-		assertTrue(calNow.getTime().equals(timePhrase.getTime(calNow)));
+		assertTrue(calNow.getTime().equals(match.getTime(calNow)));
 	}
 	
 	/**
@@ -54,14 +54,14 @@ public class NearTimePhraseTest {
 	@Test
 	public void testTodayTime() {
 		final NearTimePhrase timePhrase = new NearTimePhrase();
-		timePhrase.matches("TODAY");
+		final TimePhraseMatch match = timePhrase.parse("TODAY");
 		
 		final Calendar calToday = Calendar.getInstance();
-		assertTrue(calToday.getTime().equals(timePhrase.getTime(calToday)));
+		assertTrue(calToday.getTime().equals(match.getTime(calToday)));
 		
 		//Tests that "TODAY" will equal the given time even though it is set to tomorrow.
 		calToday.add(Calendar.DATE, 1);
-		assertTrue(calToday.getTime().equals(timePhrase.getTime(calToday)));
+		assertTrue(calToday.getTime().equals(match.getTime(calToday)));
 	}
 	
 	/**
@@ -79,20 +79,20 @@ public class NearTimePhraseTest {
 	@Test
 	public void testTomorrowTime() {
 		final NearTimePhrase timePhrase = new NearTimePhrase();
-		timePhrase.matches("TOMORROW");
+		final TimePhraseMatch match = timePhrase.parse("TOMORROW");
 		
 		final Calendar calToday = Calendar.getInstance();
 		final Calendar calTomorrow = (Calendar)calToday.clone();
 		calTomorrow.add(Calendar.DATE, 1);
 		
 		//Tests "TOMORROW" will be one day from now.
-		assertTrue(calTomorrow.getTime().equals(timePhrase.getTime(calToday)));
+		assertTrue(calTomorrow.getTime().equals(match.getTime(calToday)));
 		
 		calToday.add(Calendar.DATE, 1);
 		calTomorrow.add(Calendar.DATE, 1);
 		
 		//Tests "TOMORROW" will be one day from tomorrow.
-		assertTrue(calTomorrow.getTime().equals(timePhrase.getTime(calToday)));
+		assertTrue(calTomorrow.getTime().equals(match.getTime(calToday)));
 	}
 	
 	/**
@@ -111,19 +111,19 @@ public class NearTimePhraseTest {
 	@Test
 	public void testYesterdayTime() {
 		final NearTimePhrase timePhrase = new NearTimePhrase();
-		timePhrase.matches("YESTERDAY");
+		final TimePhraseMatch match = timePhrase.parse("YESTERDAY");
 		
 		final Calendar calToday = Calendar.getInstance();
 		final Calendar calYesterday = (Calendar)calToday.clone();
 		calYesterday.add(Calendar.DATE, -1);
 		
 		//Tests "YESTERDAY" will be one day into the past.
-		assertTrue(calYesterday.getTime().equals(timePhrase.getTime(calToday)));
+		assertTrue(calYesterday.getTime().equals(match.getTime(calToday)));
 		
 		calToday.add(Calendar.DATE, 1);
 		calYesterday.add(Calendar.DATE, 1);
 		//Tests "YESTERDAY will be one day into the past from tomorrow, ie today.
-		assertTrue(calYesterday.getTime().equals(timePhrase.getTime(calToday)));
+		assertTrue(calYesterday.getTime().equals(match.getTime(calToday)));
 	}
 	
 	/**
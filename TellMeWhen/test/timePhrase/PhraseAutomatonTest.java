@@ -0,0 +1,210 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link PhraseAutomaton} class.
+ *
+ * @author akauffman
+ *
+ */
+public class PhraseAutomatonTest {
+
+	/**
+	 * Tests that the combined automaton finds the right phrase family.
+	 */
+	@Test
+	public void testFamilyMatches() {
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+
+		final String[] phrases = {"TOMORROW", "NEXT MONDAY", "LAST MONTH", "NEXT APRIL", "SEPT"};
+		final TimePhrase[] families = {new NearTimePhrase(), new DayOfWeekTimePhrase(), new ChangeUnitTimePhrase(), new MonthTimePhrase(), new MonthTimePhrase()};
+
+		for(int i = 0; i < phrases.length; i++){
+			assertEquals(phrases[i], families[i].parse(phrases[i]).getTime(fromWhen), automaton.parse(phrases[i]).getTime(fromWhen));
+		}
+	}
+
+	/**
+	 * Tests that phrases nobody knows about do not match.
+	 */
+	@Test
+	public void testNoMatch() {
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+		assertNull(automaton.parse(""));
+		assertNull(automaton.parse("NOT A VALID PATTERN"));
+		assertNull(automaton.parse("NEXT"));
+		assertNull(automaton.parse("NEXT MONDAYS"));
+		assertNull(automaton.parse("MONDAY NEXT"));
+		assertNull(automaton.parse("NEXT 1 MONDAY"));
+	}
+	
+	/**
+	 * Tests that abbreviations match the same phrase as the full word.
+	 */
+	@Test
+	public void testAbbreviations() {
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+		
+		final Calendar fromWhen = Calendar.getInstance();
+		fromWhen.set(2015, 3, 6, 1, 1, 1); //Monday, April 6th, 2015
+		fromWhen.set(Calendar.MILLISECOND, 0);
+		
+		assertEquals(automaton.parse("NEXT THURSDAY").getTime(fromWhen), automaton.parse("NEXT THU").getTime(fromWhen));
+		assertEquals(automaton.parse("LAST TUESDAY").getTime(fromWhen), automaton.parse("LAST TUES").getTime(fromWhen));
+		assertEquals(automaton.parse("NEXT WEEK").getTime(fromWhen), automaton.parse("NEXT WK").getTime(fromWhen));
+		assertEquals(automaton.parse("LAST HOUR").getTime(fromWhen), automaton.parse("LASTHR").getTime(fromWhen));
+		assertEquals(automaton.parse("SEPTEMBER").getTime(fromWhen), automaton.parse("SEP").getTime(fromWhen));
+	}
+
+	/**
+	 * Tests that whitespace is allowed between words, but not inside them.
+	 */
+	@Test
+	public void testWhitespace() {
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+		assertNotNull(automaton.parse("NEXTMARCH"));
+		assertNotNull(automaton.parse("NEXT \t MARCH"));
+		assertNotNull(automaton.parse("  NEXT MARCH  "));
+		assertNull(automaton.parse("NEXT MAR CH"));
+		assertNull(automaton.parse("NE XT MARCH"));
+	}
+
+	/**
+	 * Tests that phrase is case insensitive.
+	 */
+	@Test
+	public void testLowerCaseMatches(){
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+		assertNotNull(automaton.parse("nExT mOnDaY"));
+	}
+
+	/**
+	 * Tests that the first phrase in the list wins when two grammars accept the same words.
+	 */
+	@Test
+	public void testPrecedence() {
+		final TimePhraseMatch today = new NearTimePhrase().parse("TODAY");
+		final TimePhraseMatch tomorrow = new NearTimePhrase().parse("TOMORROW");
+
+		final TimePhrase first = new TestPhrase(today);
+		final TimePhrase second = new TestPhrase(tomorrow);
+
+		assertSame(today, PhraseAutomaton.compile(Arrays.asList(first, second)).parse("NOW"));
+		assertSame(tomorrow, PhraseAutomaton.compile(Arrays.asList(second, first)).parse("NOW"));
+	}
+
+	/**
+	 * Tests that no two registered phrases accept the same words, so every phrase matches the same family whatever
+	 * order the phrases are registered in.
+	 */
+	@Test
+	public void testRegisteredPhrasesDoNotOverlap() {
+		final List<TimePhrase> timePhrases = new ArrayList<>(TimePhraseFactory.getTimePhrases());
+		final PhraseAutomaton forward = PhraseAutomaton.compile(timePhrases);
+		Collections.reverse(timePhrases);
+		final PhraseAutomaton reversed = PhraseAutomaton.compile(timePhrases);
+		
+		int count = 0;
+		for(TimePhrase timePhrase : timePhrases){
+			final PhraseGrammar grammar = timePhrase.getGrammar();
+			final List<Keyword[]> phrases = new ArrayList<>();
+			expand(grammar, 0, new Keyword[grammar.getSlotCount()], phrases);
+			for(Keyword[] words : phrases){
+				if(timePhrase.createMatch(words) == null){
+					//The grammar allows these words, but they are not a phrase.
+					continue;
+				}
+				final int[] phrase = toTokens(words);
+				final TimePhraseMatch match = forward.parse(phrase, phrase.length);
+				assertSame(Arrays.toString(words), timePhrase.getClass(), match.getClass().getEnclosingClass());
+				assertSame(Arrays.toString(words), match.getClass(), reversed.parse(phrase, phrase.length).getClass());
+				count++;
+			}
+		}
+		assertTrue(count > 100);
+	}
+
+	/**
+	 * Tests that tokens give the match for a quantity of one, which is why only {@link PhraseAutomaton#parse(CharSequence)}
+	 * is public, and that At is not part of any grammar.
+	 */
+	@Test
+	public void testTokens() {
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+		final int[] inDays = {Keyword.IN.ordinal(), Keyword.NUMBER.ordinal(), Keyword.DAY.ordinal()};
+		assertEquals(automaton.parse("IN 1 DAY"), automaton.parse(inDays, inDays.length));
+		assertNotEquals(automaton.parse("IN 5 DAYS"), automaton.parse(inDays, inDays.length));
+
+		final int[] atNoon = {Keyword.TOMORROW.ordinal(), Keyword.AT.ordinal(), Keyword.NOON.ordinal()};
+		assertNull(automaton.parse(atNoon, atNoon.length));
+		assertNotNull(automaton.parse("TOMORROW AT NOON"));
+	}
+
+	/**
+	 * Adds the words of every phrase the grammar accepts from the given slot onward, with null for optional slots
+	 * that are left out.
+	 */
+	private static void expand(PhraseGrammar grammar, int slot, Keyword[] words, List<Keyword[]> phrases){
+		if(slot == grammar.getSlotCount()){
+			phrases.add(words.clone());
+			return;
+		}
+		if(grammar.isOptional(slot)){
+			words[slot] = null;
+			expand(grammar, slot + 1, words, phrases);
+		}
+		for(Keyword keyword : grammar.getKeywords(slot)){
+			words[slot] = keyword;
+			expand(grammar, slot + 1, words, phrases);
+		}
+		words[slot] = null;
+	}
+
+	/**
+	 * @return the ordinals of the words that are not null.
+	 */
+	private static int[] toTokens(Keyword[] words){
+		final int[] tokens = new int[words.length];
+		int count = 0;
+		for(Keyword word : words){
+			if(word != null){
+				tokens[count++] = word.ordinal();
+			}
+		}
+		return Arrays.copyOf(tokens, count);
+	}
+
+	/**
+	 * Phrase that always creates the same match.
+	 */
+	private static final class TestPhrase extends AbstractTimePhrase {
+		private final TimePhraseMatch match;
+
+		private TestPhrase(TimePhraseMatch match){
+			this.match = match;
+		}
+
+		@Override
+		public PhraseGrammar getGrammar() {
+			return PhraseGrammar.start().then(Keyword.NOW);
+		}
+
+		@Override
+		public TimePhraseMatch createMatch(Keyword[] words) {
+			return match;
+		}
+	}
+}
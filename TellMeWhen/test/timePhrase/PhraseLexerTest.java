@@ -0,0 +1,97 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link PhraseLexer} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class PhraseLexerTest {
+
+	/**
+	 * Tests that words are split into keyword tokens.
+	 */
+	@Test
+	public void testTokenize() {
+		final int[] tokens = new int[8];
+		assertEquals(5, PhraseLexer.tokenize("first day in the month", tokens));
+		assertArrayEquals(new int[]{Keyword.FIRST.ordinal(), Keyword.DAY.ordinal(), Keyword.IN.ordinal(), Keyword.THE.ordinal(), Keyword.MONTH.ordinal()}, 
+				Arrays.copyOf(tokens, 5));
+	}
+	
+	/**
+	 * Tests that whitespace between words is optional, and the longest keyword wins.
+	 */
+	@Test
+	public void testLongestMatch() {
+		final int[] tokens = new int[8];
+		assertEquals(2, PhraseLexer.tokenize("NEXTMONTH", tokens));
+		assertEquals(Keyword.MONTH.ordinal(), tokens[1]);
+		
+		assertEquals(2, PhraseLexer.tokenize("NEXTMONDAY", tokens));
+		assertEquals(Keyword.MONDAY.ordinal(), tokens[1]);
+		
+		assertEquals(2, PhraseLexer.tokenize("NEXTMON", tokens));
+		assertEquals(Keyword.MONDAY.ordinal(), tokens[1]);
+	}
+	
+	/**
+	 * Tests that abbreviations are read as the full keyword.
+	 */
+	@Test
+	public void testAbbreviations() {
+		final int[] tokens = new int[8];
+		assertEquals(5, PhraseLexer.tokenize("thu TUES wk Hr sep", tokens));
+		assertEquals(Keyword.THURSDAY.ordinal(), tokens[0]);
+		assertEquals(Keyword.TUESDAY.ordinal(), tokens[1]);
+		assertEquals(Keyword.WEEK.ordinal(), tokens[2]);
+		assertEquals(Keyword.HOUR.ordinal(), tokens[3]);
+		assertEquals(Keyword.SEPTEMBER.ordinal(), tokens[4]);
+	}
+	
+	/**
+	 * Tests that digits and number words are read as numbers with their value.
+	 */
+	@Test
+	public void testNumbers() {
+		final String[] numbers = {"0", "90", "007", "seven", "Twelve", "TWENTY", "twenty five", "Twenty-Five", "ninetynine", String.valueOf(PhraseLexer.MAX_NUMBER)};
+		final int[] values = {0, 90, 7, 7, 12, 20, 25, 25, 99, PhraseLexer.MAX_NUMBER};
+		for(int i = 0; i < numbers.length; i++){
+			final long token = PhraseLexer.nextToken(numbers[i], 0);
+			assertEquals(numbers[i], Keyword.NUMBER, PhraseLexer.getKeyword(token));
+			assertEquals(numbers[i], values[i], PhraseLexer.getValue(token));
+			assertEquals(numbers[i], numbers[i].length(), PhraseLexer.getEnd(token));
+		}
+		
+		final int[] tokens = new int[8];
+		assertEquals(3, PhraseLexer.tokenize("in 3days", tokens));
+		assertEquals(Keyword.NUMBER.ordinal(), tokens[1]);
+		assertEquals(Keyword.DAY.ordinal(), tokens[2]);
+		
+		assertEquals(3, PhraseLexer.tokenize("twenty days ago", tokens));
+		assertEquals(Keyword.NUMBER.ordinal(), tokens[0]);
+		
+		assertEquals(2, PhraseLexer.tokenize("twenty ten", tokens));
+		assertEquals(-1, PhraseLexer.tokenize("twenty-ten", tokens));
+		assertEquals(-1, PhraseLexer.tokenize(String.valueOf(PhraseLexer.MAX_NUMBER + 1L), tokens));
+	}
+	
+	/**
+	 * Tests that text that is not made of keywords is rejected.
+	 */
+	@Test
+	public void testNoMatch() {
+		final int[] tokens = new int[8];
+		assertEquals(-1, PhraseLexer.tokenize("NOT A VALID PATTERN", tokens));
+		assertEquals(-1, PhraseLexer.tokenize("MAR CH", tokens));
+		assertEquals(-1, PhraseLexer.tokenize("NEXT 5.5", tokens));
+		assertEquals(0, PhraseLexer.tokenize("   ", tokens));
+		assertEquals(-1, PhraseLexer.tokenize("NEXT NEXT NEXT", new int[2]));
+	}
+}
@@ -0,0 +1,239 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link Range} and {@link TimeInterval} classes.
+ *
+ * @author akauffman
+ *
+ */
+public class RangeTest {
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+	private static final ZoneTable TABLE = ZoneTable.of(ZONE);
+
+	/**
+	 * Tests which phrases name a stretch of time.
+	 */
+	@Test
+	public void testParse() {
+		assertNotNull(Range.parse("LAST WEEK"));
+		assertNotNull(Range.parse("this month"));
+		assertNotNull(Range.parse("TOMORROW"));
+		assertNotNull(Range.parse("NEXT MONDAY"));
+		assertNotNull(Range.parse("APRIL"));
+		assertNotNull(Range.parse("FIRST DAY OF THE MONTH"));
+		assertNotNull(Range.parse("LAST WEEK OF THE YEAR"));
+		assertNotNull(Range.parse("IN 3 DAYS"));
+		assertNotNull(Range.parse("Between Monday and Friday"));
+		assertNotNull(Range.parse("  BETWEEN NOW AND NEXT FRIDAY  "));
+
+		assertNull(Range.parse(""));
+		assertNull(Range.parse("NOW"));
+		assertNull(Range.parse("FIRST MONTH OF THE DAY"));
+		assertNull(Range.parse("BETWEEN"));
+		assertNull(Range.parse("BETWEEN MONDAY"));
+		assertNull(Range.parse("BETWEEN MONDAY AND"));
+		assertNull(Range.parse("BETWEEN AND FRIDAY"));
+		assertNull(Range.parse("BETWEEN MONDAY AND NOT A VALID PATTERN"));
+		assertNull(Range.parse("MONDAY AND FRIDAY"));
+	}
+
+	/**
+	 * Tests that last week runs from the first day of last week to the first day of this week, wherever the week starts.
+	 */
+	@Test
+	public void testLastWeek() {
+		final long from = ZonedDateTime.of(2015, 4, 8, 10, 0, 0, 0, ZONE).toInstant().toEpochMilli(); //Wednesday, April 8th, 2015
+		final Range lastWeek = Range.parse("LAST WEEK");
+
+		assertEquals(new TimeInterval(ZonedDateTime.of(2015, 3, 30, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(), ZonedDateTime.of(2015, 4, 6, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli()),
+				lastWeek.getInterval(from, TABLE, WeekFields.ISO));
+		assertEquals(new TimeInterval(ZonedDateTime.of(2015, 3, 29, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(), ZonedDateTime.of(2015, 4, 5, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli()),
+				lastWeek.getInterval(from, TABLE, WeekFields.SUNDAY_START));
+	}
+
+	/**
+	 * Tests that each unit runs from its start to the start of the next one, the same as truncating a {@link ZonedDateTime}.
+	 */
+	@Test
+	public void testUnits() {
+		final String[] phrases = {"THIS SECOND", "THIS MINUTE", "THIS HOUR", "TODAY", "THIS WEEK", "THIS MONTH", "THIS YEAR"};
+		final ChronoUnit[] units = {ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS};
+		//Half hour offset, so hours do not start on the hour in UTC.
+		final ZoneId zone = ZoneId.of("Asia/Kolkata");
+
+		for(int i = 0; i < phrases.length; i++){
+			final Range range = Range.parse(phrases[i]);
+			for(int hour = 0; hour < 24 * 800; hour += 7){
+				final ZonedDateTime from = ZonedDateTime.of(2015, 1, 1, 0, 17, 23, 456000000, zone).plusHours(hour);
+				final ZonedDateTime start = truncate(from, units[i]);
+				final TimeInterval expected = new TimeInterval(start.toInstant().toEpochMilli(), start.plus(1, units[i]).toInstant().toEpochMilli());
+				final TimeInterval interval = range.getInterval(from.toInstant().toEpochMilli(), ZoneTable.of(zone), WeekFields.ISO);
+				assertEquals(phrases[i] + " " + from, expected, interval);
+				assertTrue(interval.contains(from.toInstant().toEpochMilli()));
+			}
+		}
+	}
+
+	/**
+	 * Tests that a day is as long as the clocks make it, and that the hour that happens twice when the clocks go back
+	 * is two different hours.
+	 */
+	@Test
+	public void testDaylightSaving() {
+		final Range today = Range.parse("TODAY");
+		final TimeInterval springForward = today.getInterval(ZonedDateTime.of(2015, 3, 8, 12, 0, 0, 0, ZONE).toInstant().toEpochMilli(), TABLE, WeekFields.ISO);
+		assertEquals(23 * EpochMath.HOUR_MILLIS, springForward.getEndMillis() - springForward.getStartMillis());
+		final TimeInterval fallBack = today.getInterval(ZonedDateTime.of(2015, 11, 1, 12, 0, 0, 0, ZONE).toInstant().toEpochMilli(), TABLE, WeekFields.ISO);
+		assertEquals(25 * EpochMath.HOUR_MILLIS, fallBack.getEndMillis() - fallBack.getStartMillis());
+
+		final ZonedDateTime daylight = ZonedDateTime.of(2015, 11, 1, 1, 30, 0, 0, ZONE).withEarlierOffsetAtOverlap();
+		final ZonedDateTime standard = daylight.withLaterOffsetAtOverlap();
+		final Range thisHour = Range.parse("THIS HOUR");
+		assertEquals(new TimeInterval(daylight.minusMinutes(30).toInstant().toEpochMilli(), daylight.plusMinutes(30).toInstant().toEpochMilli()),
+				thisHour.getInterval(daylight.toInstant().toEpochMilli(), TABLE, WeekFields.ISO));
+		assertEquals(new TimeInterval(standard.minusMinutes(30).toInstant().toEpochMilli(), standard.plusMinutes(30).toInstant().toEpochMilli()),
+				thisHour.getInterval(standard.toInstant().toEpochMilli(), TABLE, WeekFields.ISO));
+	}
+
+	/**
+	 * Tests that between runs from the start of the first phrase to the end of the second, working the second out
+	 * from the first if it would end before the first starts.
+	 */
+	@Test
+	public void testBetween() {
+		final ZonedDateTime from = ZonedDateTime.of(2015, 4, 8, 10, 0, 0, 0, ZONE); //Wednesday, April 8th, 2015
+		final long fromMillis = from.toInstant().toEpochMilli();
+
+		//Monday is the one coming up, so Friday is the one after it.
+		assertEquals(new TimeInterval(ZonedDateTime.of(2015, 4, 13, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(), ZonedDateTime.of(2015, 4, 18, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli()),
+				Range.parse("BETWEEN MONDAY AND FRIDAY").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(new TimeInterval(ZonedDateTime.of(2015, 4, 6, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(), ZonedDateTime.of(2015, 4, 11, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli()),
+				Range.parse("BETWEEN LAST MONDAY AND FRIDAY").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(new TimeInterval(ZonedDateTime.of(2015, 4, 10, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(), ZonedDateTime.of(2015, 4, 14, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli()),
+				Range.parse("BETWEEN FRIDAY AND MONDAY").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(new TimeInterval(fromMillis, ZonedDateTime.of(2015, 4, 10, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli()),
+				Range.parse("between now and tomorrow").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(new TimeInterval(ZonedDateTime.of(2015, 3, 1, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(), fromMillis),
+				Range.parse("BETWEEN LAST MONTH AND NOW").getInterval(fromMillis, TABLE, WeekFields.ISO));
+
+		assertNull(Range.parse("BETWEEN TOMORROW AND YESTERDAY").getInterval(fromMillis, TABLE, WeekFields.ISO));
+	}
+
+	/**
+	 * Tests that between finds And after a clock time, whose colon is not a keyword.
+	 */
+	@Test
+	public void testBetweenTimes() {
+		final long fromMillis = ZonedDateTime.of(2015, 4, 8, 10, 0, 0, 0, ZONE).toInstant().toEpochMilli(); //Wednesday, April 8th, 2015
+
+		final TimeInterval expected = new TimeInterval(ZonedDateTime.of(2015, 4, 13, 9, 30, 0, 0, ZONE).toInstant().toEpochMilli(), ZonedDateTime.of(2015, 4, 17, 17, 0, 0, 0, ZONE).toInstant().toEpochMilli());
+		assertEquals(expected, Range.parse("BETWEEN MONDAY AT 9:30 AND FRIDAY AT 17:00").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(expected, Range.parse("between monday at 9:30am and friday at 5:00:00 pm").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(expected, Range.parse("BETWEEN MONDAY AT 9:30 AND FRIDAY AT 5PM").getInterval(fromMillis, TABLE, WeekFields.ISO));
+
+		assertNull(Range.parse("BETWEEN MONDAY AT 9:30 AND"));
+		assertNull(Range.parse("BETWEEN MONDAY AT 9:30"));
+		assertNull(Range.parse("BETWEEN MONDAY AT 9:3 AND FRIDAY"));
+	}
+
+	/**
+	 * Tests a between phrase whose ends are the same phrase, which the automaton parses to the same match.
+	 */
+	@Test
+	public void testBetweenSame() {
+		final long fromMillis = ZonedDateTime.of(2015, 4, 8, 10, 0, 0, 0, ZONE).toInstant().toEpochMilli(); //Wednesday, April 8th, 2015
+
+		assertEquals(new TimeInterval(ZonedDateTime.of(2015, 4, 9, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli(), ZonedDateTime.of(2015, 4, 10, 0, 0, 0, 0, ZONE).toInstant().toEpochMilli()),
+				Range.parse("BETWEEN TOMORROW AND TOMORROW").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(Range.parse("NEXT MONTH").getInterval(fromMillis, TABLE, WeekFields.ISO),
+				Range.parse("BETWEEN NEXT MONTH AND NEXT MONTH").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		//An instant to itself holds no time.
+		assertNull(Range.parse("BETWEEN NOW AND NOW").getInterval(fromMillis, TABLE, WeekFields.ISO));
+	}
+
+	/**
+	 * Tests that a number of units after Next or Last covers every one of them, and that In or Ago covers only the
+	 * unit it lands on.
+	 */
+	@Test
+	public void testQuantity() {
+		final ZonedDateTime from = ZonedDateTime.of(2015, 4, 19, 10, 20, 30, 0, ZONE); //Sunday, April 19th, 2015
+		final long fromMillis = from.toInstant().toEpochMilli();
+		final ZonedDateTime today = from.truncatedTo(ChronoUnit.DAYS);
+		final ZonedDateTime hour = from.truncatedTo(ChronoUnit.HOURS);
+
+		assertEquals(interval(today.minusDays(7), today), Range.parse("LAST 7 DAYS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(interval(today.minusDays(7), today), Range.parse("PREVIOUS SEVEN DAYS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(interval(today.plusDays(1), today.plusDays(4)), Range.parse("NEXT 3 DAYS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(interval(hour.plusHours(1), hour.plusHours(4)), Range.parse("NEXT 3 HOURS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(interval(ZonedDateTime.of(2015, 3, 30, 0, 0, 0, 0, ZONE), ZonedDateTime.of(2015, 4, 13, 0, 0, 0, 0, ZONE)),
+				Range.parse("LAST 2 WEEKS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(interval(ZonedDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZONE), ZonedDateTime.of(2015, 4, 1, 0, 0, 0, 0, ZONE)),
+				Range.parse("LAST 3 MONTHS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(Range.parse("LAST DAY").getInterval(fromMillis, TABLE, WeekFields.ISO), Range.parse("LAST 1 DAY").getInterval(fromMillis, TABLE, WeekFields.ISO));
+
+		assertEquals(interval(today.plusDays(3), today.plusDays(4)), Range.parse("IN 3 DAYS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(interval(today.minusDays(7), today.minusDays(6)), Range.parse("7 DAYS AGO").getInterval(fromMillis, TABLE, WeekFields.ISO));
+		assertEquals(interval(today.minusDays(7), today.plusDays(4)), Range.parse("BETWEEN LAST 7 DAYS AND NEXT 3 DAYS").getInterval(fromMillis, TABLE, WeekFields.ISO));
+
+		//Across the start of daylight saving time on March 8th, which is 23 hours long.
+		final long march = ZonedDateTime.of(2015, 3, 10, 12, 0, 0, 0, ZONE).toInstant().toEpochMilli();
+		assertEquals(interval(ZonedDateTime.of(2015, 3, 3, 0, 0, 0, 0, ZONE), ZonedDateTime.of(2015, 3, 10, 0, 0, 0, 0, ZONE)),
+				Range.parse("LAST 7 DAYS").getInterval(march, TABLE, WeekFields.ISO));
+	}
+
+	/**
+	 * Tests that an interval holds its start and not its end.
+	 */
+	@Test
+	public void testInterval() {
+		final TimeInterval interval = new TimeInterval(1000, 2000);
+		assertTrue(interval.contains(1000));
+		assertTrue(interval.contains(1999));
+		assertFalse(interval.contains(2000));
+		assertFalse(interval.contains(999));
+		assertFalse(new TimeInterval(1000, 1000).contains(1000));
+		assertEquals("1970-01-01T00:00:01Z/1970-01-01T00:00:02Z", interval.toString());
+
+		try {
+			new TimeInterval(2000, 1000);
+			fail("An interval that ends before it starts was created");
+		} catch (IllegalArgumentException e) {
+			//Expected
+		}
+	}
+
+	/**
+	 * @return the interval between the given times.
+	 */
+	private static TimeInterval interval(ZonedDateTime start, ZonedDateTime end){
+		return new TimeInterval(start.toInstant().toEpochMilli(), end.toInstant().toEpochMilli());
+	}
+
+	/**
+	 * @return the start of the unit that holds the given time.
+	 */
+	private static ZonedDateTime truncate(ZonedDateTime time, ChronoUnit unit){
+		switch(unit){
+		case WEEKS:
+			return time.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).truncatedTo(ChronoUnit.DAYS);
+		case MONTHS:
+			return time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+		case YEARS:
+			return time.withDayOfYear(1).truncatedTo(ChronoUnit.DAYS);
+		default:
+			return time.truncatedTo(unit);
+		}
+	}
+}
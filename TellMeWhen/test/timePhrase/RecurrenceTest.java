@@ -0,0 +1,142 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link Recurrence} class.
+ *
+ * @author akauffman
+ *
+ */
+public class RecurrenceTest {
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+	private static final ZoneTable TABLE = ZoneTable.of(ZONE);
+
+	/**
+	 * Tests which phrases repeat.
+	 */
+	@Test
+	public void testParse() {
+		assertNotNull(Recurrence.parse("EVERY MONDAY"));
+		assertNotNull(Recurrence.parse("every march"));
+		assertNotNull(Recurrence.parse("Every First Day of the Month"));
+		assertNotNull(Recurrence.parse("EVERY LAST WEEK OF THE YEAR"));
+		assertNotNull(Recurrence.parse("EVERY DAY"));
+		assertNotNull(Recurrence.parse("  EVERY 3 HOURS  "));
+		assertNotNull(Recurrence.parse("EVERY TWO WEEKS"));
+
+		assertNull(Recurrence.parse(""));
+		assertNull(Recurrence.parse("EVERY"));
+		assertNull(Recurrence.parse("MONDAY"));
+		assertNull(Recurrence.parse("EVERY TOMORROW"));
+		assertNull(Recurrence.parse("EVERY NEXT MONDAY"));
+		assertNull(Recurrence.parse("EVERY LAST MONTH"));
+		assertNull(Recurrence.parse("EVERY 0 DAYS"));
+		assertNull(Recurrence.parse("EVERY 3"));
+		assertNull(Recurrence.parse("EVERY 3 HOURS AGO"));
+		assertNull(Recurrence.parse("EVERY 3 HOURS AT NOON"));
+		assertNull(Recurrence.parse("EVERY DAY AT"));
+		assertNull(Recurrence.parse("EVERY DAY NOON"));
+	}
+	
+	/**
+	 * Tests that a time of day is kept through every step, with a phrase and with a unit of time.
+	 */
+	@Test
+	public void testTimeOfDay() {
+		final ZonedDateTime from = ZonedDateTime.of(2015, 3, 2, 10, 0, 0, 0, ZONE); //Monday, March 2nd, 2015. The clocks go forward on the 8th.
+		final long start = from.toInstant().toEpochMilli();
+
+		final long[] mondays = Recurrence.parse("EVERY MONDAY AT 9AM").stream(start, TABLE, WeekFields.ISO).limit(4).toArray();
+		for(int i = 0; i < mondays.length; i++){
+			assertEquals(ZonedDateTime.of(2015, 3, 9 + 7 * i, 9, 0, 0, 0, ZONE).toInstant().toEpochMilli(), mondays[i]);
+		}
+
+		final long[] days = Recurrence.parse("every day at noon").stream(start, TABLE, WeekFields.ISO).limit(10).toArray();
+		for(int i = 0; i < days.length; i++){
+			assertEquals(ZonedDateTime.of(2015, 3, 2 + i, 12, 0, 0, 0, ZONE).toInstant().toEpochMilli(), days[i]);
+		}
+
+		assertEquals(ZonedDateTime.of(2015, 3, 16, 9, 0, 0, 0, ZONE).toInstant().toEpochMilli(),
+				Recurrence.parse("EVERY 2 WEEKS AT 9AM").stream(start, TABLE, WeekFields.ISO).findFirst().getAsLong());
+	}
+
+	/**
+	 * Tests that every Monday gives the same times as asking for next Monday from each time in turn.
+	 */
+	@Test
+	public void testEveryMonday() {
+		final TimePhraseMatch nextMonday = new DayOfWeekTimePhrase().parse("NEXT MONDAY");
+		final Recurrence everyMonday = Recurrence.parse("EVERY MONDAY");
+
+		for(int day = 6; day < 13; day++){
+			final long from = ZonedDateTime.of(2015, 4, day, 1, 1, 1, 0, ZONE).toInstant().toEpochMilli(); //Monday, April 6th, 2015 to Sunday
+			long expected = nextMonday.getTimeMillis(from, TABLE, WeekFields.ISO);
+			if(day > 6){
+				//Next Monday skips a week from Tuesday onward, so start from the Monday before it.
+				expected = new DayOfWeekTimePhrase().parse("MONDAY").getTimeMillis(from, TABLE, WeekFields.ISO);
+			}
+			final long[] times = everyMonday.stream(from, TABLE, WeekFields.ISO).limit(60).toArray();
+			for(long time : times){
+				assertEquals(expected, time);
+				expected = nextMonday.getTimeMillis(expected, TABLE, WeekFields.ISO);
+			}
+		}
+	}
+
+	/**
+	 * Tests that the first day of the month keeps the time of day, and starts after the given time.
+	 */
+	@Test
+	public void testFirstDayOfMonth() {
+		final ZonedDateTime from = ZonedDateTime.of(2015, 4, 6, 12, 1, 1, 0, ZONE); //Monday, April 6th, 2015
+		final long[] times = Recurrence.parse("EVERY FIRST DAY OF THE MONTH").stream(from.toInstant().toEpochMilli(), TABLE, WeekFields.ISO).limit(24).toArray();
+
+		assertEquals(24, times.length);
+		for(int i = 0; i < times.length; i++){
+			assertEquals(from.withDayOfMonth(1).plusMonths(i + 1).toInstant().toEpochMilli(), times[i]);
+		}
+
+		final ZonedDateTime firstOfMonth = ZonedDateTime.of(2015, 4, 1, 12, 1, 1, 0, ZONE);
+		assertEquals(firstOfMonth.plusMonths(1).toInstant().toEpochMilli(),
+				Recurrence.parse("EVERY FIRST DAY OF THE MONTH").next(firstOfMonth.toInstant().toEpochMilli(), TABLE, WeekFields.ISO));
+	}
+
+	/**
+	 * Tests that the last day of the month follows the length of each month.
+	 */
+	@Test
+	public void testLastDayOfMonth() {
+		final ZonedDateTime from = ZonedDateTime.of(2015, 12, 31, 23, 0, 0, 0, ZONE);
+		final long[] times = Recurrence.parse("EVERY LAST DAY OF THE MONTH").stream(from.toInstant().toEpochMilli(), TABLE, WeekFields.ISO).limit(14).toArray();
+
+		for(int i = 0; i < times.length; i++){
+			final ZonedDateTime month = from.plusMonths(i + 1);
+			assertEquals(month.withDayOfMonth(month.toLocalDate().lengthOfMonth()).toInstant().toEpochMilli(), times[i]);
+		}
+		assertEquals(ZonedDateTime.of(2016, 2, 29, 23, 0, 0, 0, ZONE).toInstant().toEpochMilli(), times[1]);
+	}
+
+	/**
+	 * Tests that a window only holds the times inside it, and that days keep their local time across daylight saving changes.
+	 */
+	@Test
+	public void testWindow() {
+		final ZonedDateTime from = ZonedDateTime.of(2015, 3, 7, 1, 1, 1, 0, ZONE); //The clocks go forward the next day.
+		final long start = from.toInstant().toEpochMilli();
+
+		assertEquals(7, Recurrence.parse("EVERY 3 HOURS").stream(start, start + 24 * EpochMath.HOUR_MILLIS, TABLE, WeekFields.ISO).count());
+
+		final long[] days = Recurrence.parse("EVERY DAY").stream(start, from.plusDays(5).toInstant().toEpochMilli(), TABLE, WeekFields.ISO).toArray();
+		assertEquals(4, days.length);
+		for(int i = 0; i < days.length; i++){
+			assertEquals(from.plusDays(i + 1).toInstant().toEpochMilli(), days[i]);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TimeOfDay} class.
+ *
+ * @author akauffman
+ *
+ */
+public class TimeOfDayTest {
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+	private static final ZoneTable TABLE = ZoneTable.of(ZONE);
+
+	/**
+	 * Tests the 12 and 24 hour clocks, and the named times.
+	 */
+	@Test
+	public void testTimes() {
+		final ZonedDateTime fromWhen = ZonedDateTime.of(2015, 4, 6, 1, 1, 1, 0, ZONE); //Monday, April 6th, 2015
+		final String[] times = {"5PM", "5 pm", "5:30pm", "12AM", "12 PM", "11:59:59 PM", "Five PM", "17:30", "0:00", "08:05:09", "23", "Noon", "midday", "Midnight", "End of Day", "END OF THE DAY"};
+		final LocalTime[] expected = {LocalTime.of(17, 0), LocalTime.of(17, 0), LocalTime.of(17, 30), LocalTime.MIDNIGHT, LocalTime.NOON, LocalTime.of(23, 59, 59), LocalTime.of(17, 0), LocalTime.of(17, 30),
+				LocalTime.MIDNIGHT, LocalTime.of(8, 5, 9), LocalTime.of(23, 0), LocalTime.NOON, LocalTime.NOON, LocalTime.MIDNIGHT, LocalTime.of(23, 59, 59, 999000000), LocalTime.of(23, 59, 59, 999000000)};
+
+		for(int i = 0; i < times.length; i++){
+			final TimePhraseMatch match = TimePhraseFactory.getAutomaton().parse("TOMORROW AT " + times[i]);
+			assertNotNull(times[i], match);
+			assertEquals(times[i], fromWhen.toLocalDate().plusDays(1).atTime(expected[i]).atZone(ZONE), match.getTime(fromWhen, WeekFields.ISO));
+		}
+	}
+
+	/**
+	 * Tests that text that is not a time of day does not match.
+	 */
+	@Test
+	public void testNoMatch() {
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+		for(String phrase : new String[]{"TOMORROW AT", "AT 5PM", "TOMORROW 5PM", "TOMORROW AT 13PM", "TOMORROW AT 0AM", "TOMORROW AT 24", "TOMORROW AT 24:00",
+				"TOMORROW AT 5:7", "TOMORROW AT 5:60", "TOMORROW AT 5:30:60", "TOMORROW AT 5PM NEXT", "TOMORROW AT END OF MONTH", "TOMORROW AT END",
+				"TOMORROW AT NOON PM", "TOMORROW AT MONDAY", "NEXT AT 5PM", "TOMORROW AT 5PM AT 6PM"}){
+			assertNull(phrase, automaton.parse(phrase));
+		}
+	}
+
+	/**
+	 * Tests that the time of day composes with each kind of phrase, and that the time in milliseconds matches the
+	 * {@link ZonedDateTime} result on every day of a year, including those with daylight saving changes.
+	 */
+	@Test
+	public void testTimeMillis() {
+		final String[] phrases = {"NEXT FRIDAY AT 5PM", "TOMORROW AT 2:30AM", "YESTERDAY AT 1:30 AM", "TODAY AT MIDNIGHT", "NEXT MARCH AT NOON",
+				"FIRST DAY OF THE MONTH AT 9AM", "LAST WEEK OF THE YEAR AT 23:00", "IN 3 DAYS AT END OF DAY", "TWO HOURS AGO AT 6:15"};
+		final ZonedDateTime start = ZonedDateTime.of(2015, 1, 1, 10, 20, 30, 0, ZONE);
+
+		for(String phrase : phrases){
+			final TimePhraseMatch match = TimePhraseFactory.getAutomaton().parse(phrase);
+			assertFalse(phrase, match.isDateLevel());
+			for(int day = 0; day < 366; day++){
+				final ZonedDateTime from = start.plusDays(day);
+				assertEquals(phrase + " " + from, match.getTime(from, WeekFields.ISO).toInstant().toEpochMilli(),
+						match.getTimeMillis(from.toInstant().toEpochMilli(), TABLE, WeekFields.ISO));
+			}
+		}
+	}
+
+	/**
+	 * Tests that a time skipped when the clocks go forward moves forward by the gap, and that a time that happens
+	 * twice when they go back is the later one.
+	 */
+	@Test
+	public void testDaylightSaving() {
+		final TimePhraseMatch skipped = TimePhraseFactory.getAutomaton().parse("TOMORROW AT 2:30AM");
+		final long springForward = ZonedDateTime.of(2015, 3, 7, 12, 0, 0, 0, ZONE).toInstant().toEpochMilli();
+		assertEquals(ZonedDateTime.of(2015, 3, 8, 3, 30, 0, 0, ZONE).toInstant().toEpochMilli(), skipped.getTimeMillis(springForward, TABLE, WeekFields.ISO));
+
+		final TimePhraseMatch twice = TimePhraseFactory.getAutomaton().parse("TOMORROW AT 1:30AM");
+		final long fallBack = ZonedDateTime.of(2015, 10, 31, 12, 0, 0, 0, ZONE).toInstant().toEpochMilli();
+		assertEquals(ZonedDateTime.of(2015, 11, 1, 1, 30, 0, 0, ZONE).withLaterOffsetAtOverlap().toInstant().toEpochMilli(), twice.getTimeMillis(fallBack, TABLE, WeekFields.ISO));
+	}
+}
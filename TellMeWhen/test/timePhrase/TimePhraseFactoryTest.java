@@ -0,0 +1,125 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.WeekFields;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link TimePhraseFactory} class.
+ *
+ * @author akauffman
+ *
+ */
+public class TimePhraseFactoryTest {
+	/** Phrases before each test, restored after it so registered phrases do not leak into other tests. */
+	private List<TimePhrase> saved;
+
+	@Before
+	public void setUp(){
+		saved = TimePhraseFactory.getTimePhrases();
+	}
+
+	@After
+	public void tearDown(){
+		TimePhraseFactory.restore(saved);
+	}
+
+	/**
+	 * Tests that a registered phrase is matched by the new automaton, comes last, and leaves the old list and
+	 * automaton as they were.
+	 */
+	@Test
+	public void testRegister() {
+		final List<TimePhrase> before = TimePhraseFactory.getTimePhrases();
+		final PhraseAutomaton automaton = TimePhraseFactory.getAutomaton();
+		final TimePhraseMatch tomorrow = automaton.parse("TOMORROW");
+		assertNull(automaton.parse("THE NOW"));
+
+		final TimePhrase registered = new TheNowTimePhrase();
+		TimePhraseFactory.register(registered);
+
+		final List<TimePhrase> after = TimePhraseFactory.getTimePhrases();
+		assertEquals(before.size() + 1, after.size());
+		assertSame(registered, after.get(after.size() - 1));
+		assertNotNull(TimePhraseFactory.getAutomaton().parse("THE NOW"));
+		assertEquals(tomorrow.getClass(), TimePhraseFactory.getAutomaton().parse("TOMORROW").getClass());
+
+		assertFalse(before.contains(registered));
+		assertNull(automaton.parse("THE NOW"));
+	}
+
+	/**
+	 * Tests that restoring a saved list removes the phrases registered since, so the test can run again.
+	 */
+	@Test
+	public void testRestore() {
+		final List<TimePhrase> before = TimePhraseFactory.getTimePhrases();
+		TimePhraseFactory.register(new TheNowTimePhrase());
+		TimePhraseFactory.restore(before);
+
+		assertSame(before, TimePhraseFactory.getTimePhrases());
+		assertNull(TimePhraseFactory.getAutomaton().parse("THE NOW"));
+		testRegister();
+	}
+
+	/**
+	 * Tests that the lists cannot be changed by callers, and that nothing can be registered as null.
+	 */
+	@Test
+	public void testImmutable() {
+		try {
+			TimePhraseFactory.getTimePhrases().add(new NearTimePhrase());
+			fail("The list of phrases was changed");
+		} catch (UnsupportedOperationException e) {
+			//Expected
+		}
+
+		try {
+			TimePhraseFactory.register(null);
+			fail("A null phrase was registered");
+		} catch (NullPointerException e) {
+			//Expected
+		}
+	}
+
+	/**
+	 * Phrase for "The now", which is the time it is given.
+	 */
+	private static final class TheNowTimePhrase extends AbstractTimePhrase {
+		@Override
+		public PhraseGrammar getGrammar() {
+			return PhraseGrammar.start().then(Keyword.THE).then(Keyword.NOW);
+		}
+
+		@Override
+		public TimePhraseMatch createMatch(Keyword[] words) {
+			return new Match();
+		}
+
+		/**
+		 * Parsed phrase.
+		 */
+		private static final class Match implements TimePhraseMatch {
+			@Override
+			public ZonedDateTime getTime(ZonedDateTime fromWhen, WeekFields weekFields) {
+				return fromWhen;
+			}
+
+			@Override
+			public long getTimeMillis(long fromWhen, ZoneTable zone, WeekFields weekFields) {
+				return fromWhen;
+			}
+
+			@Override
+			public boolean isDateLevel() {
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package timePhrase;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link ZoneTable} class.
+ * 
+ * @author akauffman
+ *
+ */
+public class ZoneTableTest {
+	private static final String[] ZONES = {"UTC", "America/New_York", "Europe/London", "Australia/Lord_Howe", "America/Sao_Paulo", "Asia/Kolkata"};
+
+	/**
+	 * Tests that offsets match the zone rules, inside and outside of the table.
+	 */
+	@Test
+	public void testOffsets() {
+		for(String id : ZONES){
+			final ZoneId zone = ZoneId.of(id);
+			final ZoneTable table = ZoneTable.of(zone);
+			for(long time = -7000000000000L; time < 7000000000000L; time += 3599999L * 17){
+				assertEquals(id + " " + time, zone.getRules().getOffset(Instant.ofEpochMilli(time)).getTotalSeconds() * 1000, table.getOffsetMillis(time));
+			}
+		}
+	}
+	
+	/**
+	 * Tests that local times convert like a {@link ZonedDateTime} that takes the later offset in an overlap.
+	 */
+	@Test
+	public void testToEpochMillis() {
+		for(String id : ZONES){
+			final ZoneId zone = ZoneId.of(id);
+			final ZoneTable table = ZoneTable.of(zone);
+			for(long local = -7000000000000L; local < 7000000000000L; local += 60000L * 7 + 1){
+				final LocalDateTime localTime = LocalDateTime.ofEpochSecond(Math.floorDiv(local, 1000L), (int)Math.floorMod(local, 1000L) * 1000000, ZoneOffset.UTC);
+				final long expected = ZonedDateTime.ofLocal(localTime, zone, null).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+				assertEquals(id + " " + localTime, expected, table.toEpochMillis(local));
+				
+				local += 3599999L * 13;
+			}
+		}
+	}
+	
+	/**
+	 * Tests times skipped or repeated when the clocks change.
+	 */
+	@Test
+	public void testDaylightSaving() {
+		final ZoneId zone = ZoneId.of("America/New_York");
+		final ZoneTable table = ZoneTable.of(zone);
+		
+		final long gap = LocalDateTime.of(2015, 3, 8, 2, 30).toInstant(ZoneOffset.UTC).toEpochMilli();
+		assertEquals(ZonedDateTime.of(2015, 3, 8, 3, 30, 0, 0, zone).toInstant().toEpochMilli(), table.toEpochMillis(gap));
+		
+		final long overlap = LocalDateTime.of(2015, 11, 1, 1, 30).toInstant(ZoneOffset.UTC).toEpochMilli();
+		assertEquals(LocalDateTime.of(2015, 11, 1, 1, 30).toInstant(ZoneOffset.ofHours(-5)).toEpochMilli(), table.toEpochMillis(overlap));
+	}
+	
+	/**
+	 * Tests that tables are shared.
+	 */
+	@Test
+	public void testShared() {
+		assertSame(ZoneTable.of(ZoneId.of("Europe/Paris")), ZoneTable.of(ZoneId.of("Europe/Paris")));
+	}
+}
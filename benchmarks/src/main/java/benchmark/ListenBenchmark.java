@@ -0,0 +1,134 @@
+package benchmark;
+
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import elora.InvalidPatternException;
+import elora.ListenResult;
+import elora.RangeFilter;
+import elora.ResolutionMetrics;
+import elora.TellMeWhen;
+import timePhrase.TimePhraseFactory;
+import timePhrase.TimePhraseMatch;
+
+/**
+ * Measures {@link TellMeWhen#listen(CharSequence, Date)} for a phrase of each {@link TimePhraseFactory#getTimePhrases()
+ * registered phrase}, in the order they are registered, and for a phrase that does not match. The dispatch
+ * benchmarks parse with the {@link TimePhraseFactory#getAutomaton() automaton} directly, without the parse cache.
+ * The metrics benchmark is the hit benchmark with a {@link ResolutionMetrics} listening. The within benchmarks test
+ * a time against "Yesterday", with a compiled {@link RangeFilter} and by resolving the range for each time.
+ * 
+ * @author akauffman
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenBenchmark {
+	/** Monday, April 6th, 2015 01:01:01 UTC. */
+	private static final Date FROM = new Date(1428282061000L);
+	/** A phrase that does not match. */
+	private static final String MISS = "NEXT BLUE MOON";
+	/** A range phrase. */
+	private static final String WITHIN = "YESTERDAY";
+	/** Sunday, April 5th, 2015 12:00 UTC, which is yesterday. */
+	private static final long EVENT = 1428235200000L;
+	
+	/**
+	 * A phrase of each registered phrase, in the order they are registered, and one with a time of day.
+	 */
+	@State(Scope.Benchmark)
+	public static class Hit {
+		@Param({"TOMORROW", "NEXT THURSDAY", "LAST MONTH", "NEXT MARCH", "FIRST DAY OF THE MONTH", "LAST WEEK OF THE YEAR", "NEXT FRIDAY AT 5PM"})
+		public String phrase;
+	}
+	
+	/**
+	 * Filter for yesterday, compiled once.
+	 */
+	@State(Scope.Benchmark)
+	public static class Within {
+		public RangeFilter filter;
+		
+		@Setup
+		public void setUp() throws InvalidPatternException{
+			filter = TellMeWhen.within(WITHIN, FROM.getTime(), ZoneOffset.UTC);
+		}
+	}
+	
+	/**
+	 * Listens with {@link ResolutionMetrics} for the length of a benchmark.
+	 */
+	@State(Scope.Benchmark)
+	public static class Metrics {
+		@Setup
+		public void setUp(){
+			TellMeWhen.setResolutionListener(new ResolutionMetrics());
+		}
+		
+		@TearDown
+		public void tearDown(){
+			TellMeWhen.setResolutionListener(null);
+		}
+	}
+	
+	@Benchmark
+	public Date listenHit(Hit hit) throws InvalidPatternException{
+		return TellMeWhen.listen(hit.phrase, FROM);
+	}
+	
+	@Benchmark
+	public Date listenHitWithMetrics(Hit hit, Metrics metrics) throws InvalidPatternException{
+		return TellMeWhen.listen(hit.phrase, FROM);
+	}
+	
+	@Benchmark
+	public TimePhraseMatch dispatchHit(Hit hit){
+		return TimePhraseFactory.getAutomaton().parse(hit.phrase);
+	}
+	
+	@Benchmark
+	public Object listenMiss(){
+		try{
+			return TellMeWhen.listen(MISS, FROM);
+		} catch (InvalidPatternException e){
+			return e;
+		}
+	}
+	
+	@Benchmark
+	public ListenResult tryListenMiss(){
+		return TellMeWhen.tryListen(MISS, FROM);
+	}
+	
+	@Benchmark
+	public boolean withinFilter(Within within){
+		return within.filter.test(EVENT);
+	}
+	
+	@Benchmark
+	public boolean withinListenRange() throws InvalidPatternException{
+		return TellMeWhen.listenRange(WITHIN, FROM.getTime(), ZoneOffset.UTC).contains(EVENT);
+	}
+	
+	@Benchmark
+	public TimePhraseMatch dispatchMiss(){
+		return TimePhraseFactory.getAutomaton().parse(MISS);
+	}
+}
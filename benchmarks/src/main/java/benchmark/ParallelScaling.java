@@ -0,0 +1,72 @@
+package benchmark;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import elora.InvalidPatternException;
+import elora.TellMeWhen;
+
+/**
+ * Measures how the parallel batch methods of {@link TellMeWhen} scale from one thread up to every core.
+ * <br/>
+ * Usage: java -cp benchmarks/target/benchmarks.jar benchmark.ParallelScaling [rows] [rounds]
+ * 
+ * @author akauffman
+ *
+ */
+public class ParallelScaling {
+	private static final String[] PHRASES = {"NEXT THURSDAY", "LAST MONTH", "TOMORROW", "NOT A DATE", "NEXT HOUR", "LAST MARCH", "YESTERDAY", "NEXT WEEK"};
+	
+	public static void main(String[] args) throws InvalidPatternException{
+		final int rows = args.length > 0 ? Integer.parseInt(args[0]) : 4000000;
+		final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+		final ZoneId zone = ZoneId.of("America/New_York");
+		final long now = System.currentTimeMillis();
+		
+		final CharSequence[] phrases = new CharSequence[rows];
+		final long[] times = new long[rows];
+		for(int i = 0; i < rows; i++){
+			phrases[i] = PHRASES[i % PHRASES.length];
+			times[i] = now + i * 1000L;
+		}
+		final long[] results = new long[rows];
+		final boolean[] matched = new boolean[rows];
+		
+		System.out.println("threads\tphrases Mrows/s\tspeedup\tcolumn Mrows/s\tspeedup");
+		double phraseBase = 0;
+		double columnBase = 0;
+		for(int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads++){
+			final ForkJoinPool pool = new ForkJoinPool(threads);
+			final long[] phraseNanos = new long[rounds];
+			final long[] columnNanos = new long[rounds];
+			for(int round = 0; round < rounds; round++){
+				long start = System.nanoTime();
+				TellMeWhen.resolveAllMillis(phrases, now, zone, results, matched, pool);
+				phraseNanos[round] = System.nanoTime() - start;
+				
+				start = System.nanoTime();
+				TellMeWhen.resolveColumn("NEXT MONDAY", times, results, zone, pool);
+				columnNanos[round] = System.nanoTime() - start;
+			}
+			pool.shutdown();
+			
+			final double phraseRate = rows * 1000.0 / median(phraseNanos);
+			final double columnRate = rows * 1000.0 / median(columnNanos);
+			if(threads == 1){
+				phraseBase = phraseRate;
+				columnBase = columnRate;
+			}
+			System.out.printf("%d\t%.1f\t%.2f\t%.1f\t%.2f%n", threads, phraseRate, phraseRate / phraseBase, columnRate, columnRate / columnBase);
+		}
+	}
+	
+	/**
+	 * @return the median of the times.
+	 */
+	private static long median(long[] nanos){
+		final long[] sorted = nanos.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
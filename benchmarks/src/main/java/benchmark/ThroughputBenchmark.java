@@ -0,0 +1,62 @@
+package benchmark;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import elora.InvalidPatternException;
+import elora.ListenResult;
+import elora.TellMeWhen;
+
+/**
+ * Resolves a mix of phrases, some of which do not match, from every core at once.
+ * 
+ * @author akauffman
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ThroughputBenchmark {
+	private static final String[] PHRASES = {"TOMORROW", "Next Thursday", "LAST MONTH", "next march", "NOT A DATE",
+			"YESTERDAY", "NEXT HOUR", "LAST FRIDAY"};
+	/** Monday, April 6th, 2015 01:01:01 UTC. */
+	private static final Date FROM = new Date(1428282061000L);
+	private static final ZoneId ZONE = ZoneId.of("America/New_York");
+	
+	private int next;
+	
+	@Benchmark
+	public ListenResult tryListen(){
+		return TellMeWhen.tryListen(PHRASES[next++ & 7], FROM);
+	}
+	
+	@Benchmark
+	public ListenResult tryListenNow(){
+		return TellMeWhen.tryListen(PHRASES[next++ & 7]);
+	}
+	
+	@Benchmark
+	public long resolveMillis(){
+		try{
+			return TellMeWhen.resolveMillis(PHRASES[next++ & 7], FROM.getTime(), ZONE);
+		} catch (InvalidPatternException e){
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import timePhrase.ChangeUnitTimePhrase;
+import timePhrase.DayOfWeekTimePhrase;
+import timePhrase.FirstLastUnitTimePhrase;
+import timePhrase.FirstLastWeekTimePhrase;
+import timePhrase.MonthTimePhrase;
+import timePhrase.NearTimePhrase;
+import timePhrase.TimePhrase;
+import timePhrase.ZoneTable;
+
+/**
+ * Parses and resolves a phrase with each {@link TimePhrase} on its own, without the parse cache.
+ * 
+ * @author akauffman
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimePhraseBenchmark {
+	/** Monday, April 6th, 2015 01:01:01 in New York. */
+	private static final long FROM = 1428296461000L;
+	
+	private final ZoneTable zone = ZoneTable.of(ZoneId.of("America/New_York"));
+	private final WeekFields weekFields = WeekFields.SUNDAY_START;
+	
+	private final TimePhrase near = new NearTimePhrase();
+	private final TimePhrase dayOfWeek = new DayOfWeekTimePhrase();
+	private final TimePhrase changeUnit = new ChangeUnitTimePhrase();
+	private final TimePhrase month = new MonthTimePhrase();
+	private final TimePhrase firstLastUnit = new FirstLastUnitTimePhrase();
+	private final TimePhrase firstLastWeek = new FirstLastWeekTimePhrase();
+	
+	@Benchmark
+	public long nearTimePhrase(){
+		return near.parse("TOMORROW").getTimeMillis(FROM, zone, weekFields);
+	}
+	
+	@Benchmark
+	public long dayOfWeekTimePhrase(){
+		return dayOfWeek.parse("NEXT THURSDAY").getTimeMillis(FROM, zone, weekFields);
+	}
+	
+	@Benchmark
+	public long changeUnitTimePhrase(){
+		return changeUnit.parse("LAST MONTH").getTimeMillis(FROM, zone, weekFields);
+	}
+	
+	@Benchmark
+	public long monthTimePhrase(){
+		return month.parse("NEXT MARCH").getTimeMillis(FROM, zone, weekFields);
+	}
+	
+	@Benchmark
+	public long firstLastUnitTimePhrase(){
+		return firstLastUnit.parse("FIRST DAY OF THE MONTH").getTimeMillis(FROM, zone, weekFields);
+	}
+	
+	@Benchmark
+	public long firstLastWeekTimePhrase(){
+		return firstLastWeek.parse("LAST WEEK OF THE YEAR").getTimeMillis(FROM, zone, weekFields);
+	}
+}
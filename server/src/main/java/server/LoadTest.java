@@ -0,0 +1,188 @@
+package server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a {@link ResolutionServer} from the same machine. Client threads send requests one after another for a
+ * fixed time, and the latency of each request is recorded. The median and 99th percentile latency and the requests
+ * per second are reported. With --batch each request is a POST of that many phrases, otherwise it is a GET of one.
+ * <br/>
+ * Without --url a server is started in this JVM on a free port, so the numbers include the client.
+ * <br/>
+ * Usage: java -cp server/target/server.jar server.LoadTest [--url &lt;url&gt;] [--threads &lt;n&gt;] [--seconds &lt;n&gt;] [--batch &lt;n&gt;]
+ *
+ * @author akauffman
+ *
+ */
+public class LoadTest {
+	private static final String[] PHRASES = {"NEXT THURSDAY", "LAST MONTH", "TOMORROW AT NOON", "NOT A DATE", "NEXT HOUR", "FIRST DAY OF THE MONTH", "IN 3 DAYS", "NEXT FRIDAY AT 5PM"};
+	/** Query parameters sent with every request. */
+	private static final String PARAMETERS = "from=2015-04-06T01:01:01Z&zone=America/New_York&format=millis";
+	/** Time spent sending requests before measuring, in seconds. */
+	private static final int WARMUP_SECONDS = 2;
+
+	public static void main(String[] args) throws Exception{
+		String url = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int seconds = 10;
+		int batch = 0;
+		for(int i = 0; i + 1 < args.length; i += 2){
+			switch(args[i]){
+			case "--url":
+				url = args[i + 1];
+				break;
+			case "--threads":
+				threads = Integer.parseInt(args[i + 1]);
+				break;
+			case "--seconds":
+				seconds = Integer.parseInt(args[i + 1]);
+				break;
+			case "--batch":
+				batch = Integer.parseInt(args[i + 1]);
+				break;
+			default:
+				System.err.println("Usage: LoadTest [--url <url>] [--threads <n>] [--seconds <n>] [--batch <n>]");
+				System.exit(2);
+			}
+		}
+
+		ResolutionServer server = null;
+		if(url == null){
+			server = new ResolutionServer(0);
+			server.start();
+			url = "http://localhost:" + server.getPort() + ResolutionServer.PATH;
+		}
+
+		try {
+			System.out.println("Warming up for " + WARMUP_SECONDS + " seconds");
+			run(url, threads, WARMUP_SECONDS, batch);
+			System.out.println("Sending " + (batch > 0 ? "batches of " + batch + " phrases" : "single phrases") + " from " + threads + " threads for " + seconds + " seconds");
+			final long[] latencies = run(url, threads, seconds, batch);
+			report(latencies, seconds, batch);
+		} finally {
+			if(server != null){
+				server.stop();
+			}
+		}
+	}
+
+	/**
+	 * Sends requests from each thread until the time is up.
+	 *
+	 * @return the latency of every request, in nanoseconds, sorted.
+	 */
+	private static long[] run(String url, int threads, int seconds, int batch) throws InterruptedException, ExecutionException{
+		final ExecutorService pool = Executors.newFixedThreadPool(threads);
+		final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		final List<Future<long[]>> clients = new ArrayList<>();
+		for(int i = 0; i < threads; i++){
+			final int client = i;
+			clients.add(pool.submit(() -> client(url, client, end, batch)));
+		}
+
+		long[] latencies = new long[0];
+		for(Future<long[]> client : clients){
+			final long[] times = client.get();
+			final int count = latencies.length;
+			latencies = Arrays.copyOf(latencies, count + times.length);
+			System.arraycopy(times, 0, latencies, count, times.length);
+		}
+		pool.shutdown();
+
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	/**
+	 * Sends requests one after another until the end time.
+	 *
+	 * @return the latency of each request, in nanoseconds.
+	 */
+	private static long[] client(String url, int client, long end, int batch) throws IOException{
+		final StringBuilder body = new StringBuilder();
+		for(int i = 0; i < batch; i++){
+			body.append(PHRASES[(client + i) % PHRASES.length]).append('\n');
+		}
+		final byte[] batchBody = body.toString().getBytes(StandardCharsets.UTF_8);
+		final byte[] buffer = new byte[1 << 16];
+
+		long[] latencies = new long[1 << 12];
+		int count = 0;
+		for(int request = client; ; request++){
+			final long start = System.nanoTime();
+			if(start >= end){
+				break;
+			}
+
+			final HttpURLConnection connection;
+			if(batch > 0){
+				connection = (HttpURLConnection)new URL(url + "?" + PARAMETERS).openConnection();
+				connection.setRequestMethod("POST");
+				connection.setDoOutput(true);
+				connection.setFixedLengthStreamingMode(batchBody.length);
+				try (OutputStream out = connection.getOutputStream()){
+					out.write(batchBody);
+				}
+			} else {
+				final String phrase = URLEncoder.encode(PHRASES[request % PHRASES.length], "UTF-8");
+				connection = (HttpURLConnection)new URL(url + "?phrase=" + phrase + "&" + PARAMETERS).openConnection();
+			}
+			final int status = connection.getResponseCode();
+			try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()){
+				//Read to the end so the connection is kept alive for the next request.
+				while(in != null && in.read(buffer) >= 0){
+				}
+			}
+			if(status != 200 && status != 422){
+				throw new IOException("Unexpected status " + status);
+			}
+
+			if(count == latencies.length){
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = System.nanoTime() - start;
+		}
+
+		return Arrays.copyOf(latencies, count);
+	}
+
+	/**
+	 * Prints the median and 99th percentile latency, and the rate of requests and phrases.
+	 */
+	private static void report(long[] latencies, int seconds, int batch){
+		if(latencies.length == 0){
+			System.out.println("No requests completed");
+			return;
+		}
+
+		final double requestsPerSecond = latencies.length / (double)seconds;
+		System.out.printf("requests: %d%n", latencies.length);
+		System.out.printf("p50:      %.1f us%n", percentile(latencies, 0.50) / 1000.0);
+		System.out.printf("p99:      %.1f us%n", percentile(latencies, 0.99) / 1000.0);
+		System.out.printf("rps:      %.0f%n", requestsPerSecond);
+		if(batch > 0){
+			System.out.printf("phrases/s: %.0f%n", requestsPerSecond * batch);
+		}
+	}
+
+	/**
+	 * @return the latency at the given fraction of the sorted latencies.
+	 */
+	private static long percentile(long[] sorted, double fraction){
+		return sorted[Math.min(sorted.length - 1, (int)Math.ceil(fraction * sorted.length) - 1)];
+	}
+}
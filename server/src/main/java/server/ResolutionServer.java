@@ -0,0 +1,312 @@
+package server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import elora.TellMeWhen;
+import timePhrase.IsoFormat;
+import timePhrase.ZoneTable;
+
+/**
+ * Resolves phrases over HTTP, so that programs outside the JVM can use the parser without starting a JVM for each
+ * phrase. Built on the JDK's {@link HttpServer}, with a virtual thread for each request where the JDK has them and a
+ * cached pool of threads where it does not. Phrases are resolved with the shared, thread safe methods of
+ * {@link TellMeWhen}, so they share its parse cache.
+ * <br/>
+ * GET /resolve?phrase=Next+Friday resolves one phrase and answers with its time on one line. A phrase that does not
+ * match is answered with 422 and the error.
+ * <br/>
+ * POST /resolve resolves a batch of phrases sent one per line in the body, and answers with a line for each one: the
+ * time, a tab, and an error that is empty for phrases that matched, the same as Main --stream --errors.
+ * <br/>
+ * Both take these optional query parameters:
+ * <ul>
+ * <li>from: time to resolve against, as epoch milliseconds or ISO-8601. Default is now.</li>
+ * <li>zone: time zone to work in and write times in. Default is UTC.</li>
+ * <li>format: iso for ISO-8601 times, or millis for epoch milliseconds. Default is iso.</li>
+ * </ul>
+ * Bad parameters, including a from time outside of {@link ZoneTable#MIN_EPOCH_MILLIS} and
+ * {@link ZoneTable#MAX_EPOCH_MILLIS}, are answered with 400.
+ * <br/>
+ * Usage: java -jar server/target/server.jar [--port &lt;port&gt;]
+ *
+ * @author akauffman
+ *
+ */
+public final class ResolutionServer {
+	/** Path of both endpoints. */
+	public static final String PATH = "/resolve";
+	/** Written for a phrase that does not match. */
+	private static final String NO_MATCH = "Input string not a recognized pattern";
+	/** Largest batch body read, in bytes. */
+	private static final int MAX_BODY = 16 << 20;
+	/** Port used when none is given. */
+	private static final int DEFAULT_PORT = 8080;
+
+	static {
+		//The JDK's server writes the headers and body of a response separately, so with Nagle's algorithm on each
+		//request waits out the client's delayed acknowledgement, about 40ms. The setting is read once, when the first
+		//server is created.
+		if(System.getProperty("sun.net.httpserver.nodelay") == null){
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	/**
+	 * Binds the server. It does not answer requests until it is started.
+	 *
+	 * @param port The port to listen on, or 0 for any free port.
+	 * @throws IOException if the port cannot be bound.
+	 */
+	public ResolutionServer(int port) throws IOException{
+		server = HttpServer.create(new InetSocketAddress(port), 0);
+		executor = newRequestExecutor();
+		server.setExecutor(executor);
+		server.createContext(PATH, this::handle);
+	}
+
+	public static void main(String[] args) throws IOException{
+		int port = DEFAULT_PORT;
+		if(args.length == 2 && args[0].equals("--port")){
+			port = Integer.parseInt(args[1]);
+		} else if(args.length != 0){
+			System.err.println("Usage: ResolutionServer [--port <port>]");
+			System.exit(2);
+		}
+
+		final ResolutionServer server = new ResolutionServer(port);
+		server.start();
+		System.out.println("Listening on port " + server.getPort());
+	}
+
+	/**
+	 * Starts answering requests.
+	 */
+	public void start(){
+		server.start();
+	}
+
+	/**
+	 * Stops answering requests, waiting up to a second for those in progress to finish.
+	 */
+	public void stop(){
+		server.stop(1);
+		executor.shutdown();
+	}
+
+	/**
+	 * @return the port the server is bound to.
+	 */
+	public int getPort(){
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Runs each request on a new virtual thread if the JDK has them, which it does from Java 21. The method is
+	 * looked up by reflection so that the server still builds and runs on older JDKs, where each request runs on a
+	 * cached pool thread instead.
+	 *
+	 * @return the executor for requests.
+	 */
+	static ExecutorService newRequestExecutor(){
+		try {
+			final Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService)virtual.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool(task -> {
+				final Thread thread = new Thread(task, "resolution-server");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Answers one request. Every request gets an answer, and the exchange is always closed.
+	 */
+	private void handle(HttpExchange exchange) throws IOException{
+		try {
+			final String method = exchange.getRequestMethod();
+			if(!method.equals("GET") && !method.equals("POST")){
+				exchange.getResponseHeaders().set("Allow", "GET, POST");
+				send(exchange, 405, "Use GET for one phrase or POST for a batch\n");
+				return;
+			}
+
+			final Map<String, String> query;
+			final ZoneId zone;
+			final long fromEpochMillis;
+			final boolean iso;
+			try {
+				query = parseQuery(exchange.getRequestURI().getRawQuery());
+				zone = query.containsKey("zone") ? ZoneId.of(query.get("zone")) : ZoneOffset.UTC;
+				fromEpochMillis = query.containsKey("from") ? IsoFormat.parse(query.get("from"), zone) : System.currentTimeMillis();
+				final String format = query.getOrDefault("format", "iso");
+				if(!format.equals("iso") && !format.equals("millis")){
+					throw new IllegalArgumentException("format must be iso or millis");
+				}
+				iso = format.equals("iso");
+			} catch (DateTimeException | IllegalArgumentException e) {
+				send(exchange, 400, "Problem interpreting parameters. " + e.getMessage() + "\n");
+				return;
+			}
+
+			try {
+				if(method.equals("GET")){
+					resolveOne(exchange, query.get("phrase"), fromEpochMillis, zone, iso);
+				} else {
+					resolveBatch(exchange, fromEpochMillis, zone, iso);
+				}
+			} catch (ArithmeticException e) {
+				//Thrown before any of the response is sent.
+				send(exchange, 400, "Problem interpreting parameters. from is too far from 1970 to resolve against\n");
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Answers a GET with the time of one phrase.
+	 */
+	private static void resolveOne(HttpExchange exchange, String phrase, long fromEpochMillis, ZoneId zone, boolean iso) throws IOException{
+		if(phrase == null){
+			send(exchange, 400, "Problem interpreting parameters. phrase is missing\n");
+			return;
+		}
+
+		final OptionalLong time = TellMeWhen.tryResolveMillis(phrase, fromEpochMillis, zone);
+		if(!time.isPresent()){
+			send(exchange, 422, NO_MATCH + "\n");
+			return;
+		}
+
+		final StringBuilder body = new StringBuilder(IsoFormat.MAX_LENGTH + 1);
+		appendTime(body, time.getAsLong(), ZoneTable.of(zone), iso, new char[IsoFormat.MAX_LENGTH]);
+		send(exchange, 200, body.append('\n').toString());
+	}
+
+	/**
+	 * Answers a POST with a line for each line of the body.
+	 */
+	private static void resolveBatch(HttpExchange exchange, long fromEpochMillis, ZoneId zone, boolean iso) throws IOException{
+		final String body = readBody(exchange.getRequestBody());
+		if(body == null){
+			send(exchange, 413, "Batch is larger than " + MAX_BODY + " bytes\n");
+			return;
+		}
+
+		final String[] phrases = splitLines(body);
+		final long[] results = new long[phrases.length];
+		final boolean[] matched = new boolean[phrases.length];
+		TellMeWhen.resolveAllMillis(phrases, fromEpochMillis, zone, results, matched);
+
+		final ZoneTable table = ZoneTable.of(zone);
+		final char[] buffer = new char[IsoFormat.MAX_LENGTH];
+		final StringBuilder out = new StringBuilder(phrases.length * (IsoFormat.MAX_LENGTH + 2));
+		for(int i = 0; i < phrases.length; i++){
+			if(matched[i]){
+				appendTime(out, results[i], table, iso, buffer);
+				out.append('\t');
+			} else {
+				out.append('\t').append(NO_MATCH);
+			}
+			out.append('\n');
+		}
+		send(exchange, 200, out.toString());
+	}
+
+	/**
+	 * Appends a time as ISO-8601 in the zone, or as epoch milliseconds.
+	 */
+	private static void appendTime(StringBuilder out, long time, ZoneTable zone, boolean iso, char[] buffer){
+		if(iso){
+			out.append(buffer, 0, IsoFormat.format(time, zone, buffer, 0));
+		} else {
+			out.append(time);
+		}
+	}
+
+	/**
+	 * @return the lines of the text, without a line for a final line break, and without carriage returns.
+	 */
+	private static String[] splitLines(String text){
+		if(text.isEmpty()){
+			return new String[0];
+		}
+		final String[] lines = (text.endsWith("\n") ? text.substring(0, text.length() - 1) : text).split("\n", -1);
+		for(int i = 0; i < lines.length; i++){
+			if(lines[i].endsWith("\r")){
+				lines[i] = lines[i].substring(0, lines[i].length() - 1);
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * @return the body as UTF-8, or null if it is larger than {@link #MAX_BODY}.
+	 */
+	private static String readBody(InputStream in) throws IOException{
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[1 << 16];
+		int read;
+		while((read = in.read(buffer)) >= 0){
+			if(body.size() + read > MAX_BODY){
+				return null;
+			}
+			body.write(buffer, 0, read);
+		}
+		return new String(body.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return the decoded parameters of the query, which may be null.
+	 * @throws IllegalArgumentException if a parameter is not properly encoded.
+	 */
+	private static Map<String, String> parseQuery(String query) throws UnsupportedEncodingException{
+		final Map<String, String> parameters = new HashMap<>();
+		if(query == null || query.isEmpty()){
+			return parameters;
+		}
+		for(String pair : query.split("&")){
+			final int equals = pair.indexOf('=');
+			final String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), "UTF-8");
+			final String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), "UTF-8");
+			parameters.put(name, value);
+		}
+		return parameters;
+	}
+
+	/**
+	 * Sends a plain text response.
+	 */
+	private static void send(HttpExchange exchange, int status, String body) throws IOException{
+		final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()){
+			out.write(bytes);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package server;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ResolutionServer} class.
+ *
+ * @author akauffman
+ *
+ */
+public class ResolutionServerTest {
+	/** Monday, April 6th, 2015 01:01:01 in New York. */
+	private static final ZonedDateTime FROM = ZonedDateTime.of(2015, 4, 6, 1, 1, 1, 0, ZoneId.of("America/New_York"));
+	private static final String PARAMETERS = "from=2015-04-06T01:01:01&zone=America/New_York";
+
+	private ResolutionServer server;
+
+	@Before
+	public void setUp() throws IOException{
+		server = new ResolutionServer(0);
+		server.start();
+	}
+
+	@After
+	public void tearDown(){
+		server.stop();
+	}
+
+	/**
+	 * Tests that GET resolves one phrase, as epoch milliseconds or ISO-8601.
+	 * @throws IOException
+	 */
+	@Test
+	public void testGet() throws IOException{
+		final String phrase = URLEncoder.encode("Next Friday at 5pm", "UTF-8");
+
+		final Response millis = request("GET", "?phrase=" + phrase + "&" + PARAMETERS + "&format=millis", null);
+		assertEquals(200, millis.status);
+		assertEquals(FROM.withDayOfMonth(10).withHour(17).withMinute(0).withSecond(0).toInstant().toEpochMilli() + "\n", millis.body);
+
+		final Response iso = request("GET", "?phrase=Tomorrow&" + PARAMETERS, null);
+		assertEquals(200, iso.status);
+		assertEquals("2015-04-07T01:01:01.000-04:00\n", iso.body);
+	}
+
+	/**
+	 * Tests that POST resolves a line for each phrase, with an error column.
+	 * @throws IOException
+	 */
+	@Test
+	public void testPost() throws IOException{
+		final Response response = request("POST", "?" + PARAMETERS, "Tomorrow\r\nNot a date\nYesterday\n");
+		assertEquals(200, response.status);
+		assertEquals("2015-04-07T01:01:01.000-04:00\t\n\tInput string not a recognized pattern\n2015-04-05T01:01:01.000-04:00\t\n", response.body);
+
+		final Response empty = request("POST", "?" + PARAMETERS, "");
+		assertEquals(200, empty.status);
+		assertEquals("", empty.body);
+	}
+
+	/**
+	 * Tests the status of requests that cannot be answered with a time.
+	 * @throws IOException
+	 */
+	@Test
+	public void testErrors() throws IOException{
+		assertEquals(422, request("GET", "?phrase=Not+a+date", null).status);
+		assertEquals(400, request("GET", "?" + PARAMETERS, null).status);
+		assertEquals(400, request("GET", "?phrase=Tomorrow&zone=Nowhere/Special", null).status);
+		assertEquals(400, request("GET", "?phrase=Tomorrow&from=soon", null).status);
+		assertEquals(400, request("GET", "?phrase=Tomorrow&format=roman", null).status);
+		assertEquals(400, request("GET", "?phrase=Tomorrow&from=" + Long.MAX_VALUE, null).status);
+		assertEquals(400, request("POST", "?from=" + Long.MIN_VALUE, "Tomorrow\n").status);
+		assertEquals(405, request("DELETE", "?phrase=Tomorrow", null).status);
+	}
+
+	/**
+	 * Tests that requests get an executor whichever JDK the tests run on.
+	 */
+	@Test
+	public void testExecutor() throws Exception{
+		final ExecutorService executor = ResolutionServer.newRequestExecutor();
+		try {
+			assertEquals("done", executor.submit(() -> "done").get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Sends a request to the server.
+	 */
+	private Response request(String method, String query, String body) throws IOException{
+		final HttpURLConnection connection = (HttpURLConnection)new URL("http://localhost:" + server.getPort() + ResolutionServer.PATH + query).openConnection();
+		connection.setRequestMethod(method);
+		if(body != null){
+			connection.setDoOutput(true);
+			try (OutputStream out = connection.getOutputStream()){
+				out.write(body.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		final int status = connection.getResponseCode();
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()){
+			final byte[] buffer = new byte[4096];
+			int read;
+			while(in != null && (read = in.read(buffer)) >= 0){
+				content.write(buffer, 0, read);
+			}
+		}
+		return new Response(status, new String(content.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Status and body of a response.
+	 */
+	private static final class Response {
+		private final int status;
+		private final String body;
+
+		private Response(int status, String body){
+			this.status = status;
+			this.body = body;
+		}
+	}
+}